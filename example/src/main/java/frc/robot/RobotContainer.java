@@ -9,7 +9,6 @@ import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.button.CommandXboxController;
 import edu.wpi.first.wpilibj2.command.button.Trigger;
 import frc.robot.subsystems.swervedrive.SwerveDriveSubsystem;
-import yams.mechanisms.swerve.utility.SwerveInputStream;
 
 /**
  * This class is where the bulk of the robot should be declared. Since Command-based is a "declarative" paradigm, very
@@ -25,11 +24,8 @@ public class RobotContainer
   // Establish a Sendable Chooser that will be able to be sent to the SmartDashboard, allowing selection of desired auto
   private final SendableChooser<Command> autoChooser = new SendableChooser<>();
 
-  private final SwerveDriveSubsystem swerve               = new SwerveDriveSubsystem();
-  private final SwerveInputStream    driveAngularVelocity = swerve.getAngularVelocityStream(driverXbox::getLeftY,
-                                                                                            driverXbox::getLeftX,
-                                                                                            ()->driverXbox.getRawAxis(2))
-                                                                  .withAllianceRelativeControl();
+  private final SwerveDriveSubsystem swerve = new SwerveDriveSubsystem();
+
   public RobotContainer()
   {
     configureBindings();
@@ -44,7 +40,9 @@ public class RobotContainer
    */
   private void configureBindings()
   {
-    swerve.setDefaultCommand(swerve.drive(driveAngularVelocity));
+    swerve.setDefaultCommand(swerve.driveAngularVelocity(driverXbox::getLeftY,
+                                                         driverXbox::getLeftX,
+                                                         () -> driverXbox.getRawAxis(2)));
     driverXbox.button(1).whileTrue(swerve.sysIdModule("frontleft"));
   }
 
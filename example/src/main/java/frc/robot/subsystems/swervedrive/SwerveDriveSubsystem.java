@@ -5,6 +5,7 @@ import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.kinematics.ChassisSpeeds;
 import edu.wpi.first.units.measure.Voltage;
+import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.Filesystem;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.Command;
@@ -12,7 +13,13 @@ import edu.wpi.first.wpilibj2.command.Commands;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import edu.wpi.first.wpilibj2.command.sysid.SysIdRoutine;
 import java.io.File;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+import swervelib.parser.PIDFHotReloader;
 import swervelib.parser.SwerveParser;
 import yams.mechanisms.config.SwerveDriveConfig;
 import yams.mechanisms.swerve.SwerveDrive;
@@ -26,7 +33,12 @@ import static edu.wpi.first.units.Units.*;
 public class SwerveDriveSubsystem extends SubsystemBase
 {
 
-  private SwerveDrive drive;
+  private final File                           directory = new File(Filesystem.getDeployDirectory(), "swerve/base");
+  private final SwerveParser                   parser    = SwerveParser.parse(directory);
+  private final CompletableFuture<SwerveDrive> driveFuture;
+  private       SwerveDrive                    drive;
+  private       PIDFHotReloader                pidfReloader;
+  private       boolean                        failureReported;
 
   public SwerveDriveSubsystem()
   {
@@ -36,16 +48,99 @@ public class SwerveDriveSubsystem extends SubsystemBase
         .withSubsystem(this)
         .withTelemetry(TelemetryVerbosity.HIGH);
 
-    drive = SwerveParser.parse(new File(Filesystem.getDeployDirectory(), "swerve/base"))
-        .createSwerveDrive(cfg);
+    // Devices are created in the background while the rest of the robot initializes, see isReady().
+    driveFuture = parser.createSwerveDriveAsync(cfg);
   }
 
-  public SwerveInputStream getAngularVelocityStream(DoubleSupplier x, DoubleSupplier y, DoubleSupplier rot)
+  /**
+   * Whether the {@link SwerveDrive} finished construction. Until then commands of this subsystem wait or are rejected.
+   *
+   * @return True once the drive is usable.
+   */
+  public boolean isReady()
+  {
+    return drive != null;
+  }
+
+  /**
+   * Pick up the {@link SwerveDrive} once the background construction finished.
+   */
+  private void pollDrive()
+  {
+    if (drive != null || !driveFuture.isDone())
+    {
+      return;
+    }
+    try
+    {
+      drive = driveFuture.join();
+    } catch (CompletionException e)
+    {
+      if (!failureReported)
+      {
+        DriverStation.reportError("Swerve drive creation failed: " + e.getCause(), e.getCause().getStackTrace());
+        failureReported = true;
+      }
+      return;
+    }
+    try
+    {
+      // Edit modules/pidfproperties.json while the robot runs to tune without redeploying code.
+      pidfReloader = new PIDFHotReloader(directory, parser, drive);
+    } catch (IOException e)
+    {
+      DriverStation.reportWarning("PIDF hot reload disabled: " + e.getMessage(), false);
+    }
+  }
+
+  /**
+   * Run the command created by the supplier once the drive is ready, or the fallback while it is not.
+   *
+   * @param command  Command requiring the ready drive.
+   * @param fallback Command to run instead while the drive is being created.
+   * @return Deferred command.
+   */
+  private Command whenReady(Supplier<Command> command, Supplier<Command> fallback)
+  {
+    return Commands.defer(() -> isReady() ? command.get() : fallback.get(), Set.of(this));
+  }
+
+  /**
+   * Drive with angular velocity control, idling until the drive is ready.
+   *
+   * @param x   Translation X supplier.
+   * @param y   Translation Y supplier.
+   * @param rot Rotation supplier.
+   * @return Drive command, suitable as default command.
+   */
+  public Command driveAngularVelocity(DoubleSupplier x, DoubleSupplier y, DoubleSupplier rot)
+  {
+    return whenReady(() -> drive(getAngularVelocityStream(x, y, rot).withAllianceRelativeControl()),
+                     () -> Commands.idle(this).until(this::isReady))
+        .withName("Drive Angular Velocity");
+  }
+
+  /**
+   * Create the input stream of {@link #driveAngularVelocity}, only called through {@link #whenReady} once the drive is
+   * ready.
+   *
+   * @param x   Translation X supplier.
+   * @param y   Translation Y supplier.
+   * @param rot Rotation supplier.
+   * @return Angular velocity input stream.
+   */
+  private SwerveInputStream getAngularVelocityStream(DoubleSupplier x, DoubleSupplier y, DoubleSupplier rot)
   {
     return new SwerveInputStream(drive, x, y, rot);
   }
 
-  public Command drive(SwerveInputStream stream)
+  /**
+   * Drive field relative from an input stream, only called through {@link #whenReady} once the drive is ready.
+   *
+   * @param stream Input stream.
+   * @return Drive command.
+   */
+  private Command drive(SwerveInputStream stream)
   {
     return drive.drive(()->ChassisSpeeds.fromFieldRelativeSpeeds(stream.get(), new Rotation2d(drive.getGyroAngle())));
   }
@@ -59,6 +154,12 @@ public class SwerveDriveSubsystem extends SubsystemBase
    * @return {@link Command} that runs the full SysId routine on the given module.
    */
   public Command sysIdModule(String moduleName)
+  {
+    return whenReady(() -> sysIdRoutine(moduleName),
+                     () -> Commands.print("Swerve drive is not ready, SysId " + moduleName + " rejected."));
+  }
+
+  private Command sysIdRoutine(String moduleName)
   {
 
     SwerveModule         module       = drive.getModule(moduleName).orElseThrow();
@@ -91,12 +192,24 @@ public class SwerveDriveSubsystem extends SubsystemBase
 
   public void periodic()
   {
+    pollDrive();
+    if (drive == null)
+    {
+      return;
+    }
+    if (pidfReloader != null)
+    {
+      pidfReloader.applyPending();
+    }
     drive.updateTelemetry();
   }
 
   public void simulationPeriodic()
   {
-    drive.simIterate();
+    if (drive != null)
+    {
+      drive.simIterate();
+    }
   }
 }
 
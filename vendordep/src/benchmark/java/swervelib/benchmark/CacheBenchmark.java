@@ -0,0 +1,210 @@
+package swervelib.benchmark;
+
+import edu.wpi.first.hal.HAL;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import swervelib.parser.Cache;
+import swervelib.parser.CacheGroup;
+import swervelib.parser.CacheRefreshPolicy;
+import swervelib.parser.DoubleCache;
+
+/**
+ * {@link Cache#getValue()} and {@link DoubleCache#getValue()} on the fresh and stale paths, and the sensors of four
+ * swerve modules read through standalone caches or one {@link CacheGroup}. The supplier stands in for a sensor read,
+ * boxed for {@link Cache}.
+ *
+ * @implNote The caches use {@link CacheRefreshPolicy#VALIDITY_PERIOD}, so the fresh path is measured on desktop
+ * too, where the HAL reports a simulated robot and the default policy refreshes on every call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheBenchmark
+{
+
+  /**
+   * Cache that never goes stale during the benchmark.
+   */
+  private Cache<Double> fresh;
+  /**
+   * Cache that is always stale.
+   */
+  private Cache<Double> stale;
+  /**
+   * Cache of a slow sensor reloaded in the background every millisecond.
+   */
+  private Cache<Double> refreshAhead;
+  /**
+   * Primitive cache that never goes stale during the benchmark.
+   */
+  private DoubleCache   doubleFresh;
+  /**
+   * Primitive cache that is always stale.
+   */
+  private DoubleCache   doubleStale;
+  /**
+   * Drive and angle sensors of four modules, each with its own timestamp.
+   */
+  private DoubleCache[] moduleSensors;
+  /**
+   * Drive and angle sensors of four modules refreshed by {@link #group}.
+   */
+  private DoubleCache[] groupedSensors;
+  /**
+   * Group of {@link #groupedSensors}.
+   */
+  private CacheGroup    group;
+  /**
+   * Value returned by the supplier.
+   */
+  private double        sensor;
+
+  /**
+   * Start the HAL for the FPGA timestamp and create the caches with the refresh policy of a robot.
+   */
+  @Setup
+  public void setup()
+  {
+    HAL.initialize(500, 0);
+    Cache.setDefaultRefreshPolicy(CacheRefreshPolicy.VALIDITY_PERIOD);
+    fresh = new Cache<>(() -> sensor += 1, 3_600_000);
+    stale = new Cache<>(() -> sensor += 1, -1);
+    refreshAhead = new Cache<>(CacheBenchmark::slowRead, 2).refreshAhead(0.5);
+    doubleFresh = new DoubleCache(() -> sensor += 1, 3_600_000);
+    doubleStale = new DoubleCache(() -> sensor += 1, -1);
+    moduleSensors = new DoubleCache[8];
+    groupedSensors = new DoubleCache[8];
+    group = new CacheGroup(20);
+    for (int i = 0; i < moduleSensors.length; i++)
+    {
+      moduleSensors[i] = new DoubleCache(() -> sensor += 1, 20);
+      groupedSensors[i] = group.addDouble(() -> sensor += 1);
+    }
+  }
+
+  /**
+   * Stand-in for a 100 us blocking CAN read.
+   *
+   * @return Sensor value.
+   */
+  private static Double slowRead()
+  {
+    long end = System.nanoTime() + 100_000;
+    while (System.nanoTime() < end)
+    {
+      Thread.onSpinWait();
+    }
+    return 1.0;
+  }
+
+  /**
+   * Read a cached value that is still valid.
+   *
+   * @return Cached value.
+   */
+  @Benchmark
+  public Double getValueFresh()
+  {
+    return fresh.getValue();
+  }
+
+  /**
+   * Read a cached value that has to be refreshed.
+   *
+   * @return Refreshed value.
+   */
+  @Benchmark
+  public Double getValueStale()
+  {
+    return stale.getValue();
+  }
+
+  /**
+   * Read a slow sensor that is reloaded ahead of time, without waiting for the reads.
+   *
+   * @return Last good value.
+   */
+  @Benchmark
+  public Double getValueRefreshAhead()
+  {
+    return refreshAhead.getValue();
+  }
+
+  /**
+   * Read a primitive cached value that is still valid.
+   *
+   * @return Cached value.
+   */
+  @Benchmark
+  public double getDoubleValueFresh()
+  {
+    return doubleFresh.getValue();
+  }
+
+  /**
+   * Read a primitive cached value that has to be refreshed.
+   *
+   * @return Refreshed value.
+   */
+  @Benchmark
+  public double getDoubleValueStale()
+  {
+    return doubleStale.getValue();
+  }
+
+  /**
+   * Read every module sensor from its own cache.
+   *
+   * @return Sum of the sensors.
+   */
+  @Benchmark
+  public double readModuleSensors()
+  {
+    double sum = 0;
+    for (DoubleCache cache : moduleSensors)
+    {
+      sum += cache.getValue();
+    }
+    return sum;
+  }
+
+  /**
+   * Refresh the group once and read every module sensor of the snapshot.
+   *
+   * @return Sum of the sensors.
+   */
+  @Benchmark
+  public double readGroupedSensors()
+  {
+    group.refresh();
+    double sum = 0;
+    for (DoubleCache cache : groupedSensors)
+    {
+      sum += cache.getLastValue();
+    }
+    return sum;
+  }
+
+  /**
+   * Check the staleness of a cache.
+   *
+   * @return Stale state.
+   */
+  @Benchmark
+  public boolean isStale()
+  {
+    return fresh.isStale();
+  }
+}
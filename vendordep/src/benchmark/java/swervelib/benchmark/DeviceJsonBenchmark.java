@@ -0,0 +1,73 @@
+package swervelib.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import swervelib.parser.deserializer.ReflectionsManager.VendorMotorController;
+import swervelib.parser.json.DeviceJson;
+import swervelib.parser.json.DeviceJson.VENDOR;
+
+/**
+ * Device type string dispatch of {@link DeviceJson}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeviceJsonBenchmark
+{
+
+  /**
+   * Device type string.
+   */
+  @Param({"sparkmax_neo", "talonfx_krakenx60", "cancoder_can", "canandmag_attached", "unknown_device"})
+  public String type;
+
+  /**
+   * Device under test.
+   */
+  private DeviceJson device;
+
+  /**
+   * Create the device.
+   */
+  @Setup
+  public void setup()
+  {
+    device = new DeviceJson();
+    device.type = type;
+  }
+
+  /**
+   * Resolve the vendor of the device.
+   *
+   * @return Vendor.
+   */
+  @Benchmark
+  public VENDOR getVendor()
+  {
+    return device.getVendor(VENDOR.REV);
+  }
+
+  /**
+   * Resolve the motor controller of the device.
+   *
+   * @return Motor controller type.
+   */
+  @Benchmark
+  public VendorMotorController getMotorController()
+  {
+    return device.getMotorController();
+  }
+}
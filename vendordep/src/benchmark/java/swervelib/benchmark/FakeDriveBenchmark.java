@@ -0,0 +1,199 @@
+package swervelib.benchmark;
+
+import static edu.wpi.first.units.Units.Rotations;
+
+import edu.wpi.first.units.measure.Angle;
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import swervelib.benchmark.fake.FakeCANBus;
+import swervelib.benchmark.fake.FakeDevice;
+import swervelib.benchmark.fake.FakeDevice.Model;
+import swervelib.benchmark.fake.FakeDevices;
+import swervelib.parser.SwerveJsonReaders;
+import swervelib.parser.deserializer.DeviceConfigBatch;
+import swervelib.parser.deserializer.DeviceConfigurationException;
+import swervelib.parser.deserializer.DeviceRegistry;
+import swervelib.parser.deserializer.VendorDeviceProviders;
+import swervelib.parser.json.DeviceDescriptor.Connection;
+import swervelib.parser.json.DeviceJson;
+import swervelib.parser.json.ModuleJson;
+import swervelib.parser.json.SwerveDriveJson;
+import swervelib.parser.json.SwerveDriveJson.GyroAxis;
+
+/**
+ * Headless benchmark of the drivetrain devices of a swerve configuration directory on {@link FakeDevices}, with
+ * configurable CAN response latency and failure injection. Every device of the configuration is replaced by the fake
+ * of its model and created through the {@link DeviceRegistry}, {@link DeviceConfigBatch} and
+ * {@link VendorDeviceProviders}, then the sensors are read for a number of robot loops. A first build without latency
+ * keeps class loading out of the measured build.
+ *
+ * <p>Usage: {@code FakeDriveBenchmark <sequential|batched> <swerve directory> [config latency ms] [failure rate]
+ * [read latency us] [loops]}
+ */
+public final class FakeDriveBenchmark
+{
+
+  /**
+   * Utility class.
+   */
+  private FakeDriveBenchmark()
+  {
+  }
+
+  /**
+   * Get the fake of a device in the configuration, e.g. {@link Model#CANCODER} for {@code "cancoder_can"}.
+   *
+   * @param device Device from the configuration.
+   * @return Fake device model.
+   */
+  private static Model fake(DeviceJson device)
+  {
+    try
+    {
+      return Model.valueOf(device.getDescriptor().getDevice().toUpperCase());
+    } catch (IllegalArgumentException e)
+    {
+      throw new IllegalArgumentException("No fake device for \"" + device.type + "\"", e);
+    }
+  }
+
+  /**
+   * Create the fake devices of the configuration, reading sensors through the same suppliers as the drive.
+   *
+   * @param swerveDriveJson Parsed swervedrive.json.
+   * @param modules         Parsed module files.
+   * @param sensors         Filled with the sensor suppliers read every loop.
+   */
+  private static void createDevices(SwerveDriveJson swerveDriveJson, List<ModuleJson> modules,
+                                    List<Supplier<Angle>> sensors)
+  {
+    var provider = VendorDeviceProviders.requireAbsoluteEncoderProvider(Model.CANCODER.getType());
+    for (ModuleJson module : modules)
+    {
+      FakeDevice drive = FakeDevices.openMotorController(fake(module.drive), module.drive.id, module.drive.canbus,
+                                                         module.inverted.drive);
+      FakeDevice angle = FakeDevices.openMotorController(fake(module.angle), module.angle.id, module.angle.canbus,
+                                                         module.inverted.angle);
+      sensors.add(() -> Rotations.of(drive.getPosition()));
+      if (module.absoluteEncoder.getDescriptor().getConnection() == Connection.ATTACHED)
+      {
+        sensors.add(provider.createAttachedAbsoluteEncoder(module.absoluteEncoder.getDescriptor().getAttachType(),
+                                                           angle, module.absoluteEncoderInverted).getFirst());
+      } else
+      {
+        module.absoluteEncoder.setType(fake(module.absoluteEncoder).getType() + "_can");
+        sensors.add(module.absoluteEncoder.getAbsoluteEncoder(null, null, module.absoluteEncoderInverted).getFirst());
+      }
+    }
+    swerveDriveJson.gyro.setType(fake(swerveDriveJson.gyro).getType() + "_can");
+    sensors.add(swerveDriveJson.gyro.getGyro(GyroAxis.valueOf(swerveDriveJson.gyroAxis.toUpperCase()),
+                                              swerveDriveJson.gyroInvert).getFirst());
+  }
+
+  /**
+   * Parse the configuration and create its fake devices.
+   *
+   * @param directory Swerve configuration directory.
+   * @param batched   Apply the configurations in a {@link DeviceConfigBatch}.
+   * @param sensors   Filled with the sensor suppliers read every loop.
+   * @param failures  Filled with the devices that failed.
+   * @return Time spent creating the devices in nanoseconds, without parsing.
+   * @throws IOException if the directory cannot be parsed.
+   */
+  private static long createDrive(File directory, boolean batched, List<Supplier<Angle>> sensors,
+                                  List<String> failures) throws IOException
+  {
+    SwerveDriveJson  swerveDriveJson = SwerveJsonReaders.SWERVE_DRIVE.readValue(new File(directory,
+                                                                                           "swervedrive.json"));
+    List<ModuleJson> modules         = new ArrayList<>();
+    for (String module : swerveDriveJson.modules)
+    {
+      modules.add(SwerveJsonReaders.MODULE.readValue(new File(directory, "modules/" + module)));
+    }
+
+    long start = System.nanoTime();
+    if (batched)
+    {
+      try (var batch = DeviceConfigBatch.open(Duration.ofSeconds(5)))
+      {
+        createDevices(swerveDriveJson, modules, sensors);
+        batch.await();
+      } catch (DeviceConfigurationException e)
+      {
+        failures.addAll(e.getFailures());
+      }
+    } else
+    {
+      try
+      {
+        createDevices(swerveDriveJson, modules, sensors);
+      } catch (RuntimeException e)
+      {
+        // Without a batch the first failure stops the drive from being created.
+        failures.add(e.toString());
+      }
+    }
+    return System.nanoTime() - start;
+  }
+
+  /**
+   * Run the benchmark.
+   *
+   * @param args Mode, directory, and optional latencies, failure rate and loop count.
+   * @throws IOException if the directory cannot be parsed.
+   */
+  public static void main(String[] args) throws IOException
+  {
+    if (args.length < 2)
+    {
+      throw new IllegalArgumentException(
+          "Usage: FakeDriveBenchmark <sequential|batched> <directory> [config ms] [failure rate] [read us] [loops]");
+    }
+    boolean  batched       = "batched".equalsIgnoreCase(args[0]);
+    File     directory     = new File(args[1]);
+    Duration configLatency = Duration.ofMillis(args.length > 2 ? Long.parseLong(args[2]) : 10);
+    double   failureRate   = args.length > 3 ? Double.parseDouble(args[3]) : 0;
+    Duration readLatency   = Duration.ofNanos(1000 * (args.length > 4 ? Long.parseLong(args[4]) : 20));
+    int      loops         = args.length > 5 ? Integer.parseInt(args[5]) : 500;
+
+    // Build once without latency so class loading is not measured, then build on the configured buses.
+    FakeCANBus.configureAll(Duration.ZERO, Duration.ZERO, 0);
+    createDrive(directory, batched, new ArrayList<>(), new ArrayList<>());
+    DeviceRegistry.get().close();
+    FakeCANBus.configureAll(configLatency, readLatency, failureRate);
+
+    List<Supplier<Angle>> sensors  = new ArrayList<>();
+    List<String>          failures = new ArrayList<>();
+    long                  createNs = createDrive(directory, batched, sensors, failures);
+
+    long[] loopNs = new long[loops];
+    double sum    = 0;
+    for (int i = 0; i < loops; i++)
+    {
+      long start = System.nanoTime();
+      for (Supplier<Angle> sensor : sensors)
+      {
+        sum += sensor.get().in(Rotations);
+      }
+      loopNs[i] = System.nanoTime() - start;
+    }
+    Arrays.sort(loopNs);
+    DeviceRegistry.get().close();
+
+    System.out.printf("[%s] %d sensors, create %.3f ms with %d failure(s), loop median %.3f ms, loop p99 %.3f ms" +
+                      " (checksum %.1f)%n",
+                      batched ? "batched" : "sequential",
+                      sensors.size(),
+                      createNs / 1e6,
+                      failures.size(),
+                      loopNs[loops / 2] / 1e6,
+                      loopNs[Math.min(loops - 1, (int) (loops * 0.99))] / 1e6,
+                      sum);
+    failures.forEach(failure -> System.out.println("  " + failure));
+  }
+}
@@ -0,0 +1,77 @@
+package swervelib.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import swervelib.parser.deserializer.ReflectionsManager;
+import swervelib.parser.deserializer.ReflectionsManager.VENDOR;
+
+/**
+ * Vendordep detection and reflective factory lookups of {@link ReflectionsManager}. Only the lookup cost is measured,
+ * the created object is a plain JDK class so no hardware is touched.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReflectionsManagerBenchmark
+{
+
+  /**
+   * Vendor to look up.
+   */
+  @Param({"REV", "PHOENIX5", "PHOENIX6", "THRIFTYBOT", "STUDICA"})
+  public VENDOR vendor;
+
+  /**
+   * Check whether the vendordep is on the classpath.
+   *
+   * @return Vendordep existence.
+   */
+  @Benchmark
+  public boolean exists()
+  {
+    return vendor.exists();
+  }
+
+  /**
+   * Invoke a constructor through {@link ReflectionsManager#create}, resolved once and cached.
+   *
+   * @return Created object.
+   */
+  @Benchmark
+  public Object create()
+  {
+    return ReflectionsManager.create(vendor,
+                                     "java.lang.StringBuilder",
+                                     new Class<?>[]{String.class},
+                                     new Object[]{"yagsl"});
+  }
+
+  /**
+   * Baseline for {@link #create()}: the per-call {@code Class.forName}, constructor lookup and reflective
+   * {@code newInstance} {@link ReflectionsManager} used before its factories were cached.
+   *
+   * @return Created object.
+   * @throws ReflectiveOperationException never, the class and constructor exist.
+   */
+  @Benchmark
+  public Object createReflective() throws ReflectiveOperationException
+  {
+    if (!vendor.exists())
+    {
+      throw new RuntimeException("Vendor " + vendor + " library not found! Please install it!");
+    }
+    return Class.forName("java.lang.StringBuilder").getDeclaredConstructor(String.class).newInstance("yagsl");
+  }
+}
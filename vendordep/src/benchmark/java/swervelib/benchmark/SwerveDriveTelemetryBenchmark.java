@@ -0,0 +1,73 @@
+package swervelib.benchmark;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import swervelib.telemetry.SwerveDriveTelemetry;
+
+/**
+ * One {@link SwerveDriveTelemetry#updateData()} call of a four module drive, published to a local NetworkTables
+ * instance.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SwerveDriveTelemetryBenchmark
+{
+
+  /**
+   * Start NetworkTables locally and fill the telemetry with module states.
+   */
+  @Setup
+  public void setup()
+  {
+    NetworkTableInstance.getDefault().startLocal();
+    SwerveDriveTelemetry.moduleCount = 4;
+    SwerveDriveTelemetry.wheelLocations = new double[]{0.3, 0.3, 0.3, -0.3, -0.3, 0.3, -0.3, -0.3};
+    SwerveDriveTelemetry.measuredStates = new double[8];
+    SwerveDriveTelemetry.desiredStates = new double[8];
+    for (int i = 0; i < 4; i++)
+    {
+      SwerveDriveTelemetry.measuredStatesObj[i] = new SwerveModuleState(1.5, Rotation2d.fromDegrees(i * 45));
+      SwerveDriveTelemetry.desiredStatesObj[i] = new SwerveModuleState(1.6, Rotation2d.fromDegrees(i * 45 + 5));
+    }
+    SwerveDriveTelemetry.measuredChassisSpeedsObj = new ChassisSpeeds(1, 0.5, 0.2);
+    SwerveDriveTelemetry.desiredChassisSpeedsObj = new ChassisSpeeds(1.1, 0.5, 0.25);
+    SwerveDriveTelemetry.robotRotationObj = Rotation2d.fromDegrees(30);
+    SwerveDriveTelemetry.updateSettings = true;
+  }
+
+  /**
+   * Stop the local NetworkTables instance.
+   */
+  @TearDown
+  public void tearDown()
+  {
+    NetworkTableInstance.getDefault().stopLocal();
+  }
+
+  /**
+   * Publish one control cycle worth of telemetry.
+   */
+  @Benchmark
+  public void updateData()
+  {
+    SwerveDriveTelemetry.updateData();
+  }
+}
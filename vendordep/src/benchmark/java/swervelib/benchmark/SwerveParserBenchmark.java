@@ -0,0 +1,71 @@
+package swervelib.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import swervelib.parser.SwerveParser;
+import swervelib.parser.SwerveParserCache;
+
+/**
+ * Parse time of the swerve configuration directory, uncached and through the {@link SwerveParserCache}.
+ *
+ * <p>The directory defaults to the test resources and can be changed with the {@code yagsl.benchmark.swervedrive}
+ * system property.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SwerveParserBenchmark
+{
+
+  /**
+   * Swerve configuration directory.
+   */
+  private File directory;
+
+  /**
+   * Resolve the configuration directory and fill the parse cache.
+   */
+  @Setup
+  public void setup()
+  {
+    directory = new File(System.getProperty("yagsl.benchmark.swervedrive", "src/test/resources/swervedrive"));
+    SwerveParser.parse(directory);
+  }
+
+  /**
+   * Parse and validate every JSON file with Jackson.
+   *
+   * @return Parsed configuration.
+   * @throws IOException if the directory cannot be read.
+   */
+  @Benchmark
+  public SwerveParser parseDirectory() throws IOException
+  {
+    return SwerveParser.parseDirectory(directory);
+  }
+
+  /**
+   * Hash the directory and return the cached configuration.
+   *
+   * @return Cached configuration.
+   */
+  @Benchmark
+  public SwerveParser parseCached()
+  {
+    return SwerveParser.parse(directory);
+  }
+}
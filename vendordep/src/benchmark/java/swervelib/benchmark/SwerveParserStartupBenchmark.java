@@ -0,0 +1,114 @@
+package swervelib.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import swervelib.parser.SwerveJsonReaders;
+import swervelib.parser.json.ModuleJson;
+import swervelib.parser.json.PIDFPropertiesJson;
+import swervelib.parser.json.PhysicalPropertiesJson;
+import swervelib.parser.json.SwerveDriveJson;
+
+/**
+ * Cold-boot benchmark of the swerve configuration directory parse. Each mode must run in a fresh JVM so the first
+ * iteration includes the class-init and introspection cost paid on robot boot.
+ *
+ * <p>Usage: {@code SwerveParserStartupBenchmark <legacy|shared> <swerve directory> [warm iterations]}
+ */
+public final class SwerveParserStartupBenchmark
+{
+
+  /**
+   * Utility class.
+   */
+  private SwerveParserStartupBenchmark()
+  {
+  }
+
+  /**
+   * Parse the directory with a brand-new {@link ObjectMapper} per file, the way {@code SwerveParser} did before the
+   * shared {@link SwerveJsonReaders}.
+   *
+   * @param directory Swerve configuration directory.
+   * @return Number of module files parsed.
+   * @throws IOException if a file cannot be read.
+   */
+  private static int parseLegacy(File directory) throws IOException
+  {
+    SwerveDriveJson swerveDriveJson = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+        .readValue(new File(directory, "swervedrive.json"), SwerveDriveJson.class);
+    new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+        .readValue(new File(directory, "modules/pidfproperties.json"), PIDFPropertiesJson.class);
+    new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+        .readValue(new File(directory, "modules/physicalproperties.json"), PhysicalPropertiesJson.class);
+    for (String module : swerveDriveJson.modules)
+    {
+      new ObjectMapper()
+          .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+          .readValue(new File(directory, "modules/" + module), ModuleJson.class);
+    }
+    return swerveDriveJson.modules.length;
+  }
+
+  /**
+   * Parse the directory with the shared {@link SwerveJsonReaders}.
+   *
+   * @param directory Swerve configuration directory.
+   * @return Number of module files parsed.
+   * @throws IOException if a file cannot be read.
+   */
+  private static int parseShared(File directory) throws IOException
+  {
+    SwerveDriveJson swerveDriveJson = SwerveJsonReaders.SWERVE_DRIVE.readValue(new File(directory,
+                                                                                          "swervedrive.json"));
+    SwerveJsonReaders.PIDF_PROPERTIES.readValue(new File(directory, "modules/pidfproperties.json"));
+    SwerveJsonReaders.PHYSICAL_PROPERTIES.readValue(new File(directory, "modules/physicalproperties.json"));
+    for (String module : swerveDriveJson.modules)
+    {
+      SwerveJsonReaders.MODULE.readValue(new File(directory, "modules/" + module));
+    }
+    return swerveDriveJson.modules.length;
+  }
+
+  /**
+   * Run the benchmark.
+   *
+   * @param args Mode, directory and optional warm iteration count.
+   * @throws IOException if the directory cannot be parsed.
+   */
+  public static void main(String[] args) throws IOException
+  {
+    if (args.length < 2)
+    {
+      throw new IllegalArgumentException("Usage: SwerveParserStartupBenchmark <legacy|shared> <directory> [iterations]");
+    }
+    boolean legacy     = "legacy".equalsIgnoreCase(args[0]);
+    File    directory  = new File(args[1]);
+    int     iterations = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+
+    long start   = System.nanoTime();
+    int  modules = legacy ? parseLegacy(directory) : parseShared(directory);
+    long coldNs  = System.nanoTime() - start;
+
+    long[] warmNs = new long[iterations];
+    for (int i = 0; i < iterations; i++)
+    {
+      start = System.nanoTime();
+      modules = legacy ? parseLegacy(directory) : parseShared(directory);
+      warmNs[i] = System.nanoTime() - start;
+    }
+    Arrays.sort(warmNs);
+
+    System.out.printf("[%s] %d modules, cold parse %.3f ms, warm median %.3f ms, warm p99 %.3f ms%n",
+                      legacy ? "legacy" : "shared",
+                      modules,
+                      coldNs / 1e6,
+                      warmNs[iterations / 2] / 1e6,
+                      warmNs[Math.min(iterations - 1, (int) (iterations * 0.99))] / 1e6);
+  }
+}
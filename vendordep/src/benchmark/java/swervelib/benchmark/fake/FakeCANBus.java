@@ -0,0 +1,221 @@
+package swervelib.benchmark.fake;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-process stand-in for a CAN bus. Every transaction of a {@link FakeDevice} waits for the response latency of its
+ * bus and fails with the configured probability, so device creation and periodic loops can be benchmarked and
+ * stress-tested without vendor JNI or hardware.
+ */
+public final class FakeCANBus
+{
+
+  /**
+   * Buses by name, the roboRIO bus is {@code ""}.
+   */
+  private static final    Map<String, FakeCANBus> buses        = new ConcurrentHashMap<>();
+  /**
+   * Response latency of configuration writes in nanoseconds of buses created later.
+   */
+  private static volatile long                    defaultConfigLatencyNanos;
+  /**
+   * Response latency of signal reads in nanoseconds of buses created later.
+   */
+  private static volatile long                    defaultReadLatencyNanos;
+  /**
+   * Probability of a configuration write failing on buses created later.
+   */
+  private static volatile double                  defaultFailureRate;
+  /**
+   * Bus name.
+   */
+  private final           String                  name;
+  /**
+   * Transactions so far.
+   */
+  private final           AtomicLong              transactions = new AtomicLong();
+  /**
+   * Injected failures so far.
+   */
+  private final           AtomicLong              failures     = new AtomicLong();
+  /**
+   * Response latency of configuration writes in nanoseconds.
+   */
+  private volatile        long                    configLatencyNanos;
+  /**
+   * Response latency of signal reads in nanoseconds.
+   */
+  private volatile        long                    readLatencyNanos;
+  /**
+   * Probability of a configuration write failing.
+   */
+  private volatile        double                  failureRate;
+  /**
+   * Source of the injected failures, seeded so runs are repeatable.
+   */
+  private final           Random                  random       = new Random(0);
+
+  /**
+   * Create a bus with the latency and failure injection set by {@link #configureAll(Duration, Duration, double)}.
+   *
+   * @param name Bus name.
+   */
+  private FakeCANBus(String name)
+  {
+    this.name = name;
+    this.configLatencyNanos = defaultConfigLatencyNanos;
+    this.readLatencyNanos = defaultReadLatencyNanos;
+    this.failureRate = defaultFailureRate;
+  }
+
+  /**
+   * Get a bus.
+   *
+   * @param name Bus name, {@code null}, {@code ""} or {@code "rio"} for the roboRIO bus.
+   * @return Fake bus.
+   */
+  public static FakeCANBus of(String name)
+  {
+    return buses.computeIfAbsent(name == null || name.equals("rio") ? "" : name, FakeCANBus::new);
+  }
+
+  /**
+   * Set the latency and failure injection of every bus, including buses created later, e.g. before each benchmark
+   * run.
+   *
+   * @param configLatency Response latency of configuration writes.
+   * @param readLatency   Response latency of signal reads.
+   * @param failureRate   Probability of a configuration write failing, 0 to 1.
+   */
+  public static void configureAll(Duration configLatency, Duration readLatency, double failureRate)
+  {
+    defaultConfigLatencyNanos = configLatency.toNanos();
+    defaultReadLatencyNanos = readLatency.toNanos();
+    defaultFailureRate = failureRate;
+    buses.values().forEach(bus -> bus.configure(configLatency, readLatency, failureRate));
+  }
+
+  /**
+   * Set the latency and failure injection of this bus.
+   *
+   * @param configLatency Response latency of configuration writes.
+   * @param readLatency   Response latency of signal reads.
+   * @param failureRate   Probability of a configuration write failing, 0 to 1.
+   * @return This bus.
+   */
+  public FakeCANBus configure(Duration configLatency, Duration readLatency, double failureRate)
+  {
+    this.configLatencyNanos = configLatency.toNanos();
+    this.readLatencyNanos = readLatency.toNanos();
+    this.failureRate = failureRate;
+    return this;
+  }
+
+  /**
+   * Write a configuration to a device, waiting for the response.
+   *
+   * @param device  Device name.
+   * @param setting Configuration written.
+   * @throws FakeCANException if a failure was injected.
+   */
+  void write(String device, String setting)
+  {
+    transactions.incrementAndGet();
+    await(configLatencyNanos);
+    boolean fail;
+    synchronized (random)
+    {
+      fail = random.nextDouble() < failureRate;
+    }
+    if (fail)
+    {
+      failures.incrementAndGet();
+      throw new FakeCANException(device + " did not acknowledge " + setting + " on bus \"" + name + "\"");
+    }
+  }
+
+  /**
+   * Read a status signal, waiting for the response.
+   */
+  void read()
+  {
+    transactions.incrementAndGet();
+    await(readLatencyNanos);
+  }
+
+  /**
+   * Wait for a response. Sub-millisecond latencies are spun, so they are not rounded up to the scheduler tick.
+   *
+   * @param nanos Latency in nanoseconds.
+   */
+  private static void await(long nanos)
+  {
+    long deadline = System.nanoTime() + nanos;
+    if (nanos >= 1_000_000)
+    {
+      LockSupport.parkNanos(nanos);
+    }
+    while (System.nanoTime() < deadline)
+    {
+      Thread.onSpinWait();
+    }
+  }
+
+  /**
+   * Get the bus name.
+   *
+   * @return Bus name, {@code ""} for the roboRIO bus.
+   */
+  public String getName()
+  {
+    return name;
+  }
+
+  /**
+   * Get the number of transactions so far.
+   *
+   * @return Configuration writes and signal reads.
+   */
+  public long getTransactions()
+  {
+    return transactions.get();
+  }
+
+  /**
+   * Get the number of injected failures so far.
+   *
+   * @return Failed configuration writes.
+   */
+  public long getFailures()
+  {
+    return failures.get();
+  }
+
+  @Override
+  public String toString()
+  {
+    return "FakeCANBus(\"" + name + "\", " + getTransactions() + " transactions, " + getFailures() + " failures)";
+  }
+
+  /**
+   * Injected CAN failure.
+   */
+  public static final class FakeCANException extends RuntimeException
+  {
+
+    /**
+     * Create the exception.
+     *
+     * @param message Failed transaction.
+     */
+    FakeCANException(String message)
+    {
+      super(message);
+    }
+  }
+}
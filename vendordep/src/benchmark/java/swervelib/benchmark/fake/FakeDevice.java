@@ -0,0 +1,252 @@
+package swervelib.benchmark.fake;
+
+import swervelib.parser.deserializer.DeviceRegistry.Kind;
+import swervelib.parser.json.DeviceJson.VENDOR;
+
+/**
+ * In-process stand-in for a vendor device on a {@link FakeCANBus}. The device keeps a simulated position that moves
+ * at a constant velocity, so sensor suppliers return changing values like real hardware.
+ */
+public final class FakeDevice implements AutoCloseable
+{
+
+  /**
+   * Model of the device.
+   */
+  private final    Model      model;
+  /**
+   * CAN ID of the device.
+   */
+  private final    int        id;
+  /**
+   * Bus the device is on.
+   */
+  private final    FakeCANBus bus;
+  /**
+   * {@link System#nanoTime()} the simulated position is measured from.
+   */
+  private final    long       start = System.nanoTime();
+  /**
+   * Simulated velocity in rotations per second.
+   */
+  private volatile double     velocity;
+  /**
+   * Inverted readings.
+   */
+  private volatile boolean    inverted;
+  /**
+   * Whether the device was closed.
+   */
+  private volatile boolean    closed;
+
+  /**
+   * Create a device.
+   *
+   * @param model  Model of the device.
+   * @param id     CAN ID of the device.
+   * @param canbus CAN bus name of the device.
+   */
+  public FakeDevice(Model model, int id, String canbus)
+  {
+    this.model = model;
+    this.id = id;
+    this.bus = FakeCANBus.of(canbus);
+    this.velocity = 0.1 * (id + 1);
+  }
+
+  /**
+   * Write a configuration, waiting for the response of the bus.
+   *
+   * @param setting Configuration written.
+   * @throws FakeCANBus.FakeCANException if a failure was injected.
+   */
+  public void configure(String setting)
+  {
+    checkOpen();
+    bus.write(toString(), setting);
+  }
+
+  /**
+   * Write the direction of the readings.
+   *
+   * @param inverted Inverted readings.
+   */
+  public void setInverted(boolean inverted)
+  {
+    configure("inverted=" + inverted);
+    this.inverted = inverted;
+  }
+
+  /**
+   * Set the simulated velocity.
+   *
+   * @param velocity Velocity in rotations per second.
+   */
+  public void setVelocity(double velocity)
+  {
+    this.velocity = velocity;
+  }
+
+  /**
+   * Read the position, waiting for the response of the bus.
+   *
+   * @return Position in rotations.
+   */
+  public double getPosition()
+  {
+    checkOpen();
+    bus.read();
+    double position = velocity * (System.nanoTime() - start) / 1e9;
+    return inverted ? -position : position;
+  }
+
+  /**
+   * Get the model of the device.
+   *
+   * @return Model.
+   */
+  public Model getModel()
+  {
+    return model;
+  }
+
+  /**
+   * Get the CAN ID of the device.
+   *
+   * @return CAN ID.
+   */
+  public int getDeviceId()
+  {
+    return id;
+  }
+
+  /**
+   * Get the bus the device is on.
+   *
+   * @return Fake bus.
+   */
+  public FakeCANBus getBus()
+  {
+    return bus;
+  }
+
+  /**
+   * Get the name of the device with its bus, like the names of vendor devices in a {@link
+   * swervelib.parser.deserializer.DeviceConfigBatch}.
+   *
+   * @return Device description, e.g. "CANcoder #9 on bus \"canivore\"".
+   */
+  public String getDescription()
+  {
+    return this + " on bus \"" + bus.getName() + "\"";
+  }
+
+  /**
+   * Check whether the device was closed.
+   *
+   * @return True once closed.
+   */
+  public boolean isClosed()
+  {
+    return closed;
+  }
+
+  /**
+   * Throw if the device was closed, like a vendor call on a closed handle.
+   */
+  private void checkOpen()
+  {
+    if (closed)
+    {
+      throw new IllegalStateException(this + " is closed");
+    }
+  }
+
+  @Override
+  public void close()
+  {
+    closed = true;
+  }
+
+  @Override
+  public String toString()
+  {
+    return model.displayName + " #" + id;
+  }
+
+  /**
+   * Faked device models.
+   */
+  public enum Model
+  {
+    /**
+     * CTRE TalonFX.
+     */
+    TALONFX("TalonFX", VENDOR.CTRE, Kind.MOTOR_CONTROLLER),
+    /**
+     * REV SPARK MAX.
+     */
+    SPARKMAX("SparkMax", VENDOR.REV, Kind.MOTOR_CONTROLLER),
+    /**
+     * REV SPARK Flex.
+     */
+    SPARKFLEX("SparkFlex", VENDOR.REV, Kind.MOTOR_CONTROLLER),
+    /**
+     * ThriftyBot Nova.
+     */
+    NOVA("Nova", VENDOR.THRIFTYBOT, Kind.MOTOR_CONTROLLER),
+    /**
+     * CTRE CANcoder.
+     */
+    CANCODER("CANcoder", VENDOR.CTRE, Kind.ABSOLUTE_ENCODER),
+    /**
+     * Redux Canandmag.
+     */
+    CANANDMAG("Canandmag", VENDOR.REDUX, Kind.ABSOLUTE_ENCODER),
+    /**
+     * CTRE Pigeon2.
+     */
+    PIGEON2("Pigeon2", VENDOR.CTRE, Kind.GYRO),
+    /**
+     * Studica NavX.
+     */
+    NAVX("NavX", VENDOR.STUDICA, Kind.GYRO);
+
+    /**
+     * Name in reports.
+     */
+    public final String displayName;
+    /**
+     * Vendor the device is registered under in the {@link swervelib.parser.deserializer.DeviceRegistry}.
+     */
+    public final VENDOR vendor;
+    /**
+     * Kind of device.
+     */
+    public final Kind   kind;
+
+    /**
+     * Create a model.
+     *
+     * @param displayName Name in reports.
+     * @param vendor      Vendor of the device.
+     * @param kind        Kind of device.
+     */
+    Model(String displayName, VENDOR vendor, Kind kind)
+    {
+      this.displayName = displayName;
+      this.vendor = vendor;
+      this.kind = kind;
+    }
+
+    /**
+     * Get the fake device type of the model in the JSON configuration, e.g. {@code "fakecancoder"}.
+     *
+     * @return Lower case device type.
+     */
+    public String getType()
+    {
+      return "fake" + name().toLowerCase();
+    }
+  }
+}
@@ -0,0 +1,144 @@
+package swervelib.benchmark.fake;
+
+import static edu.wpi.first.units.Units.Rotations;
+
+import edu.wpi.first.math.Pair;
+import edu.wpi.first.units.measure.Angle;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import swervelib.benchmark.fake.FakeDevice.Model;
+import swervelib.parser.deserializer.DeviceConfigBatch;
+import swervelib.parser.deserializer.DeviceRegistry;
+import swervelib.parser.deserializer.DeviceRegistry.Kind;
+import swervelib.parser.deserializer.VendorDeviceProvider;
+import swervelib.parser.json.SwerveDriveJson.GyroAxis;
+
+/**
+ * {@link VendorDeviceProvider} of {@link FakeDevice}s, registered through {@code META-INF/services} of the benchmark
+ * source set. Device types are the real ones prefixed with {@code "fake"}, e.g. {@code "fakecancoder_can"} or
+ * {@code "fakepigeon2_can"}, and are created through the same {@link DeviceRegistry} and {@link DeviceConfigBatch}
+ * as the vendor devices.
+ *
+ * <p>Motor controllers are not provided as YAMS {@code SmartMotorController}s, whose wrappers need the vendor JNI.
+ * {@link #openMotorController(Model, int, String, boolean)} creates the fake vendor object a wrapper would hold, with
+ * its configuration queued like the real ones, and {@link #createAttachedAbsoluteEncoder(String, Object, boolean)}
+ * reads encoders attached to it.
+ */
+public final class FakeDevices implements VendorDeviceProvider
+{
+
+  /**
+   * Open a fake device in the {@link DeviceRegistry}, queueing its direction in the {@link DeviceConfigBatch}.
+   *
+   * @param model    Device model.
+   * @param canid    CAN ID of the device.
+   * @param canbus   CAN bus name of the device.
+   * @param inverted Inverted readings.
+   * @return Shared fake device.
+   */
+  private static FakeDevice open(Model model, int canid, String canbus, boolean inverted)
+  {
+    return DeviceRegistry.get().acquire(model.vendor, canbus, canid, model.kind, FakeDevice.class, () -> {
+      var device = new FakeDevice(model, canid, canbus);
+      DeviceConfigBatch.apply(device.getDescription(), () -> device.setInverted(inverted));
+      return device;
+    });
+  }
+
+  /**
+   * Open a fake motor controller.
+   *
+   * @param model    Motor controller model.
+   * @param canid    CAN ID of the motor controller.
+   * @param canbus   CAN bus name of the motor controller.
+   * @param inverted Inverted motor.
+   * @return Shared fake motor controller.
+   */
+  public static FakeDevice openMotorController(Model model, int canid, String canbus, boolean inverted)
+  {
+    if (model.kind != Kind.MOTOR_CONTROLLER)
+    {
+      throw new IllegalArgumentException(model + " is not a motor controller");
+    }
+    return open(model, canid, canbus, inverted);
+  }
+
+  /**
+   * Get the models of a kind.
+   *
+   * @param kind Kind of device.
+   * @return Fake device types of the kind.
+   */
+  private static Set<String> getTypes(Kind kind)
+  {
+    return Arrays.stream(Model.values())
+                 .filter(model -> model.kind == kind)
+                 .map(Model::getType)
+                 .collect(Collectors.toUnmodifiableSet());
+  }
+
+  /**
+   * Get the model of a fake device type.
+   *
+   * @param type Fake device type, e.g. {@code "fakecancoder"}.
+   * @param kind Expected kind of device.
+   * @return Model.
+   */
+  private static Model getModel(String type, Kind kind)
+  {
+    Model model = Model.valueOf(type.toUpperCase().substring("FAKE".length()));
+    if (model.kind != kind)
+    {
+      throw new IllegalArgumentException(type + " is not a " + kind);
+    }
+    return model;
+  }
+
+  @Override
+  public String getName()
+  {
+    return "Fake";
+  }
+
+  @Override
+  public Set<String> getAbsoluteEncoderTypes()
+  {
+    return getTypes(Kind.ABSOLUTE_ENCODER);
+  }
+
+  @Override
+  public Set<String> getGyroTypes()
+  {
+    return getTypes(Kind.GYRO);
+  }
+
+  @Override
+  public Pair<Supplier<Angle>, Object> createAttachedAbsoluteEncoder(String attachType, Object motorController,
+                                                                     boolean inverted)
+  {
+    if (!(motorController instanceof FakeDevice motor) || motor.getModel().kind != Kind.MOTOR_CONTROLLER)
+    {
+      throw new IllegalArgumentException("Fake encoders attach to fake motor controllers, not " + motorController);
+    }
+    DeviceConfigBatch.apply(motor.getDescription(), () -> motor.configure(attachType + " inverted=" + inverted));
+    double sign = inverted ? -1 : 1;
+    return Pair.of(() -> Rotations.of(sign * motor.getPosition()), motor);
+  }
+
+  @Override
+  public Pair<Supplier<Angle>, Object> createAbsoluteEncoder(String type, int canid, String canbus, boolean inverted)
+  {
+    var encoder = open(getModel(type, Kind.ABSOLUTE_ENCODER), canid, canbus, inverted);
+    return Pair.of(() -> Rotations.of(encoder.getPosition()), encoder);
+  }
+
+  @Override
+  public Pair<Supplier<Angle>, Object> createGyro(String type, int canid, String canbus, GyroAxis axis,
+                                                   boolean inverted)
+  {
+    var gyro = open(getModel(type, Kind.GYRO), canid, canbus, inverted);
+    return Pair.of(() -> Rotations.of(gyro.getPosition()), gyro);
+  }
+}
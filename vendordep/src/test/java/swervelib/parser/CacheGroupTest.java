@@ -0,0 +1,121 @@
+package swervelib.parser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class CacheGroupTest {
+
+  private final CacheClock.Manual clock = new CacheClock.Manual(1_000_000);
+  private final AtomicInteger reads = new AtomicInteger();
+
+  private CacheGroup group(CacheRefreshPolicy policy) {
+    return new CacheGroup(20, null, clock, policy);
+  }
+
+  @Test
+  void testMembersShareTimestamp() {
+    var group = group(CacheRefreshPolicy.VALIDITY_PERIOD);
+    var drive = group.addDouble(() -> reads.incrementAndGet());
+    clock.advance(5_000);
+    var angle = group.add(reads::incrementAndGet);
+    assertEquals(2, group.size());
+    assertEquals(1_000_000, drive.getTimestamp());
+    assertEquals(1_000_000, angle.getTimestamp());
+
+    clock.advance(20_000);
+    assertTrue(angle.isStale());
+    // Reading one stale member refreshes every member at the same time.
+    assertEquals(3.0, drive.getValue());
+    assertEquals(4, angle.getLastValue());
+    assertEquals(1_025_000, group.getTimestamp());
+    assertEquals(1_025_000, drive.getTimestamp());
+    assertEquals(1_025_000, angle.getTimestamp());
+    assertFalse(drive.isStale());
+    assertEquals(4, angle.getValue());
+    assertEquals(4, reads.get());
+  }
+
+  @Test
+  void testRefreshOnlyWhenStale() {
+    var group = group(CacheRefreshPolicy.VALIDITY_PERIOD);
+    var member = group.add(reads::incrementAndGet);
+    assertFalse(group.refresh());
+    clock.advance(20_001);
+    assertTrue(group.refresh());
+    assertFalse(group.refresh());
+    assertEquals(2, member.getLastValue());
+
+    var always = group(CacheRefreshPolicy.ALWAYS);
+    always.add(reads::incrementAndGet);
+    assertTrue(always.refresh());
+    assertTrue(always.refresh());
+  }
+
+  @Test
+  void testMemberUpdatesRefreshGroup() {
+    var group = group(CacheRefreshPolicy.VALIDITY_PERIOD);
+    var first = group.add(reads::incrementAndGet);
+    var second = group.add(() -> -1);
+    clock.advance(1_000);
+    assertEquals(-2, second.updateSupplier(() -> -2).getLastValue());
+    assertEquals(2, first.getLastValue());
+    assertEquals(1_001_000, group.getTimestamp());
+
+    first.updateValidityPeriod(5);
+    clock.advance(5_001);
+    assertTrue(second.isStale());
+  }
+
+  @Test
+  void testFailedMemberLeavesGroupStale() {
+    var group = group(CacheRefreshPolicy.VALIDITY_PERIOD);
+    var member = group.add(() -> {
+      if (reads.incrementAndGet() == 2) {
+        throw new IllegalStateException("CAN timeout");
+      }
+      return reads.get();
+    });
+    clock.advance(20_001);
+    assertThrows(IllegalStateException.class, member::getValue);
+    assertTrue(group.isStale());
+    assertEquals(3, member.getValue());
+    assertFalse(group.isStale());
+  }
+
+  @Test
+  void testParallelRefresh() {
+    var executor = Executors.newFixedThreadPool(4);
+    try {
+      var group = new CacheGroup(20, executor, clock, CacheRefreshPolicy.VALIDITY_PERIOD);
+      var members = new DoubleCache[8];
+      for (int i = 0; i < members.length; i++) {
+        members[i] = group.addDouble(() -> reads.incrementAndGet());
+      }
+      clock.advance(20_001);
+      assertTrue(group.refresh());
+      assertEquals(16, reads.get());
+      double sum = 0;
+      for (DoubleCache member : members) {
+        assertEquals(1_020_001, member.getTimestamp());
+        sum += member.getLastValue();
+      }
+      assertEquals(9 + 10 + 11 + 12 + 13 + 14 + 15 + 16, sum);
+
+      var failures = new AtomicInteger();
+      group.add(() -> {
+        if (failures.incrementAndGet() > 1) {
+          throw new IllegalStateException("CAN timeout");
+        }
+        return 0;
+      });
+      clock.advance(20_001);
+      assertThrows(IllegalStateException.class, group::refresh);
+      assertTrue(group.isStale());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
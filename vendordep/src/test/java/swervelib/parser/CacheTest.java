@@ -0,0 +1,265 @@
+package swervelib.parser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class CacheTest {
+
+  private final CacheClock.Manual clock = new CacheClock.Manual(1_000_000);
+  private final AtomicInteger reads = new AtomicInteger();
+
+  private Cache<Integer> cache(long validityPeriod, CacheRefreshPolicy policy) {
+    return new Cache<>(reads::incrementAndGet, validityPeriod, clock, policy);
+  }
+
+  @AfterEach
+  void resetDefaults() {
+    Cache.setDefaultClock(CacheClock.FPGA);
+    Cache.setDefaultRefreshPolicy(CacheRefreshPolicy.ALWAYS_IN_SIMULATION);
+  }
+
+  @Test
+  void testServedWithinValidityPeriod() {
+    var cache = cache(20, CacheRefreshPolicy.VALIDITY_PERIOD);
+    assertEquals(1, cache.getValue());
+    clock.advance(20_000);
+    assertFalse(cache.isStale());
+    assertEquals(1, cache.getValue());
+    clock.advance(1);
+    assertTrue(cache.isStale());
+    assertEquals(2, cache.getValue());
+    assertEquals(1_020_001, cache.getTimestamp());
+    assertEquals(2, reads.get());
+  }
+
+  @Test
+  void testAlwaysPolicyRefreshesEveryRead() {
+    var cache = cache(3_600_000, CacheRefreshPolicy.ALWAYS);
+    assertEquals(2, cache.getValue());
+    assertEquals(3, cache.getValue());
+    assertFalse(cache.isStale());
+  }
+
+  @Test
+  void testUpdatesIgnoreValidityPeriod() {
+    var cache = cache(3_600_000, CacheRefreshPolicy.VALIDITY_PERIOD);
+    assertEquals(2, cache.update().getLastValue());
+    assertEquals(-1, cache.updateSupplier(() -> -1).getValue());
+    cache.updateValidityPeriod(10);
+    clock.advance(10_001);
+    assertTrue(cache.isStale());
+  }
+
+  @Test
+  void testInvalidateRefreshesOnNextRead() {
+    var cache = cache(3_600_000, CacheRefreshPolicy.VALIDITY_PERIOD);
+    cache.invalidate().invalidate();
+    assertEquals(1, reads.get());
+    assertTrue(cache.isStale());
+    assertEquals(2, cache.getValue());
+    assertEquals(2, cache.getValue());
+    assertFalse(cache.isStale());
+    var member = new CacheGroup(20, null, clock, CacheRefreshPolicy.VALIDITY_PERIOD).add(() -> 0);
+    assertThrows(IllegalStateException.class, member::invalidate);
+  }
+
+  @Test
+  void testInvalidateDuringRefreshRefreshesAgain() {
+    List<Cache<Integer>> self = new ArrayList<>();
+    var cache = new Cache<>(() -> {
+      if (reads.incrementAndGet() == 2) {
+        // A signal added while the bus is being read must still be read by the next refresh.
+        self.get(0).invalidate();
+      }
+      return reads.get();
+    }, 3_600_000, clock, CacheRefreshPolicy.VALIDITY_PERIOD);
+    self.add(cache);
+    cache.invalidate();
+    assertEquals(2, cache.getValue());
+    assertTrue(cache.isStale());
+    assertEquals(3, cache.getValue());
+    assertEquals(3, cache.getValue());
+  }
+
+  @Test
+  void testFailedRefreshKeepsInvalidation() {
+    var cache = new Cache<>(() -> {
+      if (reads.incrementAndGet() == 2) {
+        throw new IllegalStateException("CAN timeout");
+      }
+      return reads.get();
+    }, 3_600_000, clock, CacheRefreshPolicy.VALIDITY_PERIOD);
+    cache.invalidate();
+    assertThrows(IllegalStateException.class, cache::getValue);
+    assertTrue(cache.isStale());
+    assertEquals(3, cache.getValue());
+    assertFalse(cache.isStale());
+  }
+
+  @Test
+  void testDefaultClockAndPolicy() {
+    Cache.setDefaultClock(clock);
+    Cache.setDefaultRefreshPolicy(CacheRefreshPolicy.VALIDITY_PERIOD);
+    var cache = new Cache<>(reads::incrementAndGet, 20);
+    assertEquals(1_000_000, cache.getTimestamp());
+    assertEquals(1, cache.getValue());
+    assertEquals(1.0, new DoubleCache(() -> 1.0, 20).getValue());
+  }
+
+  @Test
+  void testFailedRefreshRetried() {
+    var cache = new Cache<>(() -> {
+      if (reads.incrementAndGet() == 2) {
+        throw new IllegalStateException("CAN timeout");
+      }
+      return reads.get();
+    }, 20, clock, CacheRefreshPolicy.VALIDITY_PERIOD);
+    clock.advance(20_001);
+    assertThrows(IllegalStateException.class, cache::getValue);
+    assertTrue(cache.isStale());
+    assertEquals(3, cache.getValue());
+  }
+
+  @Test
+  void testSingleFlightRefresh() throws Exception {
+    var reading = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    var cache = new Cache<>(() -> {
+      if (reads.incrementAndGet() > 1) {
+        reading.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      return reads.get();
+    }, 20, clock, CacheRefreshPolicy.VALIDITY_PERIOD);
+    clock.advance(20_001);
+
+    var executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Integer> refresh = executor.submit(cache::getValue);
+      assertTrue(reading.await(5, TimeUnit.SECONDS));
+      // Other readers get the last value without waiting or reading the sensor again.
+      for (int i = 0; i < 100; i++) {
+        assertEquals(1, cache.getValue());
+      }
+      release.countDown();
+      assertEquals(2, refresh.get(5, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(2, cache.getValue());
+    assertEquals(2, reads.get());
+  }
+
+  @Test
+  void testUpdateParksUntilRunningRefreshEnds() throws Exception {
+    var reading = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    var cache = new Cache<>(() -> {
+      if (reads.incrementAndGet() == 2) {
+        reading.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      return reads.get();
+    }, 20, clock, CacheRefreshPolicy.VALIDITY_PERIOD);
+    clock.advance(20_001);
+
+    var refresh = new Thread(cache::getValue);
+    refresh.start();
+    assertTrue(reading.await(5, TimeUnit.SECONDS));
+    var waiting = new Thread(cache::update);
+    waiting.start();
+    // The waiting thread sleeps on the running refresh instead of polling for it.
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (waiting.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    assertEquals(Thread.State.WAITING, waiting.getState());
+    release.countDown();
+    refresh.join(5_000);
+    waiting.join(5_000);
+    assertFalse(waiting.isAlive());
+    assertEquals(3, cache.getLastValue());
+  }
+
+  @Test
+  void testRefreshAheadLoadsInBackground() {
+    Queue<Runnable> loads = new ArrayDeque<>();
+    var cache = cache(20, CacheRefreshPolicy.VALIDITY_PERIOD).refreshAhead(0.5, loads::add);
+    clock.advance(9_999);
+    assertEquals(1, cache.getValue());
+    assertTrue(loads.isEmpty());
+
+    clock.advance(1);
+    assertEquals(1, cache.getValue());
+    assertEquals(1, cache.getValue());
+    assertEquals(1, loads.size());
+    assertEquals(1, reads.get());
+
+    loads.remove().run();
+    assertEquals(2, cache.getValue());
+    assertEquals(1_010_000, cache.getTimestamp());
+    assertTrue(loads.isEmpty());
+  }
+
+  @Test
+  void testRefreshAheadKeepsLastGoodValue() {
+    Queue<Runnable> loads = new ArrayDeque<>();
+    var cache = new Cache<>(() -> {
+      if (reads.incrementAndGet() > 1) {
+        throw new IllegalStateException("CAN timeout");
+      }
+      return reads.get();
+    }, 20, clock, CacheRefreshPolicy.VALIDITY_PERIOD).refreshAhead(0.5, loads::add);
+    clock.advance(30_000);
+    assertEquals(1, cache.getValue());
+    loads.remove().run();
+    assertInstanceOf(IllegalStateException.class, cache.getLastFailure());
+    assertTrue(cache.isStale());
+    assertEquals(1, cache.getValue());
+    assertEquals(1, loads.size());
+  }
+
+  @Test
+  void testRefreshAheadOnSharedLoaders() throws Exception {
+    var caller = Thread.currentThread();
+    var cache = new Cache<>(() -> {
+      reads.incrementAndGet();
+      return Thread.currentThread();
+    }, 20, clock, CacheRefreshPolicy.ALWAYS).refreshAhead(0.5);
+    assertSame(caller, cache.getLastValue());
+    cache.getValue();
+    for (int i = 0; i < 500 && cache.getLastValue() == caller; i++) {
+      Thread.sleep(10);
+    }
+    assertNotSame(caller, cache.getLastValue());
+    assertTrue(cache.getLastValue().isDaemon());
+  }
+
+  @Test
+  void testRefreshAheadRejectsInvalidUse() {
+    var cache = cache(20, CacheRefreshPolicy.VALIDITY_PERIOD);
+    assertThrows(IllegalArgumentException.class, () -> cache.refreshAhead(1.5));
+    assertThrows(IllegalArgumentException.class, () -> cache.refreshAhead(Double.NaN));
+    var member = new CacheGroup(20, null, clock, CacheRefreshPolicy.VALIDITY_PERIOD).add(() -> 0);
+    assertThrows(IllegalStateException.class, () -> member.refreshAhead(0.5));
+  }
+}
@@ -0,0 +1,86 @@
+package swervelib.parser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class DoubleCacheTest {
+
+  private final CacheClock.Manual clock = new CacheClock.Manual();
+  private double sensor;
+
+  private DoubleCache cache(long validityPeriod, CacheRefreshPolicy policy) {
+    return new DoubleCache(() -> sensor += 0.5, validityPeriod, clock, policy);
+  }
+
+  @Test
+  void testServedWithinValidityPeriod() {
+    var cache = cache(20, CacheRefreshPolicy.VALIDITY_PERIOD);
+    clock.advance(20_000);
+    assertEquals(0.5, cache.getValue());
+    assertEquals(0, cache.getTimestamp());
+    clock.advance(1);
+    assertEquals(1.0, cache.getValue());
+    assertEquals(20_001, cache.getTimestamp());
+    assertEquals(1.0, cache.getLastValue());
+  }
+
+  @Test
+  void testAlwaysPolicyRefreshesEveryRead() {
+    var cache = cache(3_600_000, CacheRefreshPolicy.ALWAYS);
+    assertEquals(1.0, cache.getValue());
+    assertEquals(1.5, cache.getValue());
+  }
+
+  @Test
+  void testUpdates() {
+    var cache = cache(3_600_000, CacheRefreshPolicy.VALIDITY_PERIOD);
+    assertEquals(1.0, cache.update().getLastValue());
+    assertEquals(-2.0, cache.updateSupplier(() -> -2.0).getValue());
+    clock.advance(10_001);
+    assertFalse(cache.isStale());
+    assertFalse(cache.updateValidityPeriod(10).isStale());
+    clock.advance(10_001);
+    assertTrue(cache.isStale());
+  }
+
+  @Test
+  void testConcurrentUpdatesPublishWholeReads() throws Exception {
+    // Every read is stamped with its own value, so a value never precedes the timestamp read before it.
+    var cache = new DoubleCache(() -> {
+      double read = sensor += 1;
+      clock.set((long) read);
+      return read;
+    }, 3_600_000, clock, CacheRefreshPolicy.VALIDITY_PERIOD);
+    var executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<?>[] writers = new Future<?>[2];
+      for (int i = 0; i < writers.length; i++) {
+        writers[i] = executor.submit(() -> {
+          for (int j = 0; j < 20_000; j++) {
+            cache.update();
+          }
+        });
+      }
+      double last = 0;
+      while (!writers[0].isDone() || !writers[1].isDone()) {
+        long timestamp = cache.getTimestamp();
+        double value = cache.getLastValue();
+        assertTrue(value >= timestamp, value + " read after timestamp " + timestamp);
+        assertTrue(value >= last);
+        assertEquals(Math.rint(value), value);
+        last = value;
+      }
+      for (Future<?> writer : writers) {
+        writer.get(10, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(40_001, cache.getLastValue());
+    assertEquals(40_001, cache.getTimestamp());
+  }
+}
@@ -0,0 +1,151 @@
+package swervelib.parser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import swervelib.parser.json.ModuleJson;
+import swervelib.parser.json.PIDFPropertiesJson;
+import swervelib.parser.json.SwerveDriveJson;
+import swervelib.telemetry.StartupProfiler;
+
+class SwerveConfigArtifactTest {
+
+  /** Copies the bundled {@code swervedrive} test-resource directory into a temp directory. */
+  private File copyTestResourceDir() throws IOException {
+    URL url = getClass().getClassLoader().getResource("swervedrive");
+    assertNotNull(url, "swervedrive test-resource directory not found on classpath");
+    File source = new File(url.getFile());
+    File dir = Files.createTempDirectory("yagsl-artifact-test").toFile();
+    try (var paths = Files.walk(source.toPath())) {
+      for (var path : paths.toList()) {
+        var target = dir.toPath().resolve(source.toPath().relativize(path));
+        if (Files.isDirectory(path)) {
+          Files.createDirectories(target);
+        } else {
+          Files.copy(path, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+      }
+    }
+    return dir;
+  }
+
+  @Test
+  void testMissingArtifactLoadsEmpty() throws IOException {
+    assertTrue(SwerveConfigArtifact.load(copyTestResourceDir()).isEmpty());
+  }
+
+  @Test
+  void testRoundTripMatchesJson() throws IOException {
+    File dir = copyTestResourceDir();
+    SwerveConfigArtifact.compile(dir, new File(dir, SwerveConfigArtifact.FILE_NAME));
+
+    Optional<SwerveConfigArtifact> loaded = SwerveConfigArtifact.load(dir);
+    assertTrue(loaded.isPresent());
+    SwerveConfigArtifact artifact = loaded.get();
+
+    SwerveDriveJson json =
+        SwerveJsonReaders.SWERVE_DRIVE.readValue(new File(dir, "swervedrive.json"));
+    assertEquals(json.gyro.type, artifact.swerveDriveJson.gyro.type);
+    assertEquals(json.gyro.id, artifact.swerveDriveJson.gyro.id);
+    assertEquals(json.gyroAxis, artifact.swerveDriveJson.gyroAxis);
+    assertArrayEquals(json.modules, artifact.swerveDriveJson.modules);
+    assertEquals(json.modules.length, artifact.moduleJsons.length);
+
+    for (int i = 0; i < json.modules.length; i++) {
+      ModuleJson module =
+          SwerveJsonReaders.MODULE.readValue(new File(dir, "modules/" + json.modules[i]));
+      ModuleJson compiled = artifact.moduleJsons[i];
+      assertEquals(module.drive.type, compiled.drive.type);
+      assertEquals(module.drive.id, compiled.drive.id);
+      assertEquals(module.angle.type, compiled.angle.type);
+      assertEquals(module.absoluteEncoderOffset, compiled.absoluteEncoderOffset);
+      assertEquals(module.location.front, compiled.location.front);
+      assertEquals(module.location.left, compiled.location.left);
+      assertEquals(module.gearing.drive.gearRatio, compiled.gearing.drive.gearRatio);
+    }
+
+    PIDFPropertiesJson pidf =
+        SwerveJsonReaders.PIDF_PROPERTIES.readValue(new File(dir, "modules/pidfproperties.json"));
+    assertEquals(pidf.drive.p, artifact.pidfPropertiesJson.drive.p);
+    assertEquals(pidf.angle.d, artifact.pidfPropertiesJson.angle.d);
+  }
+
+  @Test
+  void testChangedJsonMakesArtifactStale() throws IOException {
+    File dir = copyTestResourceDir();
+    SwerveConfigArtifact.compile(dir, new File(dir, SwerveConfigArtifact.FILE_NAME));
+
+    File pidf = new File(dir, "modules/pidfproperties.json");
+    Files.writeString(
+        pidf.toPath(),
+        "{\"drive\":{\"p\":9.0,\"i\":0.0,\"d\":0.0},\"angle\":{\"p\":9.0,\"i\":0.0,\"d\":0.0}}");
+
+    try (var build = StartupProfiler.phase("build")) {
+      assertTrue(SwerveConfigArtifact.load(dir).isEmpty());
+      assertEquals(Map.of(SwerveConfigArtifact.IGNORED_COUNTER, 1), build.getCounts());
+    }
+  }
+
+  @Test
+  void testCorruptArtifactLoadsEmpty() throws IOException {
+    File dir = copyTestResourceDir();
+    File artifact = new File(dir, SwerveConfigArtifact.FILE_NAME);
+    SwerveConfigArtifact.compile(dir, artifact);
+
+    byte[] bytes = Files.readAllBytes(artifact.toPath());
+    bytes[bytes.length - 1] ^= 0x5A;
+    Files.write(artifact.toPath(), bytes);
+
+    assertTrue(SwerveConfigArtifact.load(dir).isEmpty());
+  }
+
+  @Test
+  void testTruncatedArtifactLoadsEmpty() throws IOException {
+    File dir = copyTestResourceDir();
+    File artifact = new File(dir, SwerveConfigArtifact.FILE_NAME);
+    SwerveConfigArtifact.compile(dir, artifact);
+    byte[] bytes = Files.readAllBytes(artifact.toPath());
+
+    // Cut inside the header, inside the source list and inside the payload.
+    for (int length : new int[] {14, 20, bytes.length / 2, bytes.length - 1}) {
+      Files.write(artifact.toPath(), Arrays.copyOf(bytes, length));
+      assertTrue(SwerveConfigArtifact.load(dir).isEmpty(), "truncated to " + length);
+    }
+  }
+
+  @Test
+  void testCorruptSourceLengthLoadsEmpty() throws IOException {
+    File dir = copyTestResourceDir();
+    File artifact = new File(dir, SwerveConfigArtifact.FILE_NAME);
+    SwerveConfigArtifact.compile(dir, artifact);
+    byte[] bytes = Files.readAllBytes(artifact.toPath());
+
+    // The length of the first source name follows the magic, version and source count.
+    ByteBuffer.wrap(bytes).putInt(12, Integer.MAX_VALUE);
+    Files.write(artifact.toPath(), bytes);
+    assertTrue(SwerveConfigArtifact.load(dir).isEmpty());
+
+    ByteBuffer.wrap(bytes).putInt(8, -2);
+    Files.write(artifact.toPath(), bytes);
+    assertTrue(SwerveConfigArtifact.load(dir).isEmpty());
+  }
+
+  @Test
+  void testInvalidSimPidfNotCompiled() throws IOException {
+    File dir = copyTestResourceDir();
+    Files.writeString(new File(dir, "modules/pidfproperties_sim.json").toPath(), "{\"drive\":{\"p\":1.0}}");
+    SwerveConfigurationException e = assertThrows(SwerveConfigurationException.class,
+        () -> SwerveConfigArtifact.compile(dir, new File(dir, SwerveConfigArtifact.FILE_NAME)));
+    assertEquals(List.of("modules/pidfproperties_sim.json: missing angle gains"), e.getProblems());
+  }
+}
@@ -0,0 +1,160 @@
+package swervelib.parser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SwerveConfigValidatorTest {
+
+  private static final String MODULE_TEMPLATE =
+      "{\"drive\":{\"type\":\"%s\",\"id\":%d,\"canbus\":\"\"},"
+          + "\"angle\":{\"type\":\"sparkmax_neo\",\"id\":%d,\"canbus\":\"\"},"
+          + "\"absoluteEncoder\":{\"type\":\"%s\",\"id\":%d,\"canbus\":\"\"},"
+          + "\"inverted\":{\"drive\":false,\"angle\":false},"
+          + "\"location\":{\"front\":12.0,\"left\":12.0}}";
+
+  private File createConfigDir(String physicalProperties, String... modules) throws IOException {
+    File dir = Files.createTempDirectory("yagsl-validator-test").toFile();
+    File modulesDir = new File(dir, "modules");
+    modulesDir.mkdirs();
+
+    StringBuilder moduleNames = new StringBuilder();
+    for (int i = 0; i < modules.length; i++) {
+      moduleNames.append(i == 0 ? "" : ",").append("\"m").append(i).append(".json\"");
+      Files.writeString(new File(modulesDir, "m" + i + ".json").toPath(), modules[i]);
+    }
+    Files.writeString(
+        new File(dir, "swervedrive.json").toPath(),
+        "{\"gyro\":{\"type\":\"pigeon2_can\",\"id\":0,\"canbus\":\"\"},"
+            + "\"modules\":["
+            + moduleNames
+            + "]}");
+    Files.writeString(
+        new File(modulesDir, "pidfproperties.json").toPath(),
+        "{\"drive\":{\"p\":0.5},\"angle\":{\"p\":2.0}}");
+    Files.writeString(new File(modulesDir, "physicalproperties.json").toPath(), physicalProperties);
+    return dir;
+  }
+
+  private static String physical(double driveRatio, double diameter, double angleRatio) {
+    return "{\"gearing\":{\"drive\":{\"gearRatio\":"
+        + driveRatio
+        + ",\"diameter\":"
+        + diameter
+        + "},\"angle\":{\"gearRatio\":"
+        + angleRatio
+        + "}}}";
+  }
+
+  private static String module(String driveType, int driveId, int angleId, String encoderType, int encoderId) {
+    return String.format(MODULE_TEMPLATE, driveType, driveId, angleId, encoderType, encoderId);
+  }
+
+  @Test
+  void testValidConfigurationHasNoProblems() throws IOException {
+    File dir =
+        createConfigDir(
+            physical(6.75, 4, 12.8),
+            module("sparkmax_neo", 1, 2, "cancoder_can", 1),
+            module("sparkflex_vortex", 3, 4, "revthroughbore_attached", 0));
+    assertEquals(List.of(), SwerveConfigValidator.validate(dir));
+  }
+
+  @Test
+  void testMissingFilesAreAllReported() throws IOException {
+    File dir = Files.createTempDirectory("yagsl-validator-empty").toFile();
+    new File(dir, "modules").mkdirs();
+    assertEquals(3, SwerveConfigValidator.validate(dir).size());
+  }
+
+  @Test
+  void testMissingModuleFileReported() throws IOException {
+    File dir = createConfigDir(physical(6.75, 4, 12.8), module("sparkmax_neo", 1, 2, "cancoder_can", 1));
+    new File(dir, "modules/m0.json").delete();
+    List<String> problems = SwerveConfigValidator.validate(dir);
+    assertEquals(1, problems.size());
+    assertTrue(problems.get(0).contains("m0.json"));
+  }
+
+  @Test
+  void testUnknownDeviceTypesReported() throws IOException {
+    File dir =
+        createConfigDir(physical(6.75, 4, 12.8), module("sparkmax_falcon", 1, 2, "mystery_can", 3));
+    List<String> problems = SwerveConfigValidator.validate(dir);
+    assertEquals(2, problems.size(), problems.toString());
+  }
+
+  @Test
+  void testProvidedDeviceTypesAccepted() throws IOException {
+    // "testencoder" is registered by a VendorDeviceProvider of the test classpath.
+    File dir = createConfigDir(physical(6.75, 4, 12.8), module("sparkmax_neo", 1, 2, "testencoder_can", 1));
+    assertEquals(List.of(), SwerveConfigValidator.validate(dir));
+  }
+
+  @Test
+  void testDuplicateCanIdsReported() throws IOException {
+    File dir =
+        createConfigDir(
+            physical(6.75, 4, 12.8),
+            module("sparkmax_neo", 1, 2, "cancoder_can", 1),
+            module("sparkflex_vortex", 2, 4, "cancoder_can", 1));
+    List<String> problems = SwerveConfigValidator.validate(dir);
+    // SPARK MAX and SPARK Flex share IDs, CANcoder 1 is reused, the drive motor 1 and CANcoder 1 do not conflict.
+    assertEquals(2, problems.size(), problems.toString());
+  }
+
+  @Test
+  void testSameCanIdOnDifferentBusesAllowed() throws IOException {
+    File dir =
+        createConfigDir(
+            physical(6.75, 4, 12.8),
+            module("talonfx_krakenx60", 1, 2, "cancoder_can", 3),
+            module("talonfx_krakenx60", 4, 5, "cancoder_can", 6)
+                .replaceFirst("\"id\":4,\"canbus\":\"\"", "\"id\":1,\"canbus\":\"canivore\""));
+    assertEquals(List.of(), SwerveConfigValidator.validate(dir));
+  }
+
+  @Test
+  void testReusedDioChannelReported() throws IOException {
+    File dir =
+        createConfigDir(
+            physical(6.75, 4, 12.8),
+            module("sparkmax_neo", 1, 2, "revthroughbore_dio", 0),
+            module("sparkmax_neo", 3, 4, "revthroughbore_dio", 0));
+    assertEquals(1, SwerveConfigValidator.validate(dir).size());
+  }
+
+  @Test
+  void testZeroGearingReported() throws IOException {
+    File dir = createConfigDir(physical(0, 0, 0), module("sparkmax_neo", 1, 2, "cancoder_can", 1));
+    assertEquals(3, SwerveConfigValidator.validate(dir).size());
+  }
+
+  @Test
+  void testNullGearingReported() throws IOException {
+    File dir =
+        createConfigDir(
+            "{\"gearing\":{\"drive\":null,\"angle\":{\"gearRatio\":12.8}}}",
+            module("sparkmax_neo", 1, 2, "cancoder_can", 1)
+                .replace("\"location\"", "\"gearing\":null,\"location\""));
+    assertEquals(
+        List.of("modules/physicalproperties.json: missing drive gearing", "modules/m0.json: missing gearing"),
+        SwerveConfigValidator.validate(dir));
+  }
+
+  @Test
+  void testParseFailsWithEveryProblem() throws IOException {
+    File dir =
+        createConfigDir(
+            physical(0, 4, 12.8),
+            module("sparkmax_neo", 1, 2, "cancoder_can", 1),
+            module("sparkmax_neo", 1, 2, "cancoder_can", 1));
+    SwerveConfigurationException e =
+        assertThrows(SwerveConfigurationException.class, () -> SwerveParser.parse(dir));
+    assertEquals(5, e.getProblems().size(), e.getProblems().toString());
+  }
+}
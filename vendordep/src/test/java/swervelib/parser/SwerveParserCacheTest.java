@@ -0,0 +1,146 @@
+package swervelib.parser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SwerveParserCacheTest {
+
+  private File copyTestResourceDir() throws IOException {
+    URL url = getClass().getClassLoader().getResource("swervedrive");
+    assertNotNull(url, "swervedrive test-resource directory not found on classpath");
+    File source = new File(url.getFile());
+    File dir = Files.createTempDirectory("yagsl-cache-test").toFile();
+    try (var paths = Files.walk(source.toPath())) {
+      for (var path : paths.toList()) {
+        var target = dir.toPath().resolve(source.toPath().relativize(path));
+        if (Files.isDirectory(path)) {
+          Files.createDirectories(target);
+        } else {
+          Files.copy(path, target);
+        }
+      }
+    }
+    return dir;
+  }
+
+  @BeforeEach
+  void clearCache() {
+    SwerveParserCache.clear();
+  }
+
+  @AfterEach
+  void restoreCache() {
+    SwerveParserCache.setEnabled(true);
+    SwerveParserCache.setMaximumSize(SwerveParserCache.DEFAULT_MAXIMUM_SIZE);
+    SwerveParserCache.clear();
+  }
+
+  @Test
+  void testRepeatedParseServedFromCache() throws IOException {
+    File dir = copyTestResourceDir();
+    long hits = SwerveParserCache.getHits();
+    SwerveParser first = SwerveParser.parse(dir);
+    SwerveParser second = SwerveParser.parse(dir);
+    assertEquals(hits + 1, SwerveParserCache.getHits());
+    assertNotSame(first, second);
+    assertArrayEquals(first.swerveDriveJson.modules, second.swerveDriveJson.modules);
+    assertEquals(first.pidfPropertiesJson.drive.p, second.pidfPropertiesJson.drive.p);
+    assertEquals(first.moduleJsons[0].drive.type, second.moduleJsons[0].drive.type);
+    assertEquals(first.moduleJsons[0].location.front, second.moduleJsons[0].location.front);
+  }
+
+  @Test
+  void testEnabledInSimulation() {
+    assertTrue(SwerveParserCache.isEnabled());
+  }
+
+  @Test
+  void testDisabledCacheParsesEveryTime() throws IOException {
+    SwerveParserCache.setEnabled(false);
+    File dir = copyTestResourceDir();
+    long misses = SwerveParserCache.getMisses();
+    assertNotSame(SwerveParser.parse(dir), SwerveParser.parse(dir));
+    assertEquals(misses, SwerveParserCache.getMisses());
+    assertEquals(0, SwerveParserCache.size());
+  }
+
+  @Test
+  void testTouchedFileParsesAgain() throws IOException {
+    File dir = copyTestResourceDir();
+    SwerveParser.parse(dir);
+    File pidf = new File(dir, "modules/pidfproperties.json");
+    assertTrue(pidf.setLastModified(pidf.lastModified() + 2000));
+    long misses = SwerveParserCache.getMisses();
+    SwerveParser.parse(dir);
+    assertEquals(misses + 1, SwerveParserCache.getMisses());
+  }
+
+  @Test
+  void testMutatedModelsDoNotLeakIntoCache() throws IOException {
+    File dir = copyTestResourceDir();
+    SwerveParser first = SwerveParser.parse(dir);
+    int driveId = first.moduleJsons[0].drive.id;
+    double p = first.pidfPropertiesJson.drive.p;
+    String module = first.swerveDriveJson.modules[0];
+    first.moduleJsons[0].drive.id = driveId + 40;
+    first.moduleJsons[0].drive.canbus = "mutated";
+    first.pidfPropertiesJson.drive.p = p + 1;
+    first.swerveDriveJson.modules[0] = "mutated.json";
+
+    SwerveParser second = SwerveParser.parse(dir);
+    assertEquals(driveId, second.moduleJsons[0].drive.id);
+    assertNotEquals("mutated", second.moduleJsons[0].drive.canbus);
+    assertEquals(p, second.pidfPropertiesJson.drive.p);
+    assertEquals(module, second.swerveDriveJson.modules[0]);
+  }
+
+  @Test
+  void testChangedFileParsesAgain() throws IOException {
+    File dir = copyTestResourceDir();
+    SwerveParser first = SwerveParser.parse(dir);
+    Files.writeString(
+        new File(dir, "modules/pidfproperties.json").toPath(),
+        "{\"drive\":{\"p\":3.0},\"angle\":{\"p\":4.0}}");
+    SwerveParser second = SwerveParser.parse(dir);
+    assertNotSame(first, second);
+    assertEquals(3.0, second.pidfPropertiesJson.drive.p, 0.001);
+  }
+
+  @Test
+  void testFingerprintIgnoresNonJsonFiles() throws IOException {
+    File dir = copyTestResourceDir();
+    String fingerprint = SwerveParserCache.fingerprint(dir);
+    Files.writeString(new File(dir, "notes.txt").toPath(), "not configuration");
+    assertEquals(fingerprint, SwerveParserCache.fingerprint(dir));
+    assertNotEquals(fingerprint, SwerveParserCache.fingerprint(copyTestResourceDir()));
+  }
+
+  @Test
+  void testLeastRecentlyUsedEvicted() throws IOException {
+    SwerveParserCache.setMaximumSize(1);
+    File dir = copyTestResourceDir();
+    SwerveParser first = SwerveParser.parse(dir);
+    File other = copyTestResourceDir();
+    Files.writeString(
+        new File(other, "modules/pidfproperties.json").toPath(),
+        "{\"drive\":{\"p\":3.0},\"angle\":{\"p\":4.0}}");
+    SwerveParser.parse(other);
+    assertEquals(1, SwerveParserCache.size());
+    assertNotSame(first, SwerveParser.parse(dir));
+  }
+
+  @Test
+  void testZeroSizeDisablesCache() throws IOException {
+    SwerveParserCache.setMaximumSize(0);
+    File dir = copyTestResourceDir();
+    assertNotSame(SwerveParser.parse(dir), SwerveParser.parse(dir));
+    assertEquals(0, SwerveParserCache.size());
+  }
+}
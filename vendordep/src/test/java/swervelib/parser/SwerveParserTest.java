@@ -6,7 +6,13 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.Test;
+import swervelib.parser.json.DeviceJson.VENDOR;
 
 class SwerveParserTest {
 
@@ -111,44 +117,44 @@ class SwerveParserTest {
   @Test
   void testParsesSwervedriveNotNull() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
+    SwerveParser parser = SwerveParser.parse(dir);
     ;
-    assertNotNull(SwerveParser.swerveDriveJson);
+    assertNotNull(parser.swerveDriveJson);
   }
 
   @Test
   void testParsesSwervedriveGyroType() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
-    assertEquals("pigeon2_can", SwerveParser.swerveDriveJson.gyro.type);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertEquals("pigeon2_can", parser.swerveDriveJson.gyro.type);
   }
 
   @Test
   void testParsesSwervedriveGyroId() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
-    assertEquals(0, SwerveParser.swerveDriveJson.gyro.id);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertEquals(0, parser.swerveDriveJson.gyro.id);
   }
 
   @Test
   void testParsesSwervedriveGyroAxis() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
-    assertEquals("yaw", SwerveParser.swerveDriveJson.gyroAxis);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertEquals("yaw", parser.swerveDriveJson.gyroAxis);
   }
 
   @Test
   void testParsesSwervedriveGyroInvert() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
-    assertFalse(SwerveParser.swerveDriveJson.gyroInvert);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertFalse(parser.swerveDriveJson.gyroInvert);
   }
 
   @Test
   void testParsesSwervedriveModulesLength() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
-    assertEquals(4, SwerveParser.swerveDriveJson.modules.length);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertEquals(4, parser.swerveDriveJson.modules.length);
   }
 
   // -- testParsesPidfProperties ---------------------------------------------
@@ -156,43 +162,43 @@ class SwerveParserTest {
   @Test
   void testParsesPidfPropertiesNotNull() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
-    assertNotNull(SwerveParser.pidfPropertiesJson);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertNotNull(parser.pidfPropertiesJson);
   }
 
   @Test
   void testParsesPidfDriveP() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
-    assertEquals(0.5, SwerveParser.pidfPropertiesJson.drive.p, 0.001);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertEquals(0.5, parser.pidfPropertiesJson.drive.p, 0.001);
   }
 
   @Test
   void testParsesPidfDriveI() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
-    assertEquals(0.0, SwerveParser.pidfPropertiesJson.drive.i, 0.001);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertEquals(0.0, parser.pidfPropertiesJson.drive.i, 0.001);
   }
 
   @Test
   void testParsesPidfDriveD() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
-    assertEquals(0.01, SwerveParser.pidfPropertiesJson.drive.d, 0.001);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertEquals(0.01, parser.pidfPropertiesJson.drive.d, 0.001);
   }
 
   @Test
   void testParsesPidfAngleP() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
-    assertEquals(2.0, SwerveParser.pidfPropertiesJson.angle.p, 0.001);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertEquals(2.0, parser.pidfPropertiesJson.angle.p, 0.001);
   }
 
   @Test
   void testParsesPidfAngleD() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
-    assertEquals(0.1, SwerveParser.pidfPropertiesJson.angle.d, 0.001);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertEquals(0.1, parser.pidfPropertiesJson.angle.d, 0.001);
   }
 
   // -- testParsesPhysicalProperties ----------------------------------------
@@ -200,43 +206,43 @@ class SwerveParserTest {
   @Test
   void testParsesPhysicalPropertiesNotNull() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
-    assertNotNull(SwerveParser.physicalPropertiesJson);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertNotNull(parser.physicalPropertiesJson);
   }
 
   @Test
   void testParsesPhysicalDriveGearRatio() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
-    assertEquals(6.75, SwerveParser.physicalPropertiesJson.gearing.drive.gearRatio, 0.001);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertEquals(6.75, parser.physicalPropertiesJson.gearing.drive.gearRatio, 0.001);
   }
 
   @Test
   void testParsesPhysicalDriveDiameter() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
-    assertEquals(4.0, SwerveParser.physicalPropertiesJson.gearing.drive.diameter, 0.001);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertEquals(4.0, parser.physicalPropertiesJson.gearing.drive.diameter, 0.001);
   }
 
   @Test
   void testParsesPhysicalAngleGearRatio() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
-    assertEquals(12.8, SwerveParser.physicalPropertiesJson.gearing.angle.gearRatio, 0.001);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertEquals(12.8, parser.physicalPropertiesJson.gearing.angle.gearRatio, 0.001);
   }
 
   @Test
   void testParsesPhysicalStatorCurrentLimitDrive() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
-    assertEquals(40, SwerveParser.physicalPropertiesJson.statorCurrentLimit.drive);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertEquals(40, parser.physicalPropertiesJson.statorCurrentLimit.drive);
   }
 
   @Test
   void testParsesPhysicalStatorCurrentLimitAngle() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
-    assertEquals(20, SwerveParser.physicalPropertiesJson.statorCurrentLimit.angle);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertEquals(20, parser.physicalPropertiesJson.statorCurrentLimit.angle);
   }
 
   // -- testParsesAllModules -------------------------------------------------
@@ -244,64 +250,64 @@ class SwerveParserTest {
   @Test
   void testParsesAllModulesNotNull() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
-    assertNotNull(SwerveParser.moduleJsons);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertNotNull(parser.moduleJsons);
   }
 
   @Test
   void testParsesAllModulesLength() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
-    assertEquals(4, SwerveParser.moduleJsons.length);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertEquals(4, parser.moduleJsons.length);
   }
 
   @Test
   void testParsesFlModuleDriveType() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
-    assertEquals("sparkmax_neo", SwerveParser.moduleJsons[0].drive.type);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertEquals("sparkmax_neo", parser.moduleJsons[0].drive.type);
   }
 
   @Test
   void testParsesFlModuleDriveId() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
-    assertEquals(1, SwerveParser.moduleJsons[0].drive.id);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertEquals(1, parser.moduleJsons[0].drive.id);
   }
 
   @Test
   void testParsesFlModuleLocationFront() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
-    assertEquals(12.0, SwerveParser.moduleJsons[0].location.front, 0.001);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertEquals(12.0, parser.moduleJsons[0].location.front, 0.001);
   }
 
   @Test
   void testParsesFlModuleLocationLeft() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
-    assertEquals(12.0, SwerveParser.moduleJsons[0].location.left, 0.001);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertEquals(12.0, parser.moduleJsons[0].location.left, 0.001);
   }
 
   @Test
   void testParsesBrModuleDriveId() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
-    assertEquals(7, SwerveParser.moduleJsons[3].drive.id);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertEquals(7, parser.moduleJsons[3].drive.id);
   }
 
   @Test
   void testParsesBrModuleLocationFront() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
-    assertEquals(-12.0, SwerveParser.moduleJsons[3].location.front, 0.001);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertEquals(-12.0, parser.moduleJsons[3].location.front, 0.001);
   }
 
   @Test
   void testParsesBrModuleLocationLeft() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
-    assertEquals(-12.0, SwerveParser.moduleJsons[3].location.left, 0.001);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertEquals(-12.0, parser.moduleJsons[3].location.left, 0.001);
   }
 
   // -- testModuleDefaultValues ----------------------------------------------
@@ -309,15 +315,15 @@ class SwerveParserTest {
   @Test
   void testModuleDefaultAbsoluteEncoderInverted() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
-    assertFalse(SwerveParser.moduleJsons[0].absoluteEncoderInverted);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertFalse(parser.moduleJsons[0].absoluteEncoderInverted);
   }
 
   @Test
   void testModuleDefaultAbsoluteEncoderGearRatio() throws IOException {
     File dir = createTestConfigDir();
-    SwerveParser.parse(dir);
-    assertEquals(1.0, SwerveParser.moduleJsons[0].absoluteEncoderGearRatio, 0.001);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertEquals(1.0, parser.moduleJsons[0].absoluteEncoderGearRatio, 0.001);
   }
 
   // -- testMissingDirectoryThrowsException ---------------------------------
@@ -326,7 +332,7 @@ class SwerveParserTest {
   void testMissingDirectoryThrowsException() {
     File nonExistentDir =
         new File(System.getProperty("java.io.tmpdir"), "nonexistent-yagsl-test-dir");
-    assertThrows(AssertionError.class, () -> SwerveParser.parse(nonExistentDir));
+    assertThrows(SwerveConfigurationException.class, () -> SwerveParser.parse(nonExistentDir));
   }
 
   // -- testMissingSwervedriveJsonThrowsException ----------------------------
@@ -344,7 +350,7 @@ class SwerveParserTest {
         "{\"gearing\":{\"drive\":{\"gearRatio\":6.75,\"diameter\":4.0},"
             + "\"angle\":{\"gearRatio\":12.8}},"
             + "\"statorCurrentLimit\":{\"drive\":40,\"angle\":20}}");
-    assertThrows(AssertionError.class, () -> SwerveParser.parse(dir));
+    assertThrows(SwerveConfigurationException.class, () -> SwerveParser.parse(dir));
   }
 
   // -- testGyroAxisValues ---------------------------------------------------
@@ -352,65 +358,118 @@ class SwerveParserTest {
   @Test
   void testGyroAxisYawParsed() throws IOException {
     File dir = createTestConfigDirWithGyroAxis("yaw");
-    SwerveParser.parse(dir);
-    assertEquals("yaw", SwerveParser.swerveDriveJson.gyroAxis);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertEquals("yaw", parser.swerveDriveJson.gyroAxis);
   }
 
   @Test
   void testGyroAxisPitchParsed() throws IOException {
     File dir = createTestConfigDirWithGyroAxis("pitch");
-    SwerveParser.parse(dir);
-    assertEquals("pitch", SwerveParser.swerveDriveJson.gyroAxis);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertEquals("pitch", parser.swerveDriveJson.gyroAxis);
   }
 
   @Test
   void testGyroAxisRollParsed() throws IOException {
     File dir = createTestConfigDirWithGyroAxis("roll");
-    SwerveParser.parse(dir);
-    assertEquals("roll", SwerveParser.swerveDriveJson.gyroAxis);
+    SwerveParser parser = SwerveParser.parse(dir);
+    assertEquals("roll", parser.swerveDriveJson.gyroAxis);
   }
 
   // -- Resource-based sanity: parse the bundled test config -----------------
 
   @Test
   void testResourceDirSwerveDriveNotNull() throws IOException {
-    SwerveParser.parse(testResourceDir());
-    assertNotNull(SwerveParser.swerveDriveJson);
+    SwerveParser parser = SwerveParser.parse(testResourceDir());
+    assertNotNull(parser.swerveDriveJson);
   }
 
   @Test
   void testResourceDirPidfNotNull() throws IOException {
-    SwerveParser.parse(testResourceDir());
-    assertNotNull(SwerveParser.pidfPropertiesJson);
+    SwerveParser parser = SwerveParser.parse(testResourceDir());
+    assertNotNull(parser.pidfPropertiesJson);
   }
 
   @Test
   void testResourceDirPhysicalPropertiesNotNull() throws IOException {
-    SwerveParser.parse(testResourceDir());
-    assertNotNull(SwerveParser.physicalPropertiesJson);
+    SwerveParser parser = SwerveParser.parse(testResourceDir());
+    assertNotNull(parser.physicalPropertiesJson);
   }
 
   @Test
   void testResourceDirModuleJsonsNotNull() throws IOException {
-    SwerveParser.parse(testResourceDir());
-    assertNotNull(SwerveParser.moduleJsons);
+    SwerveParser parser = SwerveParser.parse(testResourceDir());
+    assertNotNull(parser.moduleJsons);
   }
 
   @Test
   void testResourceDirModuleCount() throws IOException {
-    SwerveParser.parse(testResourceDir());
-    assertEquals(4, SwerveParser.moduleJsons.length);
+    SwerveParser parser = SwerveParser.parse(testResourceDir());
+    assertEquals(4, parser.moduleJsons.length);
   }
 
   @Test
   void testResourceDirFlDriveId() throws IOException {
-    SwerveParser.parse(testResourceDir());
-    assertEquals(1, SwerveParser.moduleJsons[0].drive.id);
+    SwerveParser parser = SwerveParser.parse(testResourceDir());
+    assertEquals(1, parser.moduleJsons[0].drive.id);
   }
 
   @Test
   void testResourceDirBrDriveId() throws IOException {
-    SwerveParser.parse(testResourceDir());
-    assertEquals(7, SwerveParser.moduleJsons[3].drive.id);
+    SwerveParser parser = SwerveParser.parse(testResourceDir());
+    assertEquals(7, parser.moduleJsons[3].drive.id);
+  }
+
+  // -- Instance-scoped parse results ----------------------------------------
+
+  @Test
+  void testParsersDoNotShareState() throws IOException {
+    SwerveParser resource = SwerveParser.parse(testResourceDir());
+    SwerveParser roll = SwerveParser.parse(createTestConfigDirWithGyroAxis("roll"));
+    assertEquals(4, resource.moduleJsons.length);
+    assertEquals(1, roll.moduleJsons.length);
+    assertEquals("roll", roll.swerveDriveJson.gyroAxis);
+    assertNotEquals("roll", resource.swerveDriveJson.gyroAxis);
+  }
+
+  @Test
+  void testModuleIndexLookup() throws IOException {
+    SwerveParser parser = SwerveParser.parse(createTestConfigDir());
+    assertEquals(0, parser.getModuleIndex("fl.json"));
+    assertEquals(3, parser.getModuleIndex("br.json"));
+    assertEquals(-1, parser.getModuleIndex("missing.json"));
+  }
+
+  @Test
+  void testOnlyUncachedAbsoluteEncodersJoinTheModuleGroup() {
+    assertTrue(SwerveParser.isCachedByVendor(VENDOR.CTRE));
+    assertTrue(SwerveParser.isCachedByVendor(VENDOR.THRIFTYBOT));
+    assertFalse(SwerveParser.isCachedByVendor(VENDOR.REV));
+    assertFalse(SwerveParser.isCachedByVendor(VENDOR.REDUX));
+    assertFalse(SwerveParser.isCachedByVendor(VENDOR.ANDYMARK));
+  }
+
+  @Test
+  void testConcurrentParsesKeepTheirOwnConfiguration() throws Exception {
+    String[] axes = {"yaw", "pitch", "roll"};
+    File[] dirs = new File[axes.length];
+    for (int i = 0; i < axes.length; i++) {
+      dirs[i] = createTestConfigDirWithGyroAxis(axes[i]);
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(axes.length);
+    try {
+      List<Future<SwerveParser>> futures = new ArrayList<>();
+      for (int round = 0; round < 20; round++) {
+        for (File dir : dirs) {
+          futures.add(executor.submit(() -> SwerveParser.parse(dir)));
+        }
+      }
+      for (int i = 0; i < futures.size(); i++) {
+        assertEquals(axes[i % axes.length], futures.get(i).get().swerveDriveJson.gyroAxis);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
   }
 }
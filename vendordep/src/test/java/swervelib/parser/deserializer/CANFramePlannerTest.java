@@ -0,0 +1,128 @@
+package swervelib.parser.deserializer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+import swervelib.parser.deserializer.CANFramePlanner.Signal;
+import swervelib.parser.json.DeviceJson;
+import swervelib.telemetry.SwerveDriveTelemetry.TelemetryVerbosity;
+
+class CANFramePlannerTest {
+
+  private static DeviceJson device(String type, int id, String canbus) {
+    var device = new DeviceJson();
+    device.setType(type);
+    device.id = id;
+    device.canbus = canbus;
+    return device;
+  }
+
+  private static Signal[] control(int count) {
+    Signal[] signals = new Signal[count];
+    Arrays.fill(signals, Signal.MOTOR_POSITION);
+    return signals;
+  }
+
+  @Test
+  void testTelemetryPeriodFollowsVerbosity() {
+    var high = new CANFramePlanner(TelemetryVerbosity.HIGH).add("", Signal.GYRO_ANGLE, Signal.GYRO_RATE).plan();
+    assertEquals(20, high.getPeriodMillis("rio", Signal.GYRO_ANGLE));
+    assertEquals(20, high.getPeriodMillis("rio", Signal.GYRO_RATE));
+
+    var info = new CANFramePlanner(TelemetryVerbosity.INFO).add("", Signal.GYRO_ANGLE, Signal.GYRO_RATE).plan();
+    assertEquals(100, info.getPeriodMillis("", Signal.GYRO_RATE));
+
+    var low = new CANFramePlanner(TelemetryVerbosity.LOW).add("", Signal.GYRO_ANGLE, Signal.GYRO_RATE).plan();
+    assertEquals(20, low.getPeriodMillis("", Signal.GYRO_ANGLE));
+    assertEquals(250, low.getPeriodMillis("", Signal.GYRO_RATE));
+  }
+
+  @Test
+  void testTelemetryStretchedOnCrowdedBus() {
+    // 70 control frames at 50 Hz leave 250 of the 3750 frames per second for 10 telemetry signals.
+    var plan = new CANFramePlanner(TelemetryVerbosity.HIGH)
+        .add("canivore", control(70))
+        .add("canivore", Signal.ABSOLUTE_VELOCITY, Signal.ABSOLUTE_VELOCITY, Signal.ABSOLUTE_VELOCITY,
+            Signal.ABSOLUTE_VELOCITY, Signal.ABSOLUTE_VELOCITY, Signal.ABSOLUTE_VELOCITY, Signal.ABSOLUTE_VELOCITY,
+            Signal.ABSOLUTE_VELOCITY, Signal.ABSOLUTE_VELOCITY, Signal.ABSOLUTE_VELOCITY)
+        .plan();
+    assertEquals(20, plan.getPeriodMillis("canivore", Signal.MOTOR_POSITION));
+    assertEquals(40, plan.getPeriodMillis("canivore", Signal.ABSOLUTE_VELOCITY));
+    assertEquals(0.6, plan.getPredictedUtilization("canivore"), 1e-6);
+    assertFalse(plan.isOverBudget("canivore"));
+  }
+
+  @Test
+  void testControlFramesOverBudget() {
+    var plan = new CANFramePlanner(TelemetryVerbosity.HIGH)
+        .add("", control(80))
+        .add("", Signal.ABSOLUTE_VELOCITY)
+        .plan();
+    assertEquals(20, plan.getPeriodMillis("", Signal.MOTOR_POSITION));
+    assertEquals(250, plan.getPeriodMillis("", Signal.ABSOLUTE_VELOCITY));
+    assertTrue(plan.isOverBudget(""));
+    assertTrue(plan.toString().contains("over 60% target"));
+  }
+
+  @Test
+  void testDevicesPlannedOnTheirBus() {
+    var drive = device("talonfx_krakenx60", 1, "canivore");
+    var angle = device("sparkmax_neo", 2, "");
+    var plan = new CANFramePlanner(TelemetryVerbosity.MACHINE)
+        .add(drive, null)
+        .add(angle, null)
+        .add(device("revthroughbore_attached", 0, "canivore"), angle)
+        .add(device("pigeon2_can", 13, "canivore"), null)
+        .add(device("revthroughbore_dio", 0, ""), null)
+        .plan();
+    assertEquals(Set.of("canivore", "rio"), plan.getBuses());
+    // Angle motor and its attached encoder on the roboRIO bus, drive motor and gyro on the CANivore: 3 control,
+    // 1 telemetry and 1 diagnostic frame each.
+    double framesPerSecond = 3 / 0.02 + 1 / 0.02 + 1 / 0.25;
+    assertEquals(framesPerSecond * 160 / 1e6, plan.getPredictedUtilization("rio"), 1e-6);
+    assertEquals(framesPerSecond * 160 / 1e6, plan.getPredictedUtilization("canivore"), 1e-6);
+  }
+
+  @Test
+  void testVendorDefaultForUnplannedBus() {
+    var plan = new CANFramePlanner(TelemetryVerbosity.LOW).add("rio", Signal.ABSOLUTE_VELOCITY).plan();
+    assertEquals(250, plan.getPeriodMillis("", Signal.ABSOLUTE_VELOCITY, 20));
+    assertEquals(10, plan.getPeriodMillis("canivore", Signal.ABSOLUTE_VELOCITY, 10));
+  }
+
+  @Test
+  void testPlanPerBatch() throws Exception {
+    var slow = new CANFramePlanner(TelemetryVerbosity.HIGH, 0.05, 0.6).add("", Signal.GYRO_ANGLE).plan();
+    var fast = new CANFramePlanner(TelemetryVerbosity.HIGH).add("", Signal.GYRO_ANGLE).plan();
+    assertNull(DeviceConfigBatch.getFramePlan());
+    var executor = Executors.newSingleThreadExecutor();
+    try (var outer = DeviceConfigBatch.open(DeviceConfigBatch.DEFAULT_TIMEOUT, slow)) {
+      try (var inner = DeviceConfigBatch.open(DeviceConfigBatch.DEFAULT_TIMEOUT, fast)) {
+        assertSame(fast, executor.submit(DeviceConfigBatch.wrap(DeviceConfigBatch::getFramePlan)).get());
+        assertNull(executor.submit(DeviceConfigBatch::getFramePlan).get());
+      }
+      assertSame(slow, DeviceConfigBatch.getFramePlan());
+      assertEquals(50, DeviceConfigBatch.getFramePlan().getPeriodMillis("", Signal.GYRO_ANGLE));
+    } finally {
+      executor.shutdownNow();
+    }
+    assertNull(DeviceConfigBatch.getFramePlan());
+  }
+
+  @Test
+  void testTargetUtilizationOfThePlanner() {
+    var plan = new CANFramePlanner(TelemetryVerbosity.HIGH, 0.02, 0.9)
+        .add("", control(80))
+        .add("", Signal.ABSOLUTE_VELOCITY)
+        .plan();
+    assertEquals(0.9, plan.getTargetUtilization());
+    assertFalse(plan.isOverBudget(""));
+    assertEquals(20, plan.getPeriodMillis("", Signal.ABSOLUTE_VELOCITY));
+    assertThrows(IllegalArgumentException.class, () -> new CANFramePlanner(TelemetryVerbosity.HIGH, 0, 0.6));
+    assertThrows(IllegalArgumentException.class, () -> new CANFramePlanner(TelemetryVerbosity.HIGH, 0.02, 1.5));
+    assertThrows(IllegalArgumentException.class, () -> new CANFramePlanner(TelemetryVerbosity.HIGH, 0.02, Double.NaN));
+  }
+}
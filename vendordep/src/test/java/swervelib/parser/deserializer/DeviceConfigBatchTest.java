@@ -0,0 +1,122 @@
+package swervelib.parser.deserializer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+class DeviceConfigBatchTest {
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Test
+  void testAppliedInlineWithoutBatch() {
+    var applied = new AtomicBoolean();
+    DeviceConfigBatch.apply("CANcoder #1", () -> applied.set(true));
+    assertTrue(applied.get());
+  }
+
+  @Test
+  void testDevicesConfiguredConcurrently() {
+    long start = System.nanoTime();
+    try (var batch = DeviceConfigBatch.open(Duration.ofSeconds(5))) {
+      for (int i = 0; i < 8; i++) {
+        DeviceConfigBatch.apply("CANcoder #" + i, () -> sleep(200));
+      }
+      assertEquals(8, batch.size());
+      batch.await();
+    }
+    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    assertTrue(millis < 1000, "8 devices of 200 ms took " + millis + " ms");
+  }
+
+  @Test
+  void testSameDeviceAppliedInOrder() {
+    List<Integer> order = new CopyOnWriteArrayList<>();
+    try (var batch = DeviceConfigBatch.open()) {
+      DeviceConfigBatch.apply("SPARK #3", () -> {
+        sleep(50);
+        order.add(1);
+      });
+      DeviceConfigBatch.apply("SPARK #3", () -> order.add(2));
+      assertEquals(1, batch.size());
+      batch.await();
+    }
+    assertEquals(List.of(1, 2), order);
+  }
+
+  @Test
+  void testLayersOfOneDeviceShareItsQueue() {
+    // A vendor class and the wrapper around the same motor controller name it independently.
+    Object spark = new StringBuilder("SparkMax");
+    assertEquals("StringBuilder #5", DeviceConfigBatch.deviceName(spark, 5));
+    List<String> order = new CopyOnWriteArrayList<>();
+    try (var batch = DeviceConfigBatch.open()) {
+      DeviceConfigBatch.apply(DeviceConfigBatch.deviceName(spark, 5), () -> {
+        sleep(50);
+        order.add("attached encoder");
+      });
+      DeviceConfigBatch.apply(DeviceConfigBatch.deviceName(spark, 5), () -> order.add("wrapper"));
+      DeviceConfigBatch.apply(DeviceConfigBatch.deviceName(spark, 6), () -> order.add("other"));
+      assertEquals(2, batch.size());
+      batch.await();
+    }
+    assertEquals(List.of("other", "attached encoder", "wrapper"), order);
+  }
+
+  @Test
+  void testFailuresReportedTogether() {
+    try (var batch = DeviceConfigBatch.open(Duration.ofMillis(200))) {
+      DeviceConfigBatch.apply("CANcoder #1", () -> {
+        throw new IllegalStateException("apply failed");
+      });
+      DeviceConfigBatch.apply("CANcoder #2", () -> {});
+      DeviceConfigBatch.apply("Canandmag #3", () -> sleep(5000));
+      var e = assertThrows(DeviceConfigurationException.class, batch::await);
+      assertEquals(2, e.getFailures().size());
+      assertTrue(e.getFailures().get(0).startsWith("CANcoder #1"));
+      assertTrue(e.getFailures().get(1).contains("timed out"));
+      assertEquals(1, e.getSuppressed().length);
+    }
+  }
+
+  @Test
+  void testWrapQueuesFromOtherThreads() throws Exception {
+    var executor = Executors.newSingleThreadExecutor();
+    var started = new CountDownLatch(1);
+    try (var batch = DeviceConfigBatch.open()) {
+      executor.submit(DeviceConfigBatch.wrap(() -> {
+        DeviceConfigBatch.apply("CANcoder #4", () -> {
+          sleep(50);
+          started.countDown();
+        });
+        return null;
+      })).get();
+      assertEquals(1, batch.size());
+      batch.await();
+      assertEquals(0, started.getCount());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testCloseRestoresInlineApply() {
+    DeviceConfigBatch.open().close();
+    var applied = new AtomicBoolean();
+    DeviceConfigBatch.apply("CANcoder #5", () -> applied.set(true));
+    assertTrue(applied.get());
+  }
+}
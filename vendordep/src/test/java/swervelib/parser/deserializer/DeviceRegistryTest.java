@@ -0,0 +1,214 @@
+package swervelib.parser.deserializer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import swervelib.parser.deserializer.DeviceRegistry.Kind;
+import swervelib.parser.json.DeviceJson.VENDOR;
+
+class DeviceRegistryTest {
+
+  /** Closeable stand-in for a vendor device. */
+  static class FakeDevice implements AutoCloseable {
+    boolean closed;
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+
+  @Test
+  void testOneObjectPerDevice() {
+    var registry = new DeviceRegistry();
+    var created = new AtomicInteger();
+    FakeDevice first = registry.acquire(VENDOR.CTRE, "", 3, Kind.GYRO, FakeDevice.class, () -> {
+      created.incrementAndGet();
+      return new FakeDevice();
+    });
+    FakeDevice second = registry.acquire(VENDOR.CTRE, null, 3, Kind.GYRO, FakeDevice.class, FakeDevice::new);
+    assertSame(first, second);
+    assertEquals(1, created.get());
+    assertEquals(2, registry.getReferenceCount(VENDOR.CTRE, "", 3, Kind.GYRO));
+  }
+
+  @Test
+  void testKeyIncludesVendorBusAndKind() {
+    var registry = new DeviceRegistry();
+    Object device = registry.acquire(VENDOR.CTRE, "rio", 1, Kind.MOTOR_CONTROLLER, Object.class, Object::new);
+    assertNotSame(device,
+        registry.acquire(VENDOR.CTRE, "canivore", 1, Kind.MOTOR_CONTROLLER, Object.class, Object::new));
+    assertNotSame(device, registry.acquire(VENDOR.CTRE, "rio", 1, Kind.ABSOLUTE_ENCODER, Object.class, Object::new));
+    assertNotSame(device, registry.acquire(VENDOR.REV, "rio", 1, Kind.MOTOR_CONTROLLER, Object.class, Object::new));
+    assertEquals(4, registry.size());
+  }
+
+  @Test
+  void testReleaseClosesWithLastReference() {
+    var registry = new DeviceRegistry();
+    FakeDevice device = registry.acquire(VENDOR.REDUX, "", 5, Kind.ABSOLUTE_ENCODER, FakeDevice.class, FakeDevice::new);
+    registry.acquire(VENDOR.REDUX, "", 5, Kind.ABSOLUTE_ENCODER, FakeDevice.class, FakeDevice::new);
+
+    assertFalse(registry.release(VENDOR.REDUX, "", 5, Kind.ABSOLUTE_ENCODER));
+    assertFalse(device.closed);
+    assertTrue(registry.release(VENDOR.REDUX, "", 5, Kind.ABSOLUTE_ENCODER));
+    assertTrue(device.closed);
+    assertEquals(0, registry.size());
+    assertFalse(registry.release(VENDOR.REDUX, "", 5, Kind.ABSOLUTE_ENCODER));
+
+    FakeDevice reopened =
+        registry.acquire(VENDOR.REDUX, "", 5, Kind.ABSOLUTE_ENCODER, FakeDevice.class, FakeDevice::new);
+    assertNotSame(device, reopened);
+  }
+
+  @Test
+  void testCloseClosesEverything() {
+    var registry = new DeviceRegistry();
+    FakeDevice a = registry.acquire(VENDOR.REV, "", 1, Kind.MOTOR_CONTROLLER, FakeDevice.class, FakeDevice::new);
+    FakeDevice b = registry.acquire(VENDOR.REV, "", 2, Kind.MOTOR_CONTROLLER, FakeDevice.class, FakeDevice::new);
+    registry.close();
+    assertTrue(a.closed);
+    assertTrue(b.closed);
+    assertEquals(0, registry.size());
+  }
+
+  @Test
+  void testCloseListenersSeeClosedDevices() {
+    var registry = new DeviceRegistry();
+    FakeDevice device = registry.acquire(VENDOR.CTRE, "", 7, Kind.GYRO, FakeDevice.class, FakeDevice::new);
+    List<Object> closed = new CopyOnWriteArrayList<>();
+    DeviceRegistry.addCloseListener(closed::add);
+
+    assertFalse(closed.contains(device));
+    registry.release(VENDOR.CTRE, "", 7, Kind.GYRO);
+    assertTrue(closed.contains(device));
+  }
+
+  @Test
+  void testTypeMismatchRejected() {
+    var registry = new DeviceRegistry();
+    registry.acquire(VENDOR.CTRE, "", 7, Kind.MOTOR_CONTROLLER, FakeDevice.class, FakeDevice::new);
+    assertThrows(IllegalStateException.class,
+        () -> registry.acquire(VENDOR.CTRE, "", 7, Kind.MOTOR_CONTROLLER, String.class, () -> "other"));
+    assertEquals(1, registry.getReferenceCount(VENDOR.CTRE, "", 7, Kind.MOTOR_CONTROLLER));
+  }
+
+  @Test
+  void testFailedFactoryIsNotRegistered() {
+    var registry = new DeviceRegistry();
+    assertThrows(IllegalArgumentException.class,
+        () -> registry.acquire(VENDOR.CTRE, "", 9, Kind.GYRO, Object.class, () -> {
+          throw new IllegalArgumentException("no device");
+        }));
+    assertEquals(0, registry.size());
+    assertNotNull(registry.acquire(VENDOR.CTRE, "", 9, Kind.GYRO, Object.class, Object::new));
+  }
+
+  @Test
+  void testConcurrentAcquireCreatesOnce() throws Exception {
+    var registry = new DeviceRegistry();
+    var created = new AtomicInteger();
+    var start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Object>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        results.add(executor.submit(() -> {
+          start.await();
+          return registry.acquire(VENDOR.REV, "", 11, Kind.MOTOR_CONTROLLER, Object.class, () -> {
+            created.incrementAndGet();
+            return new Object();
+          });
+        }));
+      }
+      start.countDown();
+      Object first = results.get(0).get();
+      for (Future<Object> result : results) {
+        assertSame(first, result.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(1, created.get());
+    assertEquals(8, registry.getReferenceCount(VENDOR.REV, "", 11, Kind.MOTOR_CONTROLLER));
+  }
+
+  @Test
+  void testSecondDriveOnSameIdsFailsUntilFirstIsClosed() {
+    var registry = new DeviceRegistry();
+    var firstDrive = new Object();
+    FakeDevice first;
+    try (var scope = registry.open("SwerveDrive 1")) {
+      first = registry.acquire(VENDOR.REV, "", 1, Kind.MOTOR_CONTROLLER, FakeDevice.class, FakeDevice::new);
+      registry.acquire(VENDOR.REV, "", 1, Kind.MOTOR_CONTROLLER, FakeDevice.class, FakeDevice::new);
+      scope.keep(firstDrive);
+    }
+    assertEquals(2, registry.getReferenceCount(VENDOR.REV, "", 1, Kind.MOTOR_CONTROLLER));
+
+    try (var scope = registry.open("SwerveDrive 2")) {
+      var e = assertThrows(IllegalStateException.class,
+          () -> registry.acquire(VENDOR.REV, "", 1, Kind.MOTOR_CONTROLLER, FakeDevice.class, FakeDevice::new));
+      assertTrue(e.getMessage().contains("SwerveDrive 1"), e.getMessage());
+      assertEquals(0, scope.size());
+    }
+    assertFalse(first.closed);
+
+    assertTrue(registry.releaseAll(firstDrive));
+    assertTrue(first.closed);
+    assertEquals(0, registry.size());
+    assertFalse(registry.releaseAll(firstDrive));
+
+    try (var scope = registry.open("SwerveDrive 3")) {
+      FakeDevice second =
+          registry.acquire(VENDOR.REV, "", 1, Kind.MOTOR_CONTROLLER, FakeDevice.class, FakeDevice::new);
+      assertNotSame(first, second);
+      scope.keep(new Object());
+    }
+  }
+
+  @Test
+  void testClosedScopeReleasesDevices() {
+    var registry = new DeviceRegistry();
+    FakeDevice device;
+    FakeDevice shared = registry.acquire(VENDOR.CTRE, "", 2, Kind.GYRO, FakeDevice.class, FakeDevice::new);
+    try (var scope = registry.open("SwerveDrive 1")) {
+      device = registry.acquire(VENDOR.CTRE, "", 1, Kind.ABSOLUTE_ENCODER, FakeDevice.class, FakeDevice::new);
+      registry.acquire(VENDOR.CTRE, "", 2, Kind.GYRO, FakeDevice.class, FakeDevice::new);
+    }
+    assertTrue(device.closed);
+    assertFalse(shared.closed);
+    assertEquals(1, registry.getReferenceCount(VENDOR.CTRE, "", 2, Kind.GYRO));
+
+    // The released scope no longer owns the gyro still used outside of it.
+    try (var scope = registry.open("SwerveDrive 2")) {
+      assertSame(shared, registry.acquire(VENDOR.CTRE, "", 2, Kind.GYRO, FakeDevice.class, FakeDevice::new));
+    }
+  }
+
+  @Test
+  void testWrappedTaskAcquiresInScope() throws Exception {
+    var registry = new DeviceRegistry();
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try (var scope = registry.open("SwerveDrive 1")) {
+      executor.submit(DeviceRegistry.wrap(() -> registry.acquire(VENDOR.REV, "", 4, Kind.MOTOR_CONTROLLER,
+          FakeDevice.class, FakeDevice::new))).get();
+      assertEquals(1, scope.size());
+      // Tasks that were not wrapped acquire outside of the scope.
+      executor.submit(() -> registry.acquire(VENDOR.REV, "", 5, Kind.MOTOR_CONTROLLER, FakeDevice.class,
+          FakeDevice::new)).get();
+      assertEquals(1, scope.size());
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(0, registry.getReferenceCount(VENDOR.REV, "", 4, Kind.MOTOR_CONTROLLER));
+    assertEquals(1, registry.getReferenceCount(VENDOR.REV, "", 5, Kind.MOTOR_CONTROLLER));
+  }
+}
@@ -0,0 +1,84 @@
+package swervelib.parser.deserializer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import swervelib.telemetry.StartupProfiler;
+
+class PersistedConfigFingerprintsTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void testUnchangedConfigSkippedAcrossBoots() {
+    File file = directory.resolve("yagsl/persisted-configs.properties").toFile();
+    var firstBoot = new PersistedConfigFingerprints(file);
+    assertTrue(firstBoot.needsPersist("SparkMax #3", "DUTYCYCLE inverted=false"));
+    firstBoot.persisted("SparkMax #3", "DUTYCYCLE inverted=false");
+    assertTrue(file.isFile());
+
+    var secondBoot = new PersistedConfigFingerprints(file);
+    try (var build = StartupProfiler.phase("Create SwerveDrive")) {
+      try (var module = StartupProfiler.phase("Create module")) {
+        assertFalse(secondBoot.needsPersist("SparkMax #3", "DUTYCYCLE inverted=false"));
+        assertTrue(secondBoot.needsPersist("SparkMax #4", "DUTYCYCLE inverted=false"));
+      }
+      assertEquals(Map.of(PersistedConfigFingerprints.WRITES_COUNTER, 1,
+          PersistedConfigFingerprints.SKIPPED_COUNTER, 1), build.getCounts());
+    }
+  }
+
+  @Test
+  void testWritesCountedPerBuild() {
+    var fingerprints = new PersistedConfigFingerprints(directory.resolve("persisted.properties").toFile());
+    try (var build = StartupProfiler.phase("Create SwerveDrive")) {
+      fingerprints.needsPersist("SparkMax #1", "DUTYCYCLE inverted=false");
+      fingerprints.persisted("SparkMax #1", "DUTYCYCLE inverted=false");
+      assertEquals(Map.of(PersistedConfigFingerprints.WRITES_COUNTER, 1), build.getCounts());
+    }
+    try (var build = StartupProfiler.phase("Create SwerveDrive")) {
+      fingerprints.needsPersist("SparkMax #1", "DUTYCYCLE inverted=false");
+      assertEquals(Map.of(PersistedConfigFingerprints.SKIPPED_COUNTER, 1), build.getCounts());
+      assertTrue(build.format().contains(PersistedConfigFingerprints.SKIPPED_COUNTER));
+    }
+  }
+
+  @Test
+  void testChangedConfigPersisted() {
+    File file = directory.resolve("persisted.properties").toFile();
+    var fingerprints = new PersistedConfigFingerprints(file);
+    fingerprints.persisted("SparkFlex #7", "ANALOG inverted=false");
+    assertTrue(fingerprints.needsPersist("SparkFlex #7", "ANALOG inverted=true"));
+    fingerprints.persisted("SparkFlex #7", "ANALOG inverted=true");
+    assertFalse(new PersistedConfigFingerprints(file).needsPersist("SparkFlex #7", "ANALOG inverted=true"));
+  }
+
+  @Test
+  void testUnpersistedWriteIsNotRemembered() {
+    var fingerprints = new PersistedConfigFingerprints(directory.resolve("persisted.properties").toFile());
+    assertTrue(fingerprints.needsPersist("SparkMax #1", "DUTYCYCLE inverted=false"));
+    // Persisting failed, so the next boot must try again.
+    assertTrue(fingerprints.needsPersist("SparkMax #1", "DUTYCYCLE inverted=false"));
+  }
+
+  @Test
+  void testMemoryOnlyWithoutFile() {
+    var fingerprints = new PersistedConfigFingerprints(null);
+    fingerprints.persisted("SparkMax #2", "ANALOG5V inverted=false");
+    assertFalse(fingerprints.needsPersist("SparkMax #2", "ANALOG5V inverted=false"));
+  }
+
+  @Test
+  void testUnreadableFileTreatedAsEmpty() throws Exception {
+    Path file = directory.resolve("persisted.properties");
+    Files.writeString(file, "SparkMax\\u00zz #1=broken");
+    var fingerprints = new PersistedConfigFingerprints(file.toFile());
+    assertTrue(fingerprints.needsPersist("SparkMax #1", "DUTYCYCLE inverted=false"));
+  }
+}
@@ -0,0 +1,47 @@
+package swervelib.parser.deserializer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import swervelib.parser.deserializer.ReflectionsManager.VENDOR;
+
+class ReflectionsManagerTest {
+
+  static class PackagePrivateWrapper {
+    final int id;
+
+    PackagePrivateWrapper(int id) {
+      this.id = id;
+    }
+  }
+
+  @Test
+  void testCreateCachesConstructors() throws ReflectiveOperationException {
+    StringBuilder first = ReflectionsManager.create(VENDOR.REV, "java.lang.StringBuilder",
+        new Class<?>[] { String.class }, new Object[] { "yagsl" });
+    StringBuilder second = ReflectionsManager.create(VENDOR.REV, "java.lang.StringBuilder",
+        new Class<?>[] { String.class }, new Object[] { "swerve" });
+
+    assertEquals("yagsl", first.toString());
+    assertEquals("swerve", second.toString());
+    assertSame(
+        ReflectionsManager.constructorFor("java.lang.StringBuilder", new Class<?>[] { String.class }),
+        ReflectionsManager.constructorFor("java.lang.StringBuilder", new Class<?>[] { String.class }));
+    assertNotSame(
+        ReflectionsManager.constructorFor("java.lang.StringBuilder", new Class<?>[] { String.class }),
+        ReflectionsManager.constructorFor("java.lang.StringBuilder", new Class<?>[] { int.class }));
+  }
+
+  @Test
+  void testCreateFindsDeclaredConstructors() {
+    PackagePrivateWrapper wrapper = ReflectionsManager.create(VENDOR.REV, PackagePrivateWrapper.class.getName(),
+        new Class<?>[] { int.class }, new Object[] { 7 });
+    assertEquals(7, wrapper.id);
+  }
+
+  @Test
+  void testCreateMissingClassThrows() {
+    assertThrows(RuntimeException.class, () -> ReflectionsManager.create(VENDOR.REV, "swervelib.Missing",
+        new Class<?>[0], new Object[0]));
+  }
+}
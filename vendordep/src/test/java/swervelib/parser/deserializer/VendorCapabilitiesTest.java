@@ -0,0 +1,33 @@
+package swervelib.parser.deserializer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import swervelib.parser.deserializer.ReflectionsManager.VENDOR;
+
+class VendorCapabilitiesTest {
+
+  @Test
+  void testSnapshotIsProbedOnce() {
+    assertSame(VendorCapabilities.get(), VendorCapabilities.get());
+    assertTrue(VendorCapabilities.get().getProbeMilliseconds() >= 0);
+  }
+
+  @Test
+  void testSnapshotMatchesTheClasspath() {
+    var capabilities = VendorCapabilities.get();
+    for (VENDOR vendor : VENDOR.values()) {
+      boolean expected = VendorDeviceProviders.classExists(vendor.getClassToCheck());
+      assertEquals(expected, capabilities.isAvailable(vendor), vendor.name());
+      assertEquals(expected, vendor.exists(), vendor.name());
+      assertEquals(expected, capabilities.getAvailable().contains(vendor), vendor.name());
+    }
+  }
+
+  @Test
+  void testAvailableVendorsAreACopy() {
+    var before = VendorCapabilities.get().getAvailable();
+    VendorCapabilities.get().getAvailable().clear();
+    assertEquals(before, VendorCapabilities.get().getAvailable());
+  }
+}
@@ -0,0 +1,119 @@
+package swervelib.parser.deserializer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.wpi.first.math.Pair;
+import edu.wpi.first.units.measure.Angle;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import swervelib.parser.json.DeviceJson;
+import swervelib.parser.json.SwerveDriveJson.GyroAxis;
+
+class VendorDeviceProvidersTest {
+
+  public static class TestProvider implements VendorDeviceProvider {
+
+    @Override
+    public String getName() {
+      return "Test";
+    }
+
+    @Override
+    public Set<String> getAbsoluteEncoderTypes() {
+      return Set.of("testencoder");
+    }
+
+    @Override
+    public Pair<Supplier<Angle>, Object> createAbsoluteEncoder(String type, int canid, String canbus,
+        boolean inverted) {
+      return Pair.of(() -> null, getName() + " " + type + " #" + canid);
+    }
+
+    @Override
+    public Set<String> getGyroTypes() {
+      return Set.of("testgyro");
+    }
+
+    @Override
+    public Pair<Supplier<Angle>, Object> createGyro(String type, int canid, String canbus, GyroAxis axis,
+        boolean inverted) {
+      return Pair.of(() -> null, getName() + " " + type + " " + axis);
+    }
+  }
+
+  public static class DuplicateProvider extends TestProvider {
+
+    @Override
+    public String getName() {
+      return "Duplicate";
+    }
+  }
+
+  public static class UnavailableProvider extends TestProvider {
+
+    @Override
+    public String getName() {
+      return "Unavailable";
+    }
+
+    @Override
+    public boolean isAvailable() {
+      return false;
+    }
+
+    @Override
+    public Set<String> getAbsoluteEncoderTypes() {
+      return Set.of("unavailableencoder");
+    }
+  }
+
+  private static DeviceJson deviceWithType(String type, int id) {
+    DeviceJson device = new DeviceJson();
+    device.type = type;
+    device.id = id;
+    return device;
+  }
+
+  @Test
+  void testProvidersAreDiscovered() {
+    assertTrue(VendorDeviceProviders.getProviders().stream().anyMatch(TestProvider.class::isInstance));
+    assertEquals("Test", VendorDeviceProviders.requireAbsoluteEncoderProvider("testencoder").getName());
+    assertEquals("Test", VendorDeviceProviders.requireGyroProvider("TESTGYRO").getName());
+  }
+
+  @Test
+  void testFirstProviderKeepsItsTypes() {
+    assertTrue(VendorDeviceProviders.getProviders().stream().anyMatch(DuplicateProvider.class::isInstance));
+    assertEquals("Test", VendorDeviceProviders.requireAbsoluteEncoderProvider("testencoder").getName());
+  }
+
+  @Test
+  void testUnavailableProvidersAreNotRegistered() {
+    assertTrue(VendorDeviceProviders.getProviders().stream().noneMatch(UnavailableProvider.class::isInstance));
+    assertTrue(VendorDeviceProviders.getAbsoluteEncoderProvider("unavailableencoder").isEmpty());
+  }
+
+  @Test
+  void testMissingProviderNamesTheType() {
+    var e = assertThrows(IllegalArgumentException.class,
+        () -> VendorDeviceProviders.requireMotorControllerProvider("warpdrive"));
+    assertTrue(e.getMessage().contains("\"warpdrive\""));
+    assertTrue(e.getMessage().contains("vendordep"));
+  }
+
+  @Test
+  void testBuiltInProvidersAreRegistered() {
+    assertEquals("CTRE", VendorDeviceProviders.requireMotorControllerProvider("talonfx").getName());
+    assertEquals("CTRE", VendorDeviceProviders.requireAbsoluteEncoderProvider("cancoder").getName());
+    assertEquals("CTRE", VendorDeviceProviders.requireGyroProvider("pigeon2").getName());
+  }
+
+  @Test
+  void testDeviceJsonCreatesProvidedTypes() {
+    assertEquals("Test testencoder #7",
+        deviceWithType("testencoder_can", 7).getAbsoluteEncoder(null, null, false).getSecond());
+    assertEquals("Test testgyro YAW",
+        deviceWithType("testgyro_can", 1).getGyro(GyroAxis.YAW, false).getSecond());
+  }
+}
@@ -0,0 +1,136 @@
+package swervelib.parser.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import swervelib.parser.deserializer.ReflectionsManager.AbsoluteEncoder;
+import swervelib.parser.deserializer.ReflectionsManager.Gyro;
+import swervelib.parser.deserializer.ReflectionsManager.VendorMotorController;
+import swervelib.parser.json.DeviceDescriptor.Connection;
+import swervelib.parser.json.DeviceDescriptor.Kind;
+import swervelib.parser.json.DeviceDescriptor.Model;
+import swervelib.parser.json.DeviceDescriptor.MotorModel;
+import swervelib.parser.json.DeviceJson.VENDOR;
+
+class DeviceDescriptorTest {
+
+  @Test
+  void motorControllerParsed() {
+    DeviceDescriptor d = DeviceDescriptor.parse("SparkFlex_Vortex");
+    assertTrue(d.isValid());
+    assertEquals(Model.SPARKFLEX, d.getModel());
+    assertEquals(Kind.MOTOR_CONTROLLER, d.getKind());
+    assertEquals(MotorModel.VORTEX, d.getMotor());
+    assertEquals(VendorMotorController.SPARKFLEX, d.getMotorController());
+    assertEquals(VENDOR.REV, d.getVendor(VENDOR.UNKNOWN));
+    assertEquals("sparkflex", d.getDevice());
+  }
+
+  @Test
+  void unknownMotorRejected() {
+    DeviceDescriptor d = DeviceDescriptor.parse("talonfx_falcon");
+    assertEquals(Kind.MOTOR_CONTROLLER, d.getKind());
+    assertNull(d.getMotor());
+    assertFalse(d.isValid());
+    assertTrue(d.getProblem().contains("falcon"));
+  }
+
+  @Test
+  void encoderConnections() {
+    DeviceDescriptor can = DeviceDescriptor.parse("cancoder_can");
+    assertTrue(can.isValid());
+    assertEquals(AbsoluteEncoder.CANCODER, can.getAbsoluteEncoder());
+    assertEquals(VENDOR.CTRE, can.getVendor(VENDOR.UNKNOWN));
+
+    DeviceDescriptor attached = DeviceDescriptor.parse("revthroughbore_attached");
+    assertTrue(attached.isValid());
+    assertEquals("dutycycle", attached.getAttachType());
+    assertEquals(VENDOR.THRIFTYBOT, attached.getVendor(VENDOR.THRIFTYBOT));
+
+    DeviceDescriptor dio = DeviceDescriptor.parse("anyencoder_dio");
+    assertTrue(dio.isValid());
+    assertEquals(Kind.ABSOLUTE_ENCODER, dio.getKind());
+    assertEquals(Connection.DIO, dio.getConnection());
+    assertEquals(VENDOR.SMARTIO, dio.getVendor(VENDOR.UNKNOWN));
+
+    assertEquals("analog5v", DeviceDescriptor.parse("analog5v_attached").getAttachType());
+  }
+
+  /**
+   * Vendors that changed from the string matching in DeviceJson: encoders wired to the roboRIO are SMARTIO whatever
+   * the device, generic attached encoders follow the motor controller, and the spline encoder is REV.
+   */
+  @ParameterizedTest
+  @CsvSource({"cancoder_dio, SMARTIO", "cancoder_analog, SMARTIO", "revthroughbore_analog, SMARTIO",
+      "srxmag_dio, SMARTIO", "thrifty_dio, SMARTIO", "splineencoder_dio, SMARTIO", "dutycycle_dio, SMARTIO",
+      "analog_analog, SMARTIO", "thriftybot10pin_dio, SMARTIO", "dutycycle_attached, THRIFTYBOT",
+      "analog_attached, THRIFTYBOT", "analog5v_attached, THRIFTYBOT", "splineencoder_can, REV"})
+  void encoderVendors(String type, VENDOR vendor) {
+    DeviceDescriptor d = DeviceDescriptor.parse(type);
+    assertTrue(d.isValid(), type);
+    assertEquals(vendor, d.getVendor(VENDOR.THRIFTYBOT), type);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"revthroughbore_can", "cancoder_attached", "thrifty_attached", "pigeon2_dio",
+      "cancoder_usb", "mystery_can"})
+  void unsupportedCombinationsRejected(String type) {
+    DeviceDescriptor d = DeviceDescriptor.parse(type);
+    assertTrue(d.isWellFormed());
+    assertFalse(d.isValid(), type);
+    assertNotNull(d.getProblem());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"sparkmax", "a_b_c", "_"})
+  void malformedTypes(String type) {
+    DeviceDescriptor d = DeviceDescriptor.parse(type);
+    assertFalse(d.isWellFormed());
+    assertFalse(d.isValid());
+    assertEquals(Kind.UNKNOWN, d.getKind());
+    assertEquals(VendorMotorController.NONE, d.getMotorController());
+  }
+
+  @Test
+  void gyrosParsed() {
+    assertEquals(Gyro.PIGEON2, DeviceDescriptor.parse("pigeon2_can").getGyro());
+    assertEquals(Kind.CUSTOM, DeviceDescriptor.parse("CUSTOM").getKind());
+    assertTrue(DeviceDescriptor.parse("custom").isValid());
+
+    DeviceDescriptor systemCore = DeviceDescriptor.parse("systemcore_internal");
+    assertTrue(systemCore.isValid());
+    assertEquals(Kind.GYRO, systemCore.getKind());
+    assertNull(systemCore.getGyro());
+    assertEquals(VENDOR.LIMELIGHT, systemCore.getVendor(VENDOR.UNKNOWN));
+  }
+
+  @Test
+  void missingTypeRejected() {
+    DeviceDescriptor d = DeviceDescriptor.parse(null);
+    assertFalse(d.isValid());
+    assertFalse(d.isWellFormed());
+  }
+
+  @Test
+  void parsedOnceWhenDeserialized() throws Exception {
+    DeviceJson device = new ObjectMapper().readValue("{\"type\":\"nova_neo\",\"id\":3}", DeviceJson.class);
+    DeviceDescriptor d = device.getDescriptor();
+    assertEquals(Model.NOVA, d.getModel());
+    assertSame(d, device.getDescriptor());
+
+    device.type = new String("nova_neo");
+    assertSame(d, device.getDescriptor());
+
+    device.type = "sparkmax_neo550";
+    assertEquals(MotorModel.NEO550, device.getDescriptor().getMotor());
+  }
+}
@@ -0,0 +1,117 @@
+package swervelib.telemetry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class StartupProfilerTest {
+
+  @AfterEach
+  void enable() {
+    StartupProfiler.setEnabled(true);
+  }
+
+  @Test
+  void testPhasesNestOnTheSameThread() {
+    StartupProfiler.Phase root;
+    try (var phase = StartupProfiler.phase("root")) {
+      root = phase;
+      try (var child = StartupProfiler.phase("child")) {
+        try (var grandChild = StartupProfiler.phase("grandchild")) {
+          assertFalse(grandChild.isRoot());
+        }
+      }
+      try (var sibling = StartupProfiler.phase("sibling")) {
+        assertFalse(sibling.isRoot());
+      }
+    }
+    assertTrue(root.isRoot());
+    assertEquals(2, root.getChildren().size());
+    assertEquals("child", root.getChildren().get(0).getName());
+    assertEquals("grandchild", root.getChildren().get(0).getChildren().get(0).getName());
+    assertEquals("sibling", root.getChildren().get(1).getName());
+    assertTrue(root.getMilliseconds() >= root.getChildren().get(0).getMilliseconds());
+
+    try (var next = StartupProfiler.phase("next")) {
+      assertTrue(next.isRoot(), "Closing the root must clear the thread's open phase");
+    }
+  }
+
+  @Test
+  void testWrappedTasksReportToTheCallingPhase() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "profiler-test"));
+    try (var root = StartupProfiler.phase("root")) {
+      executor.submit(StartupProfiler.wrap(() -> {
+        try (var worker = StartupProfiler.phase("worker")) {
+          return worker.getName();
+        }
+      })).get();
+      executor.submit(() -> {
+        try (var unwrapped = StartupProfiler.phase("unwrapped")) {
+          assertTrue(unwrapped.isRoot());
+        }
+      }).get();
+
+      assertEquals(1, root.getChildren().size());
+      assertEquals("worker", root.getChildren().get(0).getName());
+      assertTrue(root.format().contains("[profiler-test]"));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testCountsReportToTheRootOfTheBuild() throws Exception {
+    StartupProfiler.count("outside");
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try (var root = StartupProfiler.phase("root")) {
+      try (var child = StartupProfiler.phase("child")) {
+        StartupProfiler.count("writes");
+        assertTrue(child.getCounts().isEmpty());
+      }
+      executor.submit(StartupProfiler.wrap(() -> {
+        StartupProfiler.count("writes");
+        return null;
+      })).get();
+      StartupProfiler.count("skipped");
+      assertEquals(2, root.getCounts().get("writes"));
+      assertEquals(1, root.getCounts().get("skipped"));
+      assertFalse(root.getCounts().containsKey("outside"));
+      assertTrue(root.format().contains("writes"));
+    } finally {
+      executor.shutdownNow();
+    }
+    try (var next = StartupProfiler.phase("next")) {
+      assertTrue(next.getCounts().isEmpty());
+    }
+  }
+
+  @Test
+  void testAdoptedPhaseIsPartOfTheTree() {
+    StartupProfiler.Phase parse;
+    try (var phase = StartupProfiler.phase("parse")) {
+      parse = phase;
+    }
+    try (var root = StartupProfiler.phase("build")) {
+      root.adopt(parse);
+      root.adopt(null);
+      assertEquals(1, root.getChildren().size());
+      assertTrue(root.format().contains("  parse"));
+    }
+  }
+
+  @Test
+  void testDisabledPhasesAreNotRecorded() {
+    StartupProfiler.setEnabled(false);
+    try (var root = StartupProfiler.phase("root")) {
+      try (var child = StartupProfiler.phase("child")) {
+        assertFalse(child.isRoot());
+      }
+      assertFalse(root.isRoot());
+      assertTrue(root.getChildren().isEmpty());
+    }
+  }
+}
@@ -1,46 +1,194 @@
 package swervelib.parser;
 
-import edu.wpi.first.wpilibj.RobotBase;
-import edu.wpi.first.wpilibj.RobotController;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 /**
  * Cache for frequently requested data.
+ *
+ * <p>The cache may be shared between threads, e.g. a closed-loop {@link edu.wpi.first.wpilibj.Notifier} thread and the
+ * main loop. Each value is published together with its timestamp, and when several threads find the cache stale only
+ * one of them calls the supplier while the others return the last value instead of waiting for the read.
+ *
+ * <p>Caches created by a {@link CacheGroup} share its timestamp and validity period and are refreshed with every other
+ * member of the group.
+ *
+ * <p>Time comes from a {@link CacheClock} and reads refresh according to a {@link CacheRefreshPolicy}, both taken from
+ * {@link #setDefaultClock(CacheClock)} and {@link #setDefaultRefreshPolicy(CacheRefreshPolicy)} unless given to the
+ * constructor. Simulation and unit tests can use {@link CacheClock#SYSTEM} or a {@link CacheClock.Manual} clock with
+ * {@link CacheRefreshPolicy#VALIDITY_PERIOD} to get the cache hits of a robot without the HAL.
+ *
+ * <p>With {@link #refreshAhead(double)} the supplier is called on a background thread once the value has lived a
+ * fraction of its validity period, so reads never wait for a CAN read or a blocking vendor call. Reads return the last
+ * good value and {@link #isStale()} tells whether it outlived its validity period because the loads fail or lag.
  */
 public class Cache<T>
 {
 
   /**
-   * Cached value.
+   * Clock of caches created without one.
    */
-  private T           value;
+  private static volatile CacheClock         defaultClock         = CacheClock.FPGA;
   /**
-   * Supplier for cached value.
+   * Refresh policy of caches created without one.
+   */
+  private static volatile CacheRefreshPolicy defaultRefreshPolicy = CacheRefreshPolicy.ALWAYS_IN_SIMULATION;
+  /**
+   * Shared daemon threads of the refresh-ahead loads of caches without their own {@link Executor}.
    */
-  private Supplier<T> supplier;
+  private static final    Executor           LOADERS              = createLoaders();
+
   /**
-   * Timestamp in microseconds.
+   * Cached value and its timestamp.
    */
-  private long        timestamp;
+  private volatile        Sample<T>          sample;
+  /**
+   * Supplier for cached value.
+   */
+  private volatile        Supplier<T>        supplier;
   /**
    * Validity period in microseconds.
    */
-  private long        validityPeriod;
+  private volatile        long               validityPeriod;
+  /**
+   * Permit of the thread calling the supplier, taken without waiting by reads and waited for by {@link #update()}.
+   */
+  private final           Semaphore          refreshing           = new Semaphore(1);
+  /**
+   * Whether the value was invalidated since the last refresh started, see {@link #invalidate()}.
+   */
+  private volatile        boolean            invalidated;
+  /**
+   * Group refreshing the cache, null for a standalone cache.
+   */
+  private final           CacheGroup         group;
+  /**
+   * Time source, null for a member of a {@link CacheGroup}.
+   */
+  private final           CacheClock         clock;
+  /**
+   * Whether every read refreshes the value, resolved from the {@link CacheRefreshPolicy}.
+   */
+  private final           boolean            alwaysRefresh;
+  /**
+   * Executor of the refresh-ahead loads, null to refresh on the reading thread.
+   */
+  private volatile        Executor           loader;
+  /**
+   * Fraction of the validity period after which a refresh-ahead load starts.
+   */
+  private volatile        double             refreshAheadFraction;
+  /**
+   * Failure of the last refresh-ahead load, null once a load succeeds.
+   */
+  private volatile        RuntimeException   lastFailure;
 
   /**
-   * Cache for arbitrary values.
+   * Cache for arbitrary values, using the default clock and refresh policy.
    *
    * @param val            Value to cache.
    * @param validityPeriod Validity period in milliseconds.
    */
   public Cache(Supplier<T> val, long validityPeriod)
+  {
+    this(val, validityPeriod, defaultClock, defaultRefreshPolicy);
+  }
+
+  /**
+   * Cache for arbitrary values.
+   *
+   * @param val            Value to cache.
+   * @param validityPeriod Validity period in milliseconds.
+   * @param clock          Time source.
+   * @param policy         When reads refresh the value.
+   */
+  public Cache(Supplier<T> val, long validityPeriod, CacheClock clock, CacheRefreshPolicy policy)
   {
     supplier = val;
-    value = supplier.get();
-    timestamp = RobotController.getFPGATime();
+    group = null;
+    this.clock = clock;
+    alwaysRefresh = policy.refreshesOnEveryRead();
+    sample = new Sample<>(supplier.get(), clock.getMicros());
     this.validityPeriod = validityPeriod * 1000L;
   }
 
+  /**
+   * Cache refreshed by a {@link CacheGroup}.
+   *
+   * @param val       Value to cache.
+   * @param group     Group refreshing the cache.
+   * @param timestamp Time of the group in microseconds.
+   */
+  Cache(Supplier<T> val, CacheGroup group, long timestamp)
+  {
+    supplier = val;
+    this.group = group;
+    clock = null;
+    alwaysRefresh = false;
+    sample = new Sample<>(supplier.get(), timestamp);
+  }
+
+  /**
+   * Create the shared refresh-ahead loaders.
+   *
+   * @return Executor with two daemon threads.
+   */
+  private static Executor createLoaders()
+  {
+    AtomicInteger threadCount = new AtomicInteger();
+    return Executors.newFixedThreadPool(2, runnable -> {
+      Thread thread = new Thread(runnable, "YAGSL Cache Loader " + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Set the clock of caches created without one, e.g. {@link CacheClock#SYSTEM} before creating the drive in a
+   * simulation without the HAL.
+   *
+   * @param clock Default time source.
+   */
+  public static void setDefaultClock(CacheClock clock)
+  {
+    defaultClock = clock;
+  }
+
+  /**
+   * Get the clock of caches created without one.
+   *
+   * @return Default time source, {@link CacheClock#FPGA} unless changed.
+   */
+  public static CacheClock getDefaultClock()
+  {
+    return defaultClock;
+  }
+
+  /**
+   * Set the refresh policy of caches created without one, e.g. {@link CacheRefreshPolicy#VALIDITY_PERIOD} to profile a
+   * simulation with the cache hits of a robot.
+   *
+   * @param policy Default refresh policy.
+   */
+  public static void setDefaultRefreshPolicy(CacheRefreshPolicy policy)
+  {
+    defaultRefreshPolicy = policy;
+  }
+
+  /**
+   * Get the refresh policy of caches created without one.
+   *
+   * @return Default refresh policy, {@link CacheRefreshPolicy#ALWAYS_IN_SIMULATION} unless changed.
+   */
+  public static CacheRefreshPolicy getDefaultRefreshPolicy()
+  {
+    return defaultRefreshPolicy;
+  }
+
   /**
    * Return whether the cache is stale.
    *
@@ -48,21 +196,100 @@ public class Cache<T>
    */
   public boolean isStale()
   {
-    return (RobotController.getFPGATime() - timestamp) > validityPeriod;
+    if (group != null)
+    {
+      return group.isStale();
+    }
+    return invalidated || (clock.getMicros() - sample.timestamp) > validityPeriod;
+  }
+
+  /**
+   * Mark the value stale without reading it, so the next read refreshes it once, e.g. after the supplier started
+   * covering more data. Unlike {@link #update()} this neither calls the supplier nor waits for a running refresh; an
+   * invalidation during a running refresh makes the next read refresh again.
+   *
+   * @return {@link Cache} for chaining.
+   * @throws IllegalStateException if the cache is refreshed by a {@link CacheGroup}.
+   */
+  public Cache<T> invalidate()
+  {
+    if (group != null)
+    {
+      throw new IllegalStateException("A member of a CacheGroup is refreshed by its group");
+    }
+    invalidated = true;
+    return this;
   }
 
   /**
-   * Update the cache value and timestamp.
+   * Update the cache value and timestamp, waiting for a refresh already running on another thread. A member of a
+   * {@link CacheGroup} updates the whole group.
    *
    * @return {@link Cache} used.
    */
   public Cache<T> update()
   {
-    this.value = supplier.get();
-    this.timestamp = RobotController.getFPGATime();
+    if (group != null)
+    {
+      group.update();
+      return this;
+    }
+    // The running refresh may wait for a CAN read, park until it releases the permit instead of polling.
+    refreshing.acquireUninterruptibly();
+    refresh();
     return this;
   }
 
+  /**
+   * Call the supplier and publish its value, the caller must hold the {@link #refreshing} permit.
+   */
+  private void refresh()
+  {
+    boolean wasInvalidated = invalidated;
+    invalidated = false;
+    try
+    {
+      T value = supplier.get();
+      sample = new Sample<>(value, clock.getMicros());
+    } catch (RuntimeException e)
+    {
+      if (wasInvalidated)
+      {
+        invalidated = true;
+      }
+      throw e;
+    } finally
+    {
+      refreshing.release();
+    }
+  }
+
+  /**
+   * Refresh on a loader thread, keeping the last value if the supplier fails. The caller must hold the
+   * {@link #refreshing} permit.
+   */
+  private void loadAhead()
+  {
+    try
+    {
+      refresh();
+      lastFailure = null;
+    } catch (RuntimeException e)
+    {
+      lastFailure = e;
+    }
+  }
+
+  /**
+   * Call the supplier and publish its value with the timestamp of the refresh of a {@link CacheGroup}.
+   *
+   * @param timestamp Time of the group in microseconds.
+   */
+  void load(long timestamp)
+  {
+    sample = new Sample<>(supplier.get(), timestamp);
+  }
+
   /**
    * Update the supplier to a new source. Updates the value and timestamp as well.
    *
@@ -77,30 +304,147 @@ public class Cache<T>
   }
 
   /**
-   * Update the validity period for the cached value, also updates the value.
+   * Update the validity period for the cached value, also updates the value. The validity period of a member of a
+   * {@link CacheGroup} is the one of the group, so every member is changed.
    *
    * @param validityPeriod The new validity period in milliseconds.
    * @return {@link Cache} for chaining.
    */
   public Cache<T> updateValidityPeriod(long validityPeriod)
   {
+    if (group != null)
+    {
+      group.updateValidityPeriod(validityPeriod);
+      return this;
+    }
     this.validityPeriod = validityPeriod * 1000L;
     update();
     return this;
   }
 
   /**
-   * Get the most up to date cached value.
+   * Refresh the value ahead of time on the shared loader threads.
+   *
+   * @param fraction Fraction of the validity period after which a load starts, e.g. 0.5 to reload a 20 ms value every
+   *                 10 ms.
+   * @return {@link Cache} for chaining.
+   */
+  public Cache<T> refreshAhead(double fraction)
+  {
+    return refreshAhead(fraction, LOADERS);
+  }
+
+  /**
+   * Refresh the value ahead of time on the given executor. {@link #update()}, {@link #updateSupplier(Supplier)} and
+   * {@link #updateValidityPeriod(long)} still refresh on the calling thread.
+   *
+   * @param fraction Fraction of the validity period after which a load starts, between 0 and 1.
+   * @param executor Executor calling the supplier.
+   * @return {@link Cache} for chaining.
+   * @throws IllegalArgumentException if the fraction is not between 0 and 1.
+   * @throws IllegalStateException    if the cache is refreshed by a {@link CacheGroup}.
+   */
+  public Cache<T> refreshAhead(double fraction, Executor executor)
+  {
+    if (!(fraction >= 0 && fraction <= 1))
+    {
+      throw new IllegalArgumentException("Refresh-ahead fraction " + fraction + " is not between 0 and 1");
+    }
+    if (group != null)
+    {
+      throw new IllegalStateException("A member of a CacheGroup is refreshed by its group");
+    }
+    refreshAheadFraction = fraction;
+    loader = executor;
+    return this;
+  }
+
+  /**
+   * Get the failure of the last refresh-ahead load.
+   *
+   * @return Exception thrown by the supplier, null if the last load succeeded.
+   */
+  public RuntimeException getLastFailure()
+  {
+    return lastFailure;
+  }
+
+  /**
+   * Start a refresh-ahead load if the value is old enough and no load is running.
+   *
+   * @param executor Executor calling the supplier.
+   */
+  private void loadAheadIfDue(Executor executor)
+  {
+    if ((alwaysRefresh || invalidated ||
+         clock.getMicros() - sample.timestamp >= validityPeriod * refreshAheadFraction) &&
+        refreshing.tryAcquire())
+    {
+      try
+      {
+        executor.execute(this::loadAhead);
+      } catch (RejectedExecutionException e)
+      {
+        refreshing.release();
+        lastFailure = e;
+      }
+    }
+  }
+
+  /**
+   * Get the most up to date cached value. If another thread is already refreshing the stale value, the last value is
+   * returned without waiting. A stale member of a {@link CacheGroup} refreshes the whole group, and a refresh-ahead
+   * cache returns the last good value while it is reloaded in the background.
    *
    * @return {@link T} updated to the latest cached version.
    */
   public T getValue()
   {
-    if (isStale() || RobotBase.isSimulation())
+    Executor executor = loader;
+    if (group != null)
+    {
+      group.refresh();
+    } else if (executor != null)
     {
-      update();
+      loadAheadIfDue(executor);
+    } else if ((alwaysRefresh || isStale()) && refreshing.tryAcquire())
+    {
+      refresh();
     }
-    return value;
+    return sample.value;
+  }
+
+  /**
+   * Get the cached value without checking whether it is stale, e.g. after {@link CacheGroup#refresh()} at the start of
+   * a robot loop.
+   *
+   * @return {@link T} at the last refresh.
+   */
+  public T getLastValue()
+  {
+    return sample.value;
+  }
+
+  /**
+   * Get the time the cached value was read, without refreshing it.
+   *
+   * @return Time of the last read in microseconds.
+   */
+  public long getTimestamp()
+  {
+    return sample.timestamp;
+  }
+
+  /**
+   * Value published together with the time it was read.
+   *
+   * @param value     Cached value.
+   * @param timestamp Time of the read in microseconds.
+   * @param <T>       Value type.
+   */
+  private record Sample<T>(T value, long timestamp)
+  {
+
   }
 
 }
@@ -0,0 +1,90 @@
+package swervelib.parser;
+
+import edu.wpi.first.wpilibj.RobotController;
+
+/**
+ * Time source of a {@link Cache}, {@link DoubleCache} or {@link CacheGroup} in microseconds.
+ *
+ * <p>{@link #FPGA} is the robot clock, {@link #SYSTEM} avoids the HAL, e.g. in unit tests or desktop simulation, and
+ * {@link Manual} only moves when told to, for deterministic simulation and tests.
+ */
+@FunctionalInterface
+public interface CacheClock
+{
+
+  /**
+   * FPGA time from {@link RobotController#getFPGATime()}, which needs the HAL.
+   */
+  CacheClock FPGA   = RobotController::getFPGATime;
+  /**
+   * Monotonic JVM time from {@link System#nanoTime()}.
+   */
+  CacheClock SYSTEM = () -> System.nanoTime() / 1000L;
+
+  /**
+   * Get the current time.
+   *
+   * @return Time in microseconds.
+   */
+  long getMicros();
+
+  /**
+   * Clock advanced by hand, e.g. once per simulated robot loop.
+   */
+  final class Manual implements CacheClock
+  {
+
+    /**
+     * Current time in microseconds.
+     */
+    private volatile long micros;
+
+    /**
+     * Create a clock starting at 0.
+     */
+    public Manual()
+    {
+      this(0);
+    }
+
+    /**
+     * Create a clock.
+     *
+     * @param micros Start time in microseconds.
+     */
+    public Manual(long micros)
+    {
+      this.micros = micros;
+    }
+
+    /**
+     * Move the clock forward.
+     *
+     * @param micros Time to add in microseconds.
+     * @return {@link Manual} for chaining.
+     */
+    public synchronized Manual advance(long micros)
+    {
+      this.micros += micros;
+      return this;
+    }
+
+    /**
+     * Set the clock.
+     *
+     * @param micros Time in microseconds.
+     * @return {@link Manual} for chaining.
+     */
+    public Manual set(long micros)
+    {
+      this.micros = micros;
+      return this;
+    }
+
+    @Override
+    public long getMicros()
+    {
+      return micros;
+    }
+  }
+}
@@ -0,0 +1,263 @@
+package swervelib.parser;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Caches refreshed together at one timestamp, e.g. the sensors of every swerve module so odometry reads one coherent
+ * snapshot instead of values sampled at slightly different times.
+ *
+ * <p>The members share the timestamp and validity period of the group. The clock is read once per check, and when the
+ * group is stale every member is refreshed in a single pass stamped with that reading, in parallel on an
+ * {@link Executor} if one is given. Refreshes are single flight like {@link Cache}: while one thread refreshes the
+ * group, readers on other threads do not wait and may see members of both refreshes.
+ *
+ * <p>Reading a member checks the clock of the group. A loop reading every member can instead call {@link #refresh()}
+ * once and read the members with {@link Cache#getLastValue()} and {@link DoubleCache#getLastValue()}. The group
+ * keeps time with a {@link CacheClock} and refreshes according to a {@link CacheRefreshPolicy}, by default the ones of
+ * {@link Cache}.
+ */
+public class CacheGroup
+{
+
+  /**
+   * Executor refreshing the members in parallel, null to refresh them on the calling thread.
+   */
+  private final    Executor       executor;
+  /**
+   * Refresh of each member, replaced when a member is added.
+   */
+  private volatile LongConsumer[] members    = new LongConsumer[0];
+  /**
+   * Time of the last refresh in microseconds.
+   */
+  private volatile long           timestamp;
+  /**
+   * Validity period in microseconds.
+   */
+  private volatile long           validityPeriod;
+  /**
+   * Permit of the thread refreshing the members, taken without waiting by reads and waited for by {@link #update()}.
+   */
+  private final    Semaphore      refreshing = new Semaphore(1);
+  /**
+   * Time source of every member.
+   */
+  private final    CacheClock     clock;
+  /**
+   * Whether every read refreshes the group, resolved from the {@link CacheRefreshPolicy}.
+   */
+  private final    boolean        alwaysRefresh;
+
+  /**
+   * Group of caches refreshed on the reading thread.
+   *
+   * @param validityPeriod Validity period in milliseconds.
+   */
+  public CacheGroup(long validityPeriod)
+  {
+    this(validityPeriod, null);
+  }
+
+  /**
+   * Group of caches refreshed in parallel.
+   *
+   * @param validityPeriod Validity period in milliseconds.
+   * @param executor       Executor calling the suppliers, null to call them on the reading thread.
+   */
+  public CacheGroup(long validityPeriod, Executor executor)
+  {
+    this(validityPeriod, executor, Cache.getDefaultClock(), Cache.getDefaultRefreshPolicy());
+  }
+
+  /**
+   * Group of caches.
+   *
+   * @param validityPeriod Validity period in milliseconds.
+   * @param executor       Executor calling the suppliers, null to call them on the reading thread.
+   * @param clock          Time source of every member.
+   * @param policy         When reads refresh the group.
+   */
+  public CacheGroup(long validityPeriod, Executor executor, CacheClock clock, CacheRefreshPolicy policy)
+  {
+    this.executor = executor;
+    this.clock = clock;
+    alwaysRefresh = policy.refreshesOnEveryRead();
+    this.validityPeriod = validityPeriod * 1000L;
+    timestamp = clock.getMicros();
+  }
+
+  /**
+   * Add a member, its first value is read now and stamped with the last refresh of the group.
+   *
+   * @param val Value to cache.
+   * @param <T> Value type.
+   * @return {@link Cache} refreshed with the group.
+   */
+  public synchronized <T> Cache<T> add(Supplier<T> val)
+  {
+    Cache<T> cache = new Cache<>(val, this, timestamp);
+    join(cache::load);
+    return cache;
+  }
+
+  /**
+   * Add a primitive member, its first value is read now and stamped with the last refresh of the group.
+   *
+   * @param val Value to cache.
+   * @return {@link DoubleCache} refreshed with the group.
+   */
+  public synchronized DoubleCache addDouble(DoubleSupplier val)
+  {
+    DoubleCache cache = new DoubleCache(val, this, timestamp);
+    join(cache::load);
+    return cache;
+  }
+
+  /**
+   * Append the refresh of a member, the caller must hold the lock of the group.
+   *
+   * @param member Refresh of the member.
+   */
+  private void join(LongConsumer member)
+  {
+    LongConsumer[] joined = Arrays.copyOf(members, members.length + 1);
+    joined[joined.length - 1] = member;
+    members = joined;
+  }
+
+  /**
+   * Return whether the group is stale.
+   *
+   * @return The stale state of the group.
+   */
+  public boolean isStale()
+  {
+    return isStale(clock.getMicros());
+  }
+
+  /**
+   * Return whether the group is stale at the given time.
+   *
+   * @param now Time in microseconds.
+   * @return The stale state of the group.
+   */
+  private boolean isStale(long now)
+  {
+    return (now - timestamp) > validityPeriod;
+  }
+
+  /**
+   * Refresh every member if the group is stale. If another thread is already refreshing the group, the last values are
+   * kept without waiting.
+   *
+   * @return True if this call refreshed the group.
+   */
+  public boolean refresh()
+  {
+    long now = clock.getMicros();
+    if ((alwaysRefresh || isStale(now)) && refreshing.tryAcquire())
+    {
+      refresh(now);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Refresh every member, waiting for a refresh already running on another thread.
+   *
+   * @return {@link CacheGroup} used.
+   */
+  public CacheGroup update()
+  {
+    // A group refresh reads every member, sleep until it ends instead of polling for that long.
+    refreshing.acquireUninterruptibly();
+    refresh(clock.getMicros());
+    return this;
+  }
+
+  /**
+   * Refresh every member at the given time, the caller must hold the {@link #refreshing} permit. The timestamp of the
+   * group only moves once every member was refreshed, so a failed supplier leaves the group stale.
+   *
+   * @param now Time of the refresh in microseconds.
+   */
+  private void refresh(long now)
+  {
+    try
+    {
+      LongConsumer[] snapshot = members;
+      if (executor == null || snapshot.length < 2)
+      {
+        for (LongConsumer member : snapshot)
+        {
+          member.accept(now);
+        }
+      } else
+      {
+        CompletableFuture<?>[] loads = new CompletableFuture<?>[snapshot.length];
+        for (int i = 0; i < snapshot.length; i++)
+        {
+          LongConsumer member = snapshot[i];
+          loads[i] = CompletableFuture.runAsync(() -> member.accept(now), executor);
+        }
+        try
+        {
+          CompletableFuture.allOf(loads).join();
+        } catch (CompletionException e)
+        {
+          if (e.getCause() instanceof RuntimeException cause)
+          {
+            throw cause;
+          }
+          throw e;
+        }
+      }
+      timestamp = now;
+    } finally
+    {
+      refreshing.release();
+    }
+  }
+
+  /**
+   * Update the validity period of every member, also updates the values.
+   *
+   * @param validityPeriod The new validity period in milliseconds.
+   * @return {@link CacheGroup} for chaining.
+   */
+  public CacheGroup updateValidityPeriod(long validityPeriod)
+  {
+    this.validityPeriod = validityPeriod * 1000L;
+    update();
+    return this;
+  }
+
+  /**
+   * Get the time every member was last read at.
+   *
+   * @return Time of the last refresh in microseconds.
+   */
+  public long getTimestamp()
+  {
+    return timestamp;
+  }
+
+  /**
+   * Get the number of members.
+   *
+   * @return Number of caches in the group.
+   */
+  public int size()
+  {
+    return members.length;
+  }
+
+}
@@ -0,0 +1,38 @@
+package swervelib.parser;
+
+import edu.wpi.first.wpilibj.RobotBase;
+
+/**
+ * When a {@link Cache}, {@link DoubleCache} or {@link CacheGroup} calls its supplier on a read. The policy is resolved
+ * once when the cache is created, so reads never query the HAL for the robot mode.
+ */
+public enum CacheRefreshPolicy
+{
+  /**
+   * Refresh once the validity period elapsed, on the robot and in simulation alike.
+   */
+  VALIDITY_PERIOD,
+  /**
+   * Refresh on every read, ignoring the validity period.
+   */
+  ALWAYS,
+  /**
+   * {@link #ALWAYS} in simulation and {@link #VALIDITY_PERIOD} on the robot, so simulated sensors are never stale.
+   */
+  ALWAYS_IN_SIMULATION;
+
+  /**
+   * Resolve whether every read refreshes the cache.
+   *
+   * @return True if the validity period is ignored.
+   */
+  boolean refreshesOnEveryRead()
+  {
+    return switch (this)
+    {
+      case VALIDITY_PERIOD -> false;
+      case ALWAYS -> true;
+      case ALWAYS_IN_SIMULATION -> RobotBase.isSimulation();
+    };
+  }
+}
@@ -0,0 +1,272 @@
+package swervelib.parser;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.Semaphore;
+import java.util.function.DoubleSupplier;
+
+/**
+ * {@link Cache} of a primitive double, e.g. a raw sensor reading or a telemetry value. The value and the time it was
+ * read are kept in primitive fields, so neither a cache hit nor a refresh allocates.
+ *
+ * <p>The cache may be shared between threads like {@link Cache}. The value and its timestamp are published together
+ * under a version counter (a seqlock): the refreshing thread makes the version odd, writes both fields and makes it
+ * even again, and readers retry until they read both fields under the same even version. Readers therefore never see
+ * a half-written value, not even on a 32-bit roboRIO where a plain double is written in two halves, and still neither
+ * a hit nor a refresh allocates. Caches created by a {@link CacheGroup}
+ * are refreshed with the group like a {@link Cache}, and the default {@link CacheClock} and {@link CacheRefreshPolicy}
+ * are the ones of {@link Cache}.
+ */
+public class DoubleCache
+{
+
+  /**
+   * Version of {@link #value} and {@link #timestamp}, odd while they are written.
+   */
+  private volatile long           version;
+  /**
+   * Cached value, guarded by {@link #version}.
+   */
+  private          double         value;
+  /**
+   * Time the cached value was read in microseconds, guarded by {@link #version}.
+   */
+  private          long           timestamp;
+  /**
+   * Supplier for cached value.
+   */
+  private volatile DoubleSupplier supplier;
+  /**
+   * Validity period in microseconds.
+   */
+  private volatile long           validityPeriod;
+  /**
+   * Permit of the thread calling the supplier, taken without waiting by reads and waited for by {@link #update()}.
+   */
+  private final    Semaphore      refreshing = new Semaphore(1);
+  /**
+   * Group refreshing the cache, null for a standalone cache.
+   */
+  private final    CacheGroup     group;
+  /**
+   * Time source, null for a member of a {@link CacheGroup}.
+   */
+  private final    CacheClock     clock;
+  /**
+   * Whether every read refreshes the value, resolved from the {@link CacheRefreshPolicy}.
+   */
+  private final    boolean        alwaysRefresh;
+
+  /**
+   * Cache for double values, using the default clock and refresh policy of {@link Cache}.
+   *
+   * @param val            Value to cache.
+   * @param validityPeriod Validity period in milliseconds.
+   */
+  public DoubleCache(DoubleSupplier val, long validityPeriod)
+  {
+    this(val, validityPeriod, Cache.getDefaultClock(), Cache.getDefaultRefreshPolicy());
+  }
+
+  /**
+   * Cache for double values.
+   *
+   * @param val            Value to cache.
+   * @param validityPeriod Validity period in milliseconds.
+   * @param clock          Time source.
+   * @param policy         When reads refresh the value.
+   */
+  public DoubleCache(DoubleSupplier val, long validityPeriod, CacheClock clock, CacheRefreshPolicy policy)
+  {
+    supplier = val;
+    group = null;
+    this.clock = clock;
+    alwaysRefresh = policy.refreshesOnEveryRead();
+    publish(supplier.getAsDouble(), clock.getMicros());
+    this.validityPeriod = validityPeriod * 1000L;
+  }
+
+  /**
+   * Cache refreshed by a {@link CacheGroup}.
+   *
+   * @param val       Value to cache.
+   * @param group     Group refreshing the cache.
+   * @param timestamp Time of the group in microseconds.
+   */
+  DoubleCache(DoubleSupplier val, CacheGroup group, long timestamp)
+  {
+    supplier = val;
+    this.group = group;
+    clock = null;
+    alwaysRefresh = false;
+    load(timestamp);
+  }
+
+  /**
+   * Return whether the cache is stale.
+   *
+   * @return The stale state of the cache.
+   */
+  public boolean isStale()
+  {
+    if (group != null)
+    {
+      return group.isStale();
+    }
+    return (clock.getMicros() - getTimestamp()) > validityPeriod;
+  }
+
+  /**
+   * Update the cache value and timestamp, waiting for a refresh already running on another thread. A member of a
+   * {@link CacheGroup} updates the whole group.
+   *
+   * @return {@link DoubleCache} used.
+   */
+  public DoubleCache update()
+  {
+    if (group != null)
+    {
+      group.update();
+      return this;
+    }
+    refreshing.acquireUninterruptibly();
+    refresh();
+    return this;
+  }
+
+  /**
+   * Call the supplier and publish its value, the caller must hold the {@link #refreshing} permit.
+   */
+  private void refresh()
+  {
+    try
+    {
+      double read = supplier.getAsDouble();
+      publish(read, clock.getMicros());
+    } finally
+    {
+      refreshing.release();
+    }
+  }
+
+  /**
+   * Call the supplier and publish its value with the timestamp of the refresh of a {@link CacheGroup}.
+   *
+   * @param timestamp Time of the group in microseconds.
+   */
+  void load(long timestamp)
+  {
+    publish(supplier.getAsDouble(), timestamp);
+  }
+
+  /**
+   * Publish a value and its timestamp under the next version. Only the thread refreshing the cache, or the group of
+   * the cache, may publish.
+   *
+   * @param read      Value read from the supplier.
+   * @param timestamp Time of the read in microseconds.
+   */
+  private void publish(double read, long timestamp)
+  {
+    long next = version + 1;
+    version = next;
+    // Keep the field writes after the odd version, the volatile write below keeps them before the even one.
+    VarHandle.storeStoreFence();
+    value = read;
+    this.timestamp = timestamp;
+    version = next + 1;
+  }
+
+  /**
+   * Update the supplier to a new source. Updates the value and timestamp as well.
+   *
+   * @param supplier new supplier source.
+   * @return {@link DoubleCache} for chaining.
+   */
+  public DoubleCache updateSupplier(DoubleSupplier supplier)
+  {
+    this.supplier = supplier;
+    update();
+    return this;
+  }
+
+  /**
+   * Update the validity period for the cached value, also updates the value. The validity period of a member of a
+   * {@link CacheGroup} is the one of the group, so every member is changed.
+   *
+   * @param validityPeriod The new validity period in milliseconds.
+   * @return {@link DoubleCache} for chaining.
+   */
+  public DoubleCache updateValidityPeriod(long validityPeriod)
+  {
+    if (group != null)
+    {
+      group.updateValidityPeriod(validityPeriod);
+      return this;
+    }
+    this.validityPeriod = validityPeriod * 1000L;
+    update();
+    return this;
+  }
+
+  /**
+   * Get the most up to date cached value. If another thread is already refreshing the stale value, the last value is
+   * returned without waiting. A stale member of a {@link CacheGroup} refreshes the whole group.
+   *
+   * @return Value updated to the latest cached version.
+   */
+  public double getValue()
+  {
+    if (group != null)
+    {
+      group.refresh();
+    } else if ((alwaysRefresh || isStale()) && refreshing.tryAcquire())
+    {
+      refresh();
+    }
+    return getLastValue();
+  }
+
+  /**
+   * Get the cached value without checking whether it is stale, e.g. after {@link CacheGroup#refresh()} at the start of
+   * a robot loop.
+   *
+   * @return Value at the last refresh.
+   */
+  public double getLastValue()
+  {
+    while (true)
+    {
+      long   stamp = version;
+      double read  = value;
+      // Keep the field read before the version is checked again.
+      VarHandle.loadLoadFence();
+      if ((stamp & 1) == 0 && stamp == version)
+      {
+        return read;
+      }
+      // A refresh is between its two version writes, which only store two fields.
+      Thread.onSpinWait();
+    }
+  }
+
+  /**
+   * Get the time the cached value was read, without refreshing it.
+   *
+   * @return Time of the last read in microseconds.
+   */
+  public long getTimestamp()
+  {
+    while (true)
+    {
+      long stamp = version;
+      long read  = timestamp;
+      VarHandle.loadLoadFence();
+      if ((stamp & 1) == 0 && stamp == version)
+      {
+        return read;
+      }
+      Thread.onSpinWait();
+    }
+  }
+
+}
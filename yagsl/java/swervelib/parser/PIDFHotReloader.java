@@ -0,0 +1,279 @@
+package swervelib.parser;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.RobotBase;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import swervelib.parser.json.PIDFPropertiesJson;
+import yams.mechanisms.swerve.SwerveDrive;
+import yams.mechanisms.swerve.SwerveModule;
+import yams.motorcontrollers.SmartMotorController;
+
+/**
+ * Watches modules/pidfproperties.json of a swerve configuration directory and pushes changed gains into the live motor
+ * controllers of a {@link SwerveDrive} without rebuilding it.
+ *
+ * <p>The file is watched and parsed on a daemon thread, the new gains are only applied to the motor controllers when
+ * {@link #applyPending()} is called, which should be done from the robot loop (e.g. the subsystem periodic) so vendor
+ * APIs are never called concurrently with the control loop. Only the gains that changed are sent, drive kV of 0 is
+ * resolved to the theoretical kV like {@link SwerveParser} does.
+ *
+ * <pre>{@code
+ * var parser   = SwerveParser.parse(directory);
+ * var drive    = parser.createSwerveDrive(config);
+ * var reloader = new PIDFHotReloader(directory, parser, drive);
+ * // periodic()
+ * reloader.applyPending();
+ * }</pre>
+ *
+ * @implNote Latency depends on the platform {@link WatchService}, native on Linux (roboRIO) and Windows but polled on
+ * macOS.
+ */
+public class PIDFHotReloader implements AutoCloseable
+{
+
+  /**
+   * Watched PIDF file, pidfproperties_sim.json in simulation if it exists.
+   */
+  private final File                             pidfFile;
+  /**
+   * Module controllers in the order of swervedrive.json.
+   */
+  private final List<ModuleControllers>          modules = new ArrayList<>();
+  /**
+   * Watch service on the modules directory.
+   */
+  private final WatchService                     watchService;
+  /**
+   * Watcher thread.
+   */
+  private final Thread                           watcher;
+  /**
+   * Parsed gains waiting to be applied by {@link #applyPending()}.
+   */
+  private final AtomicReference<PendingReload>   pending = new AtomicReference<>();
+  /**
+   * Gains currently applied to the motor controllers.
+   */
+  private       PIDFPropertiesJson               applied;
+  /**
+   * Number of reloads applied.
+   */
+  private       int                              reloadCount;
+  /**
+   * Number of gain updates sent to motor controllers.
+   */
+  private       int                              appliedChanges;
+  /**
+   * Latency between the file change being detected and the gains being applied in milliseconds.
+   */
+  private       double                           lastReloadLatencyMs;
+
+  /**
+   * Start watching the PIDF properties of a swerve configuration directory.
+   *
+   * @param directory Swerve configuration directory the {@link SwerveParser} was parsed from.
+   * @param parser    {@link SwerveParser} used to create the {@link SwerveDrive}.
+   * @param drive     Live {@link SwerveDrive} to update.
+   * @throws IOException if the modules directory cannot be watched.
+   */
+  public PIDFHotReloader(File directory, SwerveParser parser, SwerveDrive drive) throws IOException
+  {
+    File simPidfFile = new File(directory, "modules/pidfproperties_sim.json");
+    this.pidfFile = simPidfFile.exists() && RobotBase.isSimulation() ? simPidfFile
+                                                                      : new File(directory,
+                                                                                 "modules/pidfproperties.json");
+    this.applied = parser.pidfPropertiesJson;
+    for (int i = 0; i < parser.moduleJsons.length; i++)
+    {
+      String       name   = parser.getModuleName(i);
+      SwerveModule module = drive.getModule(name).orElseThrow(() -> new IllegalArgumentException(
+          "Swerve module " + name + " is not part of the given SwerveDrive"));
+      modules.add(new ModuleControllers(module.getDriveMotorController(), module.getAzimuthMotorController()));
+    }
+
+    Path modulesDirectory = pidfFile.toPath().toAbsolutePath().getParent();
+    watchService = FileSystems.getDefault().newWatchService();
+    modulesDirectory.register(watchService,
+                              StandardWatchEventKinds.ENTRY_CREATE,
+                              StandardWatchEventKinds.ENTRY_MODIFY);
+    watcher = new Thread(this::watch, "YAGSL PIDF Reloader");
+    watcher.setDaemon(true);
+    watcher.start();
+  }
+
+  /**
+   * Watcher thread loop, parses the PIDF file whenever it changes and queues it for {@link #applyPending()}.
+   */
+  private void watch()
+  {
+    Path fileName = pidfFile.toPath().getFileName();
+    try
+    {
+      while (!Thread.currentThread().isInterrupted())
+      {
+        WatchKey key          = watchService.take();
+        boolean  pidfModified = false;
+        for (WatchEvent<?> event : key.pollEvents())
+        {
+          pidfModified |= fileName.equals(event.context());
+        }
+        key.reset();
+        if (!pidfModified || pidfFile.length() == 0)
+        {
+          continue;
+        }
+
+        long detected = System.nanoTime();
+        try
+        {
+          PIDFPropertiesJson gains = SwerveJsonReaders.PIDF_PROPERTIES.readValue(pidfFile);
+          if (gains.drive == null || gains.angle == null)
+          {
+            DriverStation.reportWarning("Ignoring " + pidfFile + " reload, both drive and angle gains are required.",
+                                        false);
+            continue;
+          }
+          pending.set(new PendingReload(gains, detected));
+        } catch (IOException e)
+        {
+          // Editors may save in several writes, the next event will have the complete file.
+          DriverStation.reportWarning("Could not reload " + pidfFile + ": " + e.getMessage(), false);
+        }
+      }
+    } catch (InterruptedException | ClosedWatchServiceException e)
+    {
+      // Closed.
+    }
+  }
+
+  /**
+   * Apply the most recently reloaded gains to the motor controllers, if the file changed since the last call. Call
+   * from the robot loop.
+   *
+   * @return Number of gain updates sent to motor controllers, 0 if nothing changed.
+   */
+  public int applyPending()
+  {
+    PendingReload reload = pending.getAndSet(null);
+    if (reload == null)
+    {
+      return 0;
+    }
+    PIDFPropertiesJson gains   = reload.gains;
+    int                changes = 0;
+    for (ModuleControllers module : modules)
+    {
+      changes += apply(module.drive, applied.drive, gains.drive, true);
+      changes += apply(module.azimuth, applied.angle, gains.angle, false);
+    }
+    applied = gains;
+    reloadCount++;
+    appliedChanges += changes;
+    lastReloadLatencyMs = (System.nanoTime() - reload.detectedNanos) / 1e6;
+    DriverStation.reportWarning(String.format("Reloaded %s, applied %d gain updates in %.1f ms",
+                                              pidfFile, changes, lastReloadLatencyMs), false);
+    return changes;
+  }
+
+  /**
+   * Send the gains that changed to a motor controller.
+   *
+   * @param controller Motor controller to update.
+   * @param previous   Gains currently applied.
+   * @param gains      New gains.
+   * @param drive      Whether this is a drive motor, where kV of 0 means the theoretical kV.
+   * @return Number of gain updates sent.
+   */
+  private static int apply(SmartMotorController controller, PIDFConfig previous, PIDFConfig gains, boolean drive)
+  {
+    int changes = 0;
+    if (previous.p != gains.p || previous.i != gains.i || previous.d != gains.d)
+    {
+      controller.setFeedback(gains.p, gains.i, gains.d);
+      changes++;
+    }
+    if (previous.s != gains.s || previous.v != gains.v || previous.a != gains.a)
+    {
+      double kV = drive && gains.v == 0 ? SwerveParser.theoreticalDriveKv(controller.getConfig(), controller)
+                                        : gains.v;
+      controller.setFeedforward(gains.s, kV, gains.a, 0);
+      changes++;
+    }
+    return changes;
+  }
+
+  /**
+   * Get the number of reloads applied.
+   *
+   * @return Reload count.
+   */
+  public int getReloadCount()
+  {
+    return reloadCount;
+  }
+
+  /**
+   * Get the total number of gain updates sent to motor controllers.
+   *
+   * @return Applied change count.
+   */
+  public int getAppliedChanges()
+  {
+    return appliedChanges;
+  }
+
+  /**
+   * Get the time between the last file change being detected and its gains being applied.
+   *
+   * @return Latency in milliseconds, 0 if nothing was reloaded yet.
+   */
+  public double getLastReloadLatencyMs()
+  {
+    return lastReloadLatencyMs;
+  }
+
+  /**
+   * Stop watching the PIDF file.
+   *
+   * @throws IOException if the watch service cannot be closed.
+   */
+  @Override
+  public void close() throws IOException
+  {
+    watcher.interrupt();
+    watchService.close();
+  }
+
+  /**
+   * Motor controllers of one module.
+   *
+   * @param drive   Drive motor controller.
+   * @param azimuth Azimuth motor controller.
+   */
+  private record ModuleControllers(SmartMotorController drive, SmartMotorController azimuth)
+  {
+
+  }
+
+  /**
+   * Reloaded gains waiting to be applied.
+   *
+   * @param gains         Parsed PIDF properties.
+   * @param detectedNanos {@link System#nanoTime()} when the change was detected.
+   */
+  private record PendingReload(PIDFPropertiesJson gains, long detectedNanos)
+  {
+
+  }
+}
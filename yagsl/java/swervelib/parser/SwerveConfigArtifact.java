@@ -0,0 +1,615 @@
+package swervelib.parser;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import swervelib.parser.json.DeviceJson;
+import swervelib.parser.json.ModuleJson;
+import swervelib.parser.json.MotorConfigInt;
+import swervelib.parser.json.PIDFPropertiesJson;
+import swervelib.parser.json.PhysicalPropertiesJson;
+import swervelib.parser.json.SwerveDriveJson;
+import swervelib.parser.json.modules.AngleGearingJson;
+import swervelib.parser.json.modules.BoolMotorJson;
+import swervelib.parser.json.modules.DriveGearingJson;
+import swervelib.parser.json.modules.GearingJson;
+import swervelib.parser.json.modules.LocationJson;
+import swervelib.telemetry.StartupProfiler;
+
+/**
+ * Build-time compiled, binary form of a swerve configuration directory.
+ *
+ * <p>The artifact is written next to swervedrive.json as {@value #FILE_NAME} by the {@code compileSwerveConfig}
+ * Gradle task (see {@link #main(String[])}) and loaded by {@link SwerveParser} with a single memory-mapped read instead
+ * of running every file through Jackson. The CRC32 of every JSON source is stored in the artifact, if any source no
+ * longer matches the artifact is considered stale and {@link SwerveParser} falls back to the JSON files. A stale,
+ * corrupt or outdated artifact is reported to the Driver Station and counted as {@value #IGNORED_COUNTER} in the
+ * {@link StartupProfiler} tree of the build.
+ *
+ * <p>Layout (big-endian): magic, format version, source count, {@code (path, length, crc32)} per source, payload
+ * length, payload crc32, payload. The payload alone is also the immutable snapshot kept by {@link SwerveParserCache}.
+ */
+public final class SwerveConfigArtifact
+{
+
+  /**
+   * Artifact file name inside the swerve configuration directory.
+   */
+  public static final  String FILE_NAME       = "swervedrive.bin";
+  /**
+   * {@link StartupProfiler} count of artifacts ignored for the JSON files.
+   */
+  public static final  String IGNORED_COUNTER = "Swerve configuration artifacts ignored";
+  /**
+   * Magic number, "YGSL".
+   */
+  private static final int    MAGIC           = 0x5947534C;
+  /**
+   * Binary format version, bump whenever the payload layout or the JSON model classes change.
+   */
+  private static final int    FORMAT_VERSION  = 1;
+
+  /**
+   * Parsed swervedrive.json
+   */
+  public final SwerveDriveJson        swerveDriveJson;
+  /**
+   * Parsed modules/pidfproperties.json
+   */
+  public final PIDFPropertiesJson     pidfPropertiesJson;
+  /**
+   * Parsed modules/pidfproperties_sim.json, {@code null} if the directory does not have one.
+   */
+  public final PIDFPropertiesJson     simPidfPropertiesJson;
+  /**
+   * Parsed modules/physicalproperties.json
+   */
+  public final PhysicalPropertiesJson physicalPropertiesJson;
+  /**
+   * Parsed module files in the order given in swervedrive.json.
+   */
+  public final ModuleJson[]           moduleJsons;
+
+  /**
+   * Create the artifact contents.
+   *
+   * @param swerveDriveJson        Parsed swervedrive.json
+   * @param pidfPropertiesJson     Parsed modules/pidfproperties.json
+   * @param simPidfPropertiesJson  Parsed modules/pidfproperties_sim.json or {@code null}.
+   * @param physicalPropertiesJson Parsed modules/physicalproperties.json
+   * @param moduleJsons            Parsed module files.
+   */
+  SwerveConfigArtifact(SwerveDriveJson swerveDriveJson, PIDFPropertiesJson pidfPropertiesJson,
+                       PIDFPropertiesJson simPidfPropertiesJson, PhysicalPropertiesJson physicalPropertiesJson,
+                       ModuleJson[] moduleJsons)
+  {
+    this.swerveDriveJson = swerveDriveJson;
+    this.pidfPropertiesJson = pidfPropertiesJson;
+    this.simPidfPropertiesJson = simPidfPropertiesJson;
+    this.physicalPropertiesJson = physicalPropertiesJson;
+    this.moduleJsons = moduleJsons;
+  }
+
+  /**
+   * Compile the JSON configuration directory into its binary artifact.
+   *
+   * @param directory Swerve configuration directory containing swervedrive.json.
+   * @param output    Artifact file to write.
+   * @throws IOException                  if a JSON file cannot be read or the artifact cannot be written.
+   * @throws SwerveConfigurationException if the configuration is invalid.
+   */
+  public static void compile(File directory, File output) throws IOException
+  {
+    List<String> problems = SwerveConfigValidator.validate(directory);
+    if (!problems.isEmpty())
+    {
+      throw new SwerveConfigurationException(directory, problems);
+    }
+    SwerveDriveJson swerveDriveJson = SwerveJsonReaders.SWERVE_DRIVE.readValue(new File(directory,
+                                                                                          "swervedrive.json"));
+    List<String> sources = new ArrayList<>(List.of("swervedrive.json",
+                                                   "modules/pidfproperties.json",
+                                                   "modules/physicalproperties.json"));
+    boolean hasSimPidf = new File(directory, "modules/pidfproperties_sim.json").exists();
+    if (hasSimPidf)
+    {
+      sources.add("modules/pidfproperties_sim.json");
+    }
+    for (String module : swerveDriveJson.modules)
+    {
+      sources.add("modules/" + module);
+    }
+
+    ModuleJson[] modules = new ModuleJson[swerveDriveJson.modules.length];
+    for (int i = 0; i < modules.length; i++)
+    {
+      modules[i] = SwerveJsonReaders.MODULE.readValue(new File(directory, "modules/" + swerveDriveJson.modules[i]));
+    }
+    byte[] payloadArray = new SwerveConfigArtifact(
+        swerveDriveJson,
+        SwerveJsonReaders.PIDF_PROPERTIES.readValue(new File(directory, "modules/pidfproperties.json")),
+        hasSimPidf ? SwerveJsonReaders.PIDF_PROPERTIES.readValue(new File(directory, "modules/pidfproperties_sim.json"))
+                   : null,
+        SwerveJsonReaders.PHYSICAL_PROPERTIES.readValue(new File(directory, "modules/physicalproperties.json")),
+        modules).encode();
+
+    var artifactBytes = new ByteArrayOutputStream();
+    var artifact      = new DataOutputStream(artifactBytes);
+    artifact.writeInt(MAGIC);
+    artifact.writeInt(FORMAT_VERSION);
+    artifact.writeInt(sources.size());
+    for (String source : sources)
+    {
+      byte[] contents = Files.readAllBytes(new File(directory, source).toPath());
+      writeString(artifact, source);
+      artifact.writeInt(contents.length);
+      artifact.writeInt((int) crc32(contents));
+    }
+    artifact.writeInt(payloadArray.length);
+    artifact.writeInt((int) crc32(payloadArray));
+    artifact.write(payloadArray);
+    artifact.flush();
+
+    File parent = output.getAbsoluteFile().getParentFile();
+    if (parent != null)
+    {
+      Files.createDirectories(parent.toPath());
+    }
+    Files.write(output.toPath(), artifactBytes.toByteArray());
+  }
+
+  /**
+   * Load the artifact of the swerve configuration directory.
+   *
+   * @param directory Swerve configuration directory containing swervedrive.json and {@value #FILE_NAME}.
+   * @return The artifact contents, or empty if there is no artifact, it was written by a different format version, it
+   * is stale compared to the JSON sources, or it is truncated or corrupt.
+   * @throws IOException if the artifact exists but cannot be read.
+   */
+  public static Optional<SwerveConfigArtifact> load(File directory) throws IOException
+  {
+    File file = new File(directory, FILE_NAME);
+    if (!file.isFile())
+    {
+      return Optional.empty();
+    }
+
+    ByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+    {
+      buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+    }
+
+    try
+    {
+      return load(directory, file, buffer);
+    } catch (BufferUnderflowException | IllegalArgumentException e)
+    {
+      // Only the payload is covered by its checksum, a damaged header or source list ends up here.
+      ignore("Ignoring corrupt " + file + ", " + (e.getMessage() != null ? e.getMessage() : "truncated") + ".");
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Read the artifact contents from its mapped file.
+   *
+   * @param directory Swerve configuration directory containing the JSON sources.
+   * @param file      Artifact file for the messages.
+   * @param buffer    Mapped artifact.
+   * @return The artifact contents, or empty if it is not an artifact of this format version or is stale.
+   * @throws IOException              if a JSON source cannot be read.
+   * @throws BufferUnderflowException if the artifact is truncated.
+   * @throws IllegalArgumentException if a length or count in the artifact is out of bounds.
+   */
+  private static Optional<SwerveConfigArtifact> load(File directory, File file, ByteBuffer buffer) throws IOException
+  {
+    if (buffer.remaining() < 12 || buffer.getInt() != MAGIC)
+    {
+      ignore("Ignoring " + file + ", not a swerve configuration artifact.");
+      return Optional.empty();
+    }
+    int version = buffer.getInt();
+    if (version != FORMAT_VERSION)
+    {
+      ignore("Ignoring " + file + ", format version " + version + " expected " + FORMAT_VERSION +
+             ". Rebuild to recompile the swerve configuration.");
+      return Optional.empty();
+    }
+
+    int     sourceCount = readCount(buffer, 12);
+    boolean hasSimPidf  = false;
+    for (int i = 0; i < sourceCount; i++)
+    {
+      String source = readString(buffer);
+      int    length = buffer.getInt();
+      int    crc    = buffer.getInt();
+      File   json   = new File(directory, source);
+      hasSimPidf |= source.equals("modules/pidfproperties_sim.json");
+      if (!json.isFile() || json.length() != length || (int) crc32(Files.readAllBytes(json.toPath())) != crc)
+      {
+        ignore("Ignoring stale " + file + ", " + source + " changed since it was compiled.");
+        return Optional.empty();
+      }
+    }
+    if (!hasSimPidf && new File(directory, "modules/pidfproperties_sim.json").exists())
+    {
+      ignore("Ignoring stale " + file +
+             ", modules/pidfproperties_sim.json was added since it was compiled.");
+      return Optional.empty();
+    }
+
+    int        payloadLength = buffer.getInt();
+    int        payloadCrc    = buffer.getInt();
+    ByteBuffer payload       = buffer.slice();
+    if (payload.remaining() != payloadLength || (int) crc32(payload.duplicate()) != payloadCrc)
+    {
+      ignore("Ignoring corrupt " + file + ", payload checksum mismatch.");
+      return Optional.empty();
+    }
+
+    return Optional.of(decode(payload));
+  }
+
+  /**
+   * Report an artifact that is not used, so the slower JSON fallback shows up on the Driver Station and in the startup
+   * profile.
+   *
+   * @param message Why the artifact is ignored.
+   */
+  private static void ignore(String message)
+  {
+    DriverStation.reportWarning(message, false);
+    StartupProfiler.count(IGNORED_COUNTER);
+  }
+
+  /**
+   * Encode the contents as the payload of an artifact.
+   *
+   * @return Payload bytes.
+   */
+  byte[] encode()
+  {
+    var bytes = new ByteArrayOutputStream();
+    var out   = new DataOutputStream(bytes);
+    try
+    {
+      writeSwerveDrive(out, swerveDriveJson);
+      writePidfProperties(out, pidfPropertiesJson);
+      out.writeBoolean(simPidfPropertiesJson != null);
+      if (simPidfPropertiesJson != null)
+      {
+        writePidfProperties(out, simPidfPropertiesJson);
+      }
+      writePhysicalProperties(out, physicalPropertiesJson);
+      for (ModuleJson module : moduleJsons)
+      {
+        writeModule(out, module);
+      }
+      out.flush();
+    } catch (IOException e)
+    {
+      // A ByteArrayOutputStream does not throw.
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Decode the payload of an artifact into new JSON models.
+   *
+   * @param payload Payload written by {@link #encode()}.
+   * @return The artifact contents.
+   * @throws BufferUnderflowException if the payload is truncated.
+   * @throws IllegalArgumentException if a length or count in the payload is out of bounds.
+   */
+  static SwerveConfigArtifact decode(ByteBuffer payload)
+  {
+    SwerveDriveJson        swerveDriveJson = readSwerveDrive(payload);
+    PIDFPropertiesJson     pidf            = readPidfProperties(payload);
+    PIDFPropertiesJson     simPidf         = payload.get() != 0 ? readPidfProperties(payload) : null;
+    PhysicalPropertiesJson physical        = readPhysicalProperties(payload);
+    ModuleJson[]           modules         = new ModuleJson[swerveDriveJson.modules.length];
+    for (int i = 0; i < modules.length; i++)
+    {
+      modules[i] = readModule(payload);
+    }
+    return new SwerveConfigArtifact(swerveDriveJson, pidf, simPidf, physical, modules);
+  }
+
+  /**
+   * Compile every swerve configuration directory below a deploy directory. Used by the {@code compileSwerveConfig}
+   * Gradle task.
+   *
+   * @param args Deploy directory to search for swervedrive.json files and the output directory mirroring it.
+   * @throws IOException if a directory cannot be compiled.
+   */
+  public static void main(String[] args) throws IOException
+  {
+    if (args.length != 2)
+    {
+      throw new IllegalArgumentException("Usage: SwerveConfigArtifact <deploy directory> <output directory>");
+    }
+    File deployDirectory = new File(args[0]);
+    File outputDirectory = new File(args[1]);
+    try (Stream<java.nio.file.Path> files = Files.walk(deployDirectory.toPath()))
+    {
+      for (java.nio.file.Path swerveDrive : files.filter(path -> path.getFileName().toString().equals(
+          "swervedrive.json")).toList())
+      {
+        java.nio.file.Path directory = swerveDrive.getParent();
+        File output = outputDirectory.toPath()
+                                     .resolve(deployDirectory.toPath().relativize(directory))
+                                     .resolve(FILE_NAME)
+                                     .toFile();
+        compile(directory.toFile(), output);
+        System.out.println("Compiled swerve configuration " + directory + " -> " + output);
+      }
+    }
+  }
+
+  /**
+   * CRC32 of a byte array.
+   *
+   * @param bytes Bytes to checksum.
+   * @return CRC32 value.
+   */
+  private static long crc32(byte[] bytes)
+  {
+    CRC32 crc = new CRC32();
+    crc.update(bytes);
+    return crc.getValue();
+  }
+
+  /**
+   * CRC32 of the remaining bytes of a buffer.
+   *
+   * @param bytes Bytes to checksum, consumed.
+   * @return CRC32 value.
+   */
+  private static long crc32(ByteBuffer bytes)
+  {
+    CRC32 crc = new CRC32();
+    crc.update(bytes);
+    return crc.getValue();
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException
+  {
+    if (value == null)
+    {
+      out.writeInt(-1);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  /**
+   * Read a count of entries and check that the buffer can hold them.
+   *
+   * @param in        Buffer to read.
+   * @param entrySize Smallest size of one entry in bytes.
+   * @return Count.
+   * @throws IllegalArgumentException if the count is negative or larger than the rest of the buffer.
+   */
+  private static int readCount(ByteBuffer in, int entrySize)
+  {
+    int count = in.getInt();
+    if (count < 0 || count > in.remaining() / entrySize)
+    {
+      throw new IllegalArgumentException("entry count " + count + " out of bounds");
+    }
+    return count;
+  }
+
+  private static String readString(ByteBuffer in)
+  {
+    int length = in.getInt();
+    if (length < 0)
+    {
+      return null;
+    }
+    if (length > in.remaining())
+    {
+      throw new IllegalArgumentException("string length " + length + " out of bounds");
+    }
+    byte[] bytes = new byte[length];
+    in.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void writeDevice(DataOutputStream out, DeviceJson device) throws IOException
+  {
+    out.writeBoolean(device != null);
+    if (device != null)
+    {
+      writeString(out, device.type);
+      out.writeInt(device.id);
+      out.writeInt(device.channel);
+      writeString(out, device.canbus);
+    }
+  }
+
+  private static DeviceJson readDevice(ByteBuffer in)
+  {
+    if (in.get() == 0)
+    {
+      return null;
+    }
+    DeviceJson device = new DeviceJson();
+    device.setType(readString(in));
+    device.id = in.getInt();
+    device.channel = in.getInt();
+    device.canbus = readString(in);
+    return device;
+  }
+
+  private static void writeSwerveDrive(DataOutputStream out, SwerveDriveJson swerveDrive) throws IOException
+  {
+    writeDevice(out, swerveDrive.gyro);
+    writeString(out, swerveDrive.gyroAxis);
+    out.writeBoolean(swerveDrive.gyroInvert);
+    out.writeInt(swerveDrive.modules.length);
+    for (String module : swerveDrive.modules)
+    {
+      writeString(out, module);
+    }
+  }
+
+  private static SwerveDriveJson readSwerveDrive(ByteBuffer in)
+  {
+    SwerveDriveJson swerveDrive = new SwerveDriveJson();
+    swerveDrive.gyro = readDevice(in);
+    swerveDrive.gyroAxis = readString(in);
+    swerveDrive.gyroInvert = in.get() != 0;
+    swerveDrive.modules = new String[readCount(in, 4)];
+    for (int i = 0; i < swerveDrive.modules.length; i++)
+    {
+      swerveDrive.modules[i] = readString(in);
+    }
+    return swerveDrive;
+  }
+
+  private static void writePidf(DataOutputStream out, PIDFConfig pidf) throws IOException
+  {
+    out.writeBoolean(pidf != null);
+    if (pidf != null)
+    {
+      out.writeDouble(pidf.p);
+      out.writeDouble(pidf.i);
+      out.writeDouble(pidf.d);
+      out.writeDouble(pidf.s);
+      out.writeDouble(pidf.v);
+      out.writeDouble(pidf.a);
+    }
+  }
+
+  private static PIDFConfig readPidf(ByteBuffer in)
+  {
+    if (in.get() == 0)
+    {
+      return null;
+    }
+    PIDFConfig pidf = new PIDFConfig();
+    pidf.p = in.getDouble();
+    pidf.i = in.getDouble();
+    pidf.d = in.getDouble();
+    pidf.s = in.getDouble();
+    pidf.v = in.getDouble();
+    pidf.a = in.getDouble();
+    return pidf;
+  }
+
+  private static void writePidfProperties(DataOutputStream out, PIDFPropertiesJson pidf) throws IOException
+  {
+    writePidf(out, pidf.drive);
+    writePidf(out, pidf.angle);
+  }
+
+  private static PIDFPropertiesJson readPidfProperties(ByteBuffer in)
+  {
+    PIDFPropertiesJson pidf = new PIDFPropertiesJson();
+    pidf.drive = readPidf(in);
+    pidf.angle = readPidf(in);
+    return pidf;
+  }
+
+  private static void writeGearing(DataOutputStream out, GearingJson gearing) throws IOException
+  {
+    out.writeDouble(gearing.drive.gearRatio);
+    out.writeDouble(gearing.drive.diameter);
+    out.writeDouble(gearing.angle.gearRatio);
+  }
+
+  private static GearingJson readGearing(ByteBuffer in)
+  {
+    GearingJson gearing = new GearingJson();
+    gearing.drive = new DriveGearingJson();
+    gearing.drive.gearRatio = in.getDouble();
+    gearing.drive.diameter = in.getDouble();
+    gearing.angle = new AngleGearingJson();
+    gearing.angle.gearRatio = in.getDouble();
+    return gearing;
+  }
+
+  private static void writePhysicalProperties(DataOutputStream out, PhysicalPropertiesJson physical)
+  throws IOException
+  {
+    writeGearing(out, physical.gearing);
+    out.writeInt(physical.statorCurrentLimit.drive);
+    out.writeInt(physical.statorCurrentLimit.angle);
+  }
+
+  private static PhysicalPropertiesJson readPhysicalProperties(ByteBuffer in)
+  {
+    PhysicalPropertiesJson physical = new PhysicalPropertiesJson();
+    physical.gearing = readGearing(in);
+    physical.statorCurrentLimit = new MotorConfigInt(in.getInt(), in.getInt());
+    return physical;
+  }
+
+  private static void writeModule(DataOutputStream out, ModuleJson module) throws IOException
+  {
+    writeDevice(out, module.drive);
+    writeDevice(out, module.angle);
+    writeDevice(out, module.absoluteEncoder);
+    writeGearing(out, module.gearing);
+    out.writeBoolean(module.inverted != null);
+    if (module.inverted != null)
+    {
+      out.writeBoolean(module.inverted.drive);
+      out.writeBoolean(module.inverted.angle);
+    }
+    out.writeDouble(module.absoluteEncoderOffset);
+    out.writeBoolean(module.absoluteEncoderInverted);
+    out.writeDouble(module.absoluteEncoderGearRatio);
+    out.writeBoolean(module.location != null);
+    if (module.location != null)
+    {
+      out.writeDouble(module.location.front);
+      out.writeDouble(module.location.left);
+    }
+  }
+
+  private static ModuleJson readModule(ByteBuffer in)
+  {
+    ModuleJson module = new ModuleJson();
+    module.drive = readDevice(in);
+    module.angle = readDevice(in);
+    module.absoluteEncoder = readDevice(in);
+    module.gearing = readGearing(in);
+    if (in.get() != 0)
+    {
+      module.inverted = new BoolMotorJson();
+      module.inverted.drive = in.get() != 0;
+      module.inverted.angle = in.get() != 0;
+    }
+    module.absoluteEncoderOffset = in.getDouble();
+    module.absoluteEncoderInverted = in.get() != 0;
+    module.absoluteEncoderGearRatio = in.getDouble();
+    if (in.get() != 0)
+    {
+      module.location = new LocationJson();
+      module.location.front = in.getDouble();
+      module.location.left = in.getDouble();
+    }
+    return module;
+  }
+}
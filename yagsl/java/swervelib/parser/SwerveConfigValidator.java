@@ -0,0 +1,460 @@
+package swervelib.parser;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import swervelib.parser.json.DeviceDescriptor;
+import swervelib.parser.json.DeviceDescriptor.Connection;
+import swervelib.parser.json.DeviceDescriptor.Kind;
+import swervelib.parser.json.DeviceJson;
+import swervelib.parser.json.ModuleJson;
+import swervelib.parser.json.PIDFPropertiesJson;
+import swervelib.parser.json.PhysicalPropertiesJson;
+import swervelib.parser.json.SwerveDriveJson;
+import swervelib.parser.json.modules.GearingJson;
+
+/**
+ * Collects every problem of a swerve configuration directory in one pass, so the robot fails on boot with a single
+ * report before any device is created or the CAN bus is touched.
+ *
+ * <p>Checked: missing or unreadable files, device type strings, duplicate CAN IDs per bus and device type, reused
+ * DIO/analog channels, missing module sections and zero effective gear ratios or wheel diameters.
+ */
+public class SwerveConfigValidator
+{
+
+  /**
+   * Device types sharing one CAN ID space, any other device type has its own.
+   */
+  private static final Map<String, String> CAN_ID_SPACES        = Map.of("sparkflex", "sparkmax");
+  /**
+   * Configuration directory.
+   */
+  private final        File                directory;
+  /**
+   * Problems found so far.
+   */
+  private final        List<String>        problems             = new ArrayList<>();
+  /**
+   * Devices by CAN ID, used to find duplicates.
+   */
+  private final        Map<String, String> canDevices           = new HashMap<>();
+  /**
+   * Devices by roboRIO DIO/analog channel, used to find reused channels.
+   */
+  private final        Map<String, String> smartIoDevices       = new HashMap<>();
+
+  /**
+   * Create a validator for a configuration directory.
+   *
+   * @param directory Swerve configuration directory.
+   */
+  public SwerveConfigValidator(File directory)
+  {
+    this.directory = directory;
+  }
+
+  /**
+   * Validate a configuration directory without creating a {@link SwerveParser}.
+   *
+   * @param directory Swerve configuration directory.
+   * @return Every problem found, empty if the configuration is valid.
+   */
+  public static List<String> validate(File directory)
+  {
+    var validator = new SwerveConfigValidator(directory);
+    if (validator.checkFiles())
+    {
+      SwerveDriveJson swerveDriveJson = validator.read(SwerveJsonReaders.SWERVE_DRIVE, "swervedrive.json");
+      PIDFPropertiesJson pidf = validator.read(SwerveJsonReaders.PIDF_PROPERTIES, "modules/pidfproperties.json");
+      PhysicalPropertiesJson physical = validator.read(SwerveJsonReaders.PHYSICAL_PROPERTIES,
+                                                       "modules/physicalproperties.json");
+      ModuleJson[] modules = validator.readModules(swerveDriveJson);
+      validator.check(swerveDriveJson, pidf, physical, modules);
+      if (new File(directory, "modules/pidfproperties_sim.json").exists())
+      {
+        validator.checkPidf("modules/pidfproperties_sim.json",
+                            validator.read(SwerveJsonReaders.PIDF_PROPERTIES, "modules/pidfproperties_sim.json"));
+      }
+    }
+    return List.copyOf(validator.problems);
+  }
+
+  /**
+   * Check that the directory and its fixed files exist.
+   *
+   * @return Whether every fixed file exists.
+   */
+  public boolean checkFiles()
+  {
+    int before = problems.size();
+    if (!directory.isDirectory())
+    {
+      problems.add("Directory " + directory + " does not exist");
+      return false;
+    }
+    for (String file : List.of("swervedrive.json", "modules/pidfproperties.json", "modules/physicalproperties.json"))
+    {
+      if (!new File(directory, file).isFile())
+      {
+        problems.add("Missing " + file);
+      }
+    }
+    return problems.size() == before;
+  }
+
+  /**
+   * Read a configuration file, recording a problem instead of throwing if it is missing or malformed.
+   *
+   * @param reader       Reader for the file type.
+   * @param relativePath File path relative to the configuration directory.
+   * @param <T>          Parsed type.
+   * @return Parsed file, or {@code null} if it could not be read.
+   */
+  public <T> T read(ObjectReader reader, String relativePath)
+  {
+    File file = new File(directory, relativePath);
+    if (!file.isFile())
+    {
+      problems.add("Missing " + relativePath);
+      return null;
+    }
+    try
+    {
+      return reader.readValue(file);
+    } catch (JsonProcessingException e)
+    {
+      problems.add("Could not parse " + relativePath + ": " + e.getOriginalMessage());
+      return null;
+    } catch (IOException e)
+    {
+      problems.add("Could not read " + relativePath + ": " + e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Read every module file listed in swervedrive.json.
+   *
+   * @param swerveDriveJson Parsed swervedrive.json, may be {@code null}.
+   * @return Parsed modules, entries are {@code null} if they could not be read.
+   */
+  public ModuleJson[] readModules(SwerveDriveJson swerveDriveJson)
+  {
+    if (swerveDriveJson == null || swerveDriveJson.modules == null)
+    {
+      return new ModuleJson[0];
+    }
+    ModuleJson[] modules = new ModuleJson[swerveDriveJson.modules.length];
+    for (int i = 0; i < modules.length; i++)
+    {
+      modules[i] = read(SwerveJsonReaders.MODULE, "modules/" + swerveDriveJson.modules[i]);
+    }
+    return modules;
+  }
+
+  /**
+   * Check the parsed configuration. {@code null} arguments were already reported while reading and are skipped.
+   *
+   * @param swerveDriveJson Parsed swervedrive.json
+   * @param pidf            Parsed modules/pidfproperties.json
+   * @param physical        Parsed modules/physicalproperties.json
+   * @param modules         Parsed module files in the order of swervedrive.json.
+   */
+  public void check(SwerveDriveJson swerveDriveJson, PIDFPropertiesJson pidf, PhysicalPropertiesJson physical,
+                    ModuleJson[] modules)
+  {
+    if (swerveDriveJson != null)
+    {
+      if (swerveDriveJson.modules == null || swerveDriveJson.modules.length == 0)
+      {
+        problems.add("swervedrive.json: no modules listed");
+      }
+      checkGyro(swerveDriveJson);
+    }
+    checkPidf("modules/pidfproperties.json", pidf);
+    if (physical != null && !checkGearing("modules/physicalproperties.json", physical.gearing))
+    {
+      physical = null;
+    }
+    for (int i = 0; i < modules.length; i++)
+    {
+      if (modules[i] != null)
+      {
+        checkModule("modules/" + swerveDriveJson.modules[i], modules[i], physical);
+      }
+    }
+  }
+
+  /**
+   * Check a PIDF properties file. A {@code null} file was already reported while reading and is skipped.
+   *
+   * @param file Path of the file for the report, e.g. "modules/pidfproperties_sim.json".
+   * @param pidf Parsed PIDF properties.
+   */
+  public void checkPidf(String file, PIDFPropertiesJson pidf)
+  {
+    if (pidf == null)
+    {
+      return;
+    }
+    if (pidf.drive == null)
+    {
+      problems.add(file + ": missing drive gains");
+    }
+    if (pidf.angle == null)
+    {
+      problems.add(file + ": missing angle gains");
+    }
+  }
+
+  /**
+   * Throw a {@link SwerveConfigurationException} with every problem found, if any.
+   *
+   * @throws SwerveConfigurationException if a problem was found.
+   */
+  public void throwIfInvalid()
+  {
+    if (!problems.isEmpty())
+    {
+      throw new SwerveConfigurationException(directory, problems);
+    }
+  }
+
+  /**
+   * Get the problems found so far.
+   *
+   * @return Unmodifiable list of problems.
+   */
+  public List<String> getProblems()
+  {
+    return List.copyOf(problems);
+  }
+
+  /**
+   * Check the gyroscope and axis of swervedrive.json.
+   *
+   * @param swerveDriveJson Parsed swervedrive.json
+   */
+  private void checkGyro(SwerveDriveJson swerveDriveJson)
+  {
+    String file = "swervedrive.json";
+    if (swerveDriveJson.gyro == null || swerveDriveJson.gyro.type == null)
+    {
+      problems.add(file + ": missing gyro");
+    } else
+    {
+      DeviceDescriptor type = descriptor(file, "gyro", swerveDriveJson.gyro);
+      if (type != null && type.getKind() != Kind.CUSTOM)
+      {
+        if (type.getKind() != Kind.GYRO || type.getConnection() != Connection.CAN || !type.isValid())
+        {
+          problems.add(file + ": unknown gyro type \"" + swerveDriveJson.gyro.type + "\"");
+        } else
+        {
+          checkCanId(file + " gyro", type.getDevice(), swerveDriveJson.gyro);
+        }
+      }
+    }
+    if (!Set.of("yaw", "pitch", "roll").contains(String.valueOf(swerveDriveJson.gyroAxis).toLowerCase()))
+    {
+      problems.add(file + ": unknown gyroAxis \"" + swerveDriveJson.gyroAxis + "\"");
+    }
+  }
+
+  /**
+   * Check a module file.
+   *
+   * @param file     Module file path for the report.
+   * @param module   Parsed module.
+   * @param physical Parsed physical properties providing the default gearing, may be {@code null}.
+   */
+  private void checkModule(String file, ModuleJson module, PhysicalPropertiesJson physical)
+  {
+    checkMotorController(file, "drive", module.drive);
+    checkMotorController(file, "angle", module.angle);
+    checkAbsoluteEncoder(file, module.absoluteEncoder);
+    if (module.inverted == null)
+    {
+      problems.add(file + ": missing inverted");
+    }
+    if (module.location == null)
+    {
+      problems.add(file + ": missing location");
+    }
+    if (checkGearing(file, module.gearing) && physical != null)
+    {
+      double driveRatio = module.gearing.drive.gearRatio != 0 ? module.gearing.drive.gearRatio
+                                                                : physical.gearing.drive.gearRatio;
+      double diameter = module.gearing.drive.gearRatio != 0 ? module.gearing.drive.diameter
+                                                              : physical.gearing.drive.diameter;
+      double angleRatio = module.gearing.angle.gearRatio != 0 ? module.gearing.angle.gearRatio
+                                                                : physical.gearing.angle.gearRatio;
+      if (driveRatio == 0)
+      {
+        problems.add(file + ": drive gear ratio is 0");
+      }
+      if (diameter <= 0)
+      {
+        problems.add(file + ": wheel diameter is " + diameter);
+      }
+      if (angleRatio == 0)
+      {
+        problems.add(file + ": angle gear ratio is 0");
+      }
+    }
+  }
+
+  /**
+   * Check that a gearing and its drive and angle gearing are present.
+   *
+   * @param file    File path for the report.
+   * @param gearing Parsed gearing.
+   * @return True if the gear ratios can be read.
+   */
+  private boolean checkGearing(String file, GearingJson gearing)
+  {
+    if (gearing == null)
+    {
+      problems.add(file + ": missing gearing");
+      return false;
+    }
+    if (gearing.drive == null)
+    {
+      problems.add(file + ": missing drive gearing");
+    }
+    if (gearing.angle == null)
+    {
+      problems.add(file + ": missing angle gearing");
+    }
+    return gearing.drive != null && gearing.angle != null;
+  }
+
+  /**
+   * Check a motor controller device.
+   *
+   * @param file   Module file path for the report.
+   * @param name   Device name in the module file.
+   * @param device Parsed device.
+   */
+  private void checkMotorController(String file, String name, DeviceJson device)
+  {
+    DeviceDescriptor type = descriptor(file, name, device);
+    if (type == null)
+    {
+      return;
+    }
+    if (type.getKind() != Kind.MOTOR_CONTROLLER)
+    {
+      problems.add(file + ": unknown " + name + " motor controller \"" + type.getDevice() + "\" in \"" + device.type +
+                   "\"");
+      return;
+    }
+    if (type.getMotor() == null)
+    {
+      String motor = device.type.substring(device.type.indexOf('_') + 1).toLowerCase();
+      problems.add(file + ": unknown " + name + " motor \"" + motor + "\" in \"" + device.type + "\"");
+    }
+    checkCanId(file + " " + name, type.getDevice(), device);
+  }
+
+  /**
+   * Check an absolute encoder device.
+   *
+   * @param file   Module file path for the report.
+   * @param device Parsed device.
+   */
+  private void checkAbsoluteEncoder(String file, DeviceJson device)
+  {
+    DeviceDescriptor type = descriptor(file, "absoluteEncoder", device);
+    if (type == null)
+    {
+      return;
+    }
+    if (type.getConnection() == null || type.getKind() == Kind.MOTOR_CONTROLLER)
+    {
+      String connection = device.type.substring(device.type.indexOf('_') + 1);
+      problems.add(file + ": unknown absoluteEncoder connection \"" + connection + "\" in \"" + device.type + "\"");
+      return;
+    }
+    boolean encoder = type.getKind() == Kind.ABSOLUTE_ENCODER && type.isValid();
+    switch (type.getConnection())
+    {
+      case ATTACHED:
+        if (!encoder)
+        {
+          problems.add(file + ": unknown attached absoluteEncoder \"" + device.type + "\"");
+        }
+        break;
+      case CAN:
+        if (!encoder)
+        {
+          problems.add(file + ": unknown CAN absoluteEncoder \"" + device.type + "\"");
+        } else
+        {
+          checkCanId(file + " absoluteEncoder", type.getDevice(), device);
+        }
+        break;
+      case DIO:
+      case ANALOG:
+        String channel = type.getConnection().name().toLowerCase() + " " + device.id;
+        String previous = smartIoDevices.putIfAbsent(channel, file + " absoluteEncoder");
+        if (previous != null)
+        {
+          problems.add(file + ": absoluteEncoder uses " + channel + " already used by " + previous);
+        }
+        break;
+      default:
+        problems.add(file + ": unknown absoluteEncoder connection \"" + type.getConnection().name().toLowerCase() +
+                     "\" in \"" + device.type + "\"");
+    }
+  }
+
+  /**
+   * Record the CAN ID of a device and report it if another device of the same type already uses it on that bus.
+   *
+   * @param owner      Device description for the report.
+   * @param deviceType Device type, e.g. "sparkmax".
+   * @param device     Parsed device.
+   */
+  private void checkCanId(String owner, String deviceType, DeviceJson device)
+  {
+    String idSpace  = CAN_ID_SPACES.getOrDefault(deviceType, deviceType);
+    String key      = idSpace + " " + device.id + " on bus \"" + (device.canbus == null ? "" : device.canbus) + "\"";
+    String previous = canDevices.putIfAbsent(key, owner);
+    if (previous != null)
+    {
+      problems.add(owner + ": duplicate CAN ID, " + key + " already used by " + previous);
+    }
+  }
+
+  /**
+   * Get the parsed type of a device.
+   *
+   * @param file   File path for the report.
+   * @param name   Device name in the file.
+   * @param device Parsed device, may be {@code null}.
+   * @return Parsed type, or {@code null} if the device or its type is missing or malformed.
+   */
+  private DeviceDescriptor descriptor(String file, String name, DeviceJson device)
+  {
+    if (device == null || device.type == null)
+    {
+      problems.add(file + ": missing " + name);
+      return null;
+    }
+    DeviceDescriptor type = device.getDescriptor();
+    if (!type.isWellFormed())
+    {
+      problems.add(file + ": " + name + " type \"" + device.type + "\" is not in the form <device>_<connection>");
+      return null;
+    }
+    return type;
+  }
+}
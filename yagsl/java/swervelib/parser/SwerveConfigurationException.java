@@ -0,0 +1,40 @@
+package swervelib.parser;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Thrown when a swerve configuration directory is invalid, before any device is created. Holds every problem found in
+ * the directory instead of only the first one.
+ */
+public class SwerveConfigurationException extends RuntimeException
+{
+
+  /**
+   * Problems found in the configuration.
+   */
+  private final List<String> problems;
+
+  /**
+   * Create the exception.
+   *
+   * @param directory Swerve configuration directory.
+   * @param problems  Problems found in the configuration, at least one.
+   */
+  public SwerveConfigurationException(File directory, List<String> problems)
+  {
+    super("Invalid swerve configuration " + directory + ", " + problems.size() + " problem(s):\n  - " +
+          String.join("\n  - ", problems));
+    this.problems = List.copyOf(problems);
+  }
+
+  /**
+   * Get the problems found in the configuration.
+   *
+   * @return Unmodifiable list of problem descriptions.
+   */
+  public List<String> getProblems()
+  {
+    return problems;
+  }
+}
@@ -0,0 +1,63 @@
+package swervelib.parser;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import swervelib.parser.json.ModuleJson;
+import swervelib.parser.json.PIDFPropertiesJson;
+import swervelib.parser.json.PhysicalPropertiesJson;
+import swervelib.parser.json.SwerveDriveJson;
+
+/**
+ * Shared JSON parsing engine for the swerve configuration directory. Holds a single configured {@link ObjectMapper}
+ * and pre-built, type-specific {@link ObjectReader}s so the deserializers for each configuration file are introspected
+ * once per JVM instead of once per file.
+ *
+ * @implNote {@link ObjectReader}s are immutable and thread-safe, they may be shared freely between parsers.
+ */
+public final class SwerveJsonReaders
+{
+
+  /**
+   * Mapper shared by every reader, configured to ignore unknown properties.
+   */
+  private static final ObjectMapper MAPPER              = new ObjectMapper()
+      .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+  /**
+   * Reader for swervedrive.json
+   */
+  public static final  ObjectReader SWERVE_DRIVE        = MAPPER.readerFor(SwerveDriveJson.class);
+  /**
+   * Reader for modules/pidfproperties.json
+   */
+  public static final  ObjectReader PIDF_PROPERTIES     = MAPPER.readerFor(PIDFPropertiesJson.class);
+  /**
+   * Reader for modules/physicalproperties.json
+   */
+  public static final  ObjectReader PHYSICAL_PROPERTIES = MAPPER.readerFor(PhysicalPropertiesJson.class);
+  /**
+   * Reader for the module files listed in swervedrive.json
+   */
+  public static final  ObjectReader MODULE              = MAPPER.readerFor(ModuleJson.class);
+  /**
+   * Reader for untyped JSON trees.
+   */
+  public static final  ObjectReader TREE                = MAPPER.readerFor(JsonNode.class);
+
+  /**
+   * Utility class.
+   */
+  private SwerveJsonReaders()
+  {
+  }
+
+  /**
+   * Force the static initialization of the shared mapper and readers. Useful to pay the one-time introspection cost
+   * early, e.g. while the rest of the robot is still booting.
+   */
+  public static void warmup()
+  {
+    // Class initialization builds every reader.
+  }
+}
@@ -1,8 +1,6 @@
 package swervelib.parser;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import edu.wpi.first.math.Pair;
 
@@ -13,10 +11,27 @@ import edu.wpi.first.units.measure.LinearVelocity;
 import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 import edu.wpi.first.wpilibj.RobotBase;
+import swervelib.parser.deserializer.CANFramePlanner;
+import swervelib.parser.deserializer.DeviceConfigBatch;
+import swervelib.parser.deserializer.DeviceRegistry;
+import swervelib.parser.json.DeviceDescriptor;
 import swervelib.parser.json.DeviceJson.VENDOR;
 import swervelib.parser.json.ModuleJson;
 import swervelib.parser.json.PIDFPropertiesJson;
@@ -25,6 +40,8 @@ import swervelib.parser.json.SwerveDriveJson;
 import swervelib.parser.json.SwerveDriveJson.GyroAxis;
 import swervelib.parser.json.modules.AngleGearingJson;
 import swervelib.parser.json.modules.DriveGearingJson;
+import swervelib.telemetry.StartupProfiler;
+import swervelib.telemetry.SwerveDriveTelemetry;
 import yams.gearing.GearBox;
 import yams.mechanisms.config.SwerveDriveConfig;
 import yams.mechanisms.config.SwerveModuleConfig;
@@ -46,82 +63,221 @@ import static edu.wpi.first.units.Units.*;
  */
 public class SwerveParser {
 
+  /**
+   * Time in milliseconds one read of the module absolute encoders without a
+   * vendor cache is served to every module, half a 20 ms robot loop.
+   */
+  public static final long MODULE_SENSOR_PERIOD_MS = 10;
+  /**
+   * Number of drives created, names the device scope of each drive.
+   */
+  private static final AtomicInteger driveCount = new AtomicInteger();
   /**
    * Module number mapped to the JSON name.
    */
-  private static final HashMap<String, Integer> moduleConfigs = new HashMap<>();
+  private final Map<String, Integer> moduleConfigs;
   /**
    * Parsed swervedrive.json
    */
-  public static SwerveDriveJson swerveDriveJson;
+  public final SwerveDriveJson swerveDriveJson;
   /**
    * Parsed modules/pidfproperties.json
    */
-  public static PIDFPropertiesJson pidfPropertiesJson;
+  public final PIDFPropertiesJson pidfPropertiesJson;
   /**
    * Parsed modules/physicalproperties.json
    */
-  public static PhysicalPropertiesJson physicalPropertiesJson;
+  public final PhysicalPropertiesJson physicalPropertiesJson;
   /**
    * Array holding the module jsons given in {@link SwerveDriveJson}.
    */
-  public static ModuleJson[] moduleJsons;
+  public final ModuleJson[] moduleJsons;
+  /**
+   * Startup profile of the parse, reported with the first drive created from
+   * this parser.
+   */
+  private final AtomicReference<StartupProfiler.Phase> parsePhase = new AtomicReference<>();
 
   /**
-   * Construct a swerve parser.
+   * Construct a swerve parser holding a parsed configuration.
+   *
+   * @param swerveDriveJson        Parsed swervedrive.json
+   * @param pidfPropertiesJson     Parsed modules/pidfproperties.json
+   * @param physicalPropertiesJson Parsed modules/physicalproperties.json
+   * @param moduleJsons            Parsed module files in the order given in
+   *                               swervedrive.json
    */
-  public SwerveParser() {
+  private SwerveParser(
+      SwerveDriveJson swerveDriveJson,
+      PIDFPropertiesJson pidfPropertiesJson,
+      PhysicalPropertiesJson physicalPropertiesJson,
+      ModuleJson[] moduleJsons) {
+    this.swerveDriveJson = swerveDriveJson;
+    this.pidfPropertiesJson = pidfPropertiesJson;
+    this.physicalPropertiesJson = physicalPropertiesJson;
+    this.moduleJsons = moduleJsons;
+    Map<String, Integer> configs = new HashMap<>();
+    for (int i = 0; i < moduleJsons.length; i++) {
+      configs.put(swerveDriveJson.modules[i], i);
+    }
+    this.moduleConfigs = Collections.unmodifiableMap(configs);
   }
 
   /**
    * Parses a swerve configuration directory and creates a {@link SwerveParser}
    * containing the parsed configuration.
    *
+   * <p>
+   * Every parser owns its configuration, so different directories may be parsed
+   * and built concurrently from different threads. In simulation, or when
+   * enabled with {@link SwerveParserCache#setEnabled(boolean)}, parsing a
+   * directory whose JSON files did not change since they were parsed skips
+   * Jackson and returns a new parser restored from a cached snapshot, see
+   * {@link SwerveParserCache}.
+   *
    * @param directory the directory containing the swerve configuration files
    * @return a {@link SwerveParser} containing the parsed configuration
-   * @throws UncheckedIOException if the directory or any of its configuration
-   *                              files
-   *                              cannot be read
+   * @throws UncheckedIOException         if the directory or any of its
+   *                                      configuration files cannot be read
+   * @throws SwerveConfigurationException if the configuration is invalid,
+   *                                      listing every problem found
    */
   public static SwerveParser parse(File directory) {
-    SwerveParser inst = new SwerveParser();
-
     try {
-      parseDirectory(directory);
+      return SwerveParserCache.isEnabled()
+          ? SwerveParserCache.getOrParse(directory)
+          : parseDirectory(directory);
     } catch (IOException e) {
       throw new UncheckedIOException("Failed to parse swerve directory: " + directory, e);
     }
+  }
+
+  /**
+   * Parses a swerve configuration directory, preferring its compiled
+   * {@link SwerveConfigArtifact} when it is up to date.
+   *
+   * @param directory the directory containing the swerve configuration files
+   * @return a {@link SwerveParser} containing the parsed configuration
+   * @throws IOException                  if the directory or any of its
+   *                                      configuration files cannot be read
+   * @throws SwerveConfigurationException if the configuration is invalid,
+   *                                      listing every problem found
+   */
+  public static SwerveParser parseDirectory(File directory) throws IOException {
+    try (var phase = StartupProfiler.phase("Parse " + directory.getName())) {
+      SwerveParser parser = readDirectory(directory);
+      parser.parsePhase.set(phase);
+      return parser;
+    }
+  }
 
-    return inst;
+  /**
+   * Encode the parsed configuration as an immutable snapshot for
+   * {@link SwerveParserCache}.
+   *
+   * @return Snapshot bytes in the payload format of {@link SwerveConfigArtifact}.
+   */
+  byte[] snapshot() {
+    return new SwerveConfigArtifact(swerveDriveJson, pidfPropertiesJson, null, physicalPropertiesJson, moduleJsons)
+        .encode();
   }
 
-  public static void parseDirectory(File directory) throws IOException {
-    checkDirectory(directory);
-    swerveDriveJson = new ObjectMapper()
-        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-        .readValue(new File(directory, "swervedrive.json"), SwerveDriveJson.class);
-    var pidfFile = new File(directory, "modules/pidfproperties.json");
-    var simPidfFile = new File(directory, "modules/pidfproperties_sim.json");
-    if (simPidfFile.exists() && RobotBase.isSimulation()) {
-      pidfFile = simPidfFile;
+  /**
+   * Create a parser with its own JSON models from a snapshot taken by
+   * {@link #snapshot()}.
+   *
+   * @param directory the directory the snapshot was parsed from
+   * @param snapshot  Snapshot bytes.
+   * @return a new {@link SwerveParser} holding the snapshot configuration
+   */
+  static SwerveParser fromSnapshot(File directory, byte[] snapshot) {
+    try (var phase = StartupProfiler.phase("Parse " + directory.getName() + " from cache")) {
+      var contents = SwerveConfigArtifact.decode(ByteBuffer.wrap(snapshot));
+      SwerveParser parser = new SwerveParser(contents.swerveDriveJson, contents.pidfPropertiesJson,
+          contents.physicalPropertiesJson, contents.moduleJsons);
+      parser.parsePhase.set(phase);
+      return parser;
     }
-    pidfPropertiesJson = new ObjectMapper()
-        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-        .readValue(pidfFile, PIDFPropertiesJson.class);
-    physicalPropertiesJson = new ObjectMapper()
-        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-        .readValue(
-            new File(directory, "modules/physicalproperties.json"),
-            PhysicalPropertiesJson.class);
-    moduleJsons = new ModuleJson[swerveDriveJson.modules.length];
-    for (int i = 0; i < moduleJsons.length; i++) {
-      moduleConfigs.put(swerveDriveJson.modules[i], i);
-      File moduleFile = new File(directory, "modules/" + swerveDriveJson.modules[i]);
-      assert moduleFile.exists();
-      moduleJsons[i] = new ObjectMapper()
-          .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-          .readValue(moduleFile, ModuleJson.class);
+  }
+
+  /**
+   * Read and validate a swerve configuration directory, from its compiled
+   * {@link SwerveConfigArtifact} when it is up to date.
+   *
+   * @param directory the directory containing the swerve configuration files
+   * @return a {@link SwerveParser} containing the parsed configuration
+   * @throws IOException if the directory or any of its configuration files
+   *                     cannot be read
+   */
+  private static SwerveParser readDirectory(File directory) throws IOException {
+    var validator = new SwerveConfigValidator(directory);
+    if (!validator.checkFiles()) {
+      validator.throwIfInvalid();
+    }
+    Optional<SwerveConfigArtifact> artifact;
+    try (var phase = StartupProfiler.phase("Load compiled artifact")) {
+      artifact = SwerveConfigArtifact.load(directory);
+    }
+    if (artifact.isPresent()) {
+      return fromArtifact(artifact.get(), validator);
     }
+    SwerveDriveJson swerveDriveJson;
+    PIDFPropertiesJson pidfPropertiesJson;
+    PhysicalPropertiesJson physicalPropertiesJson;
+    ModuleJson[] moduleJsons;
+    try (var phase = StartupProfiler.phase("Read JSON")) {
+      swerveDriveJson = validator.read(SwerveJsonReaders.SWERVE_DRIVE, "swervedrive.json");
+      var pidfFile = "modules/pidfproperties.json";
+      if (new File(directory, "modules/pidfproperties_sim.json").exists() && RobotBase.isSimulation()) {
+        pidfFile = "modules/pidfproperties_sim.json";
+      }
+      pidfPropertiesJson = validator.read(SwerveJsonReaders.PIDF_PROPERTIES, pidfFile);
+      physicalPropertiesJson = validator.read(SwerveJsonReaders.PHYSICAL_PROPERTIES,
+          "modules/physicalproperties.json");
+      moduleJsons = validator.readModules(swerveDriveJson);
+    }
+    try (var phase = StartupProfiler.phase("Validate")) {
+      validator.check(swerveDriveJson, pidfPropertiesJson, physicalPropertiesJson, moduleJsons);
+      validator.throwIfInvalid();
+    }
+    return new SwerveParser(swerveDriveJson, pidfPropertiesJson, physicalPropertiesJson, moduleJsons);
+  }
+
+  /**
+   * Create a parser from a compiled {@link SwerveConfigArtifact} instead of the
+   * JSON files.
+   *
+   * @param artifact  Compiled configuration artifact, already checked against
+   *                  the JSON sources.
+   * @param validator Validator of the configuration directory.
+   * @return a {@link SwerveParser} containing the compiled configuration
+   */
+  private static SwerveParser fromArtifact(SwerveConfigArtifact artifact, SwerveConfigValidator validator) {
+    var pidfPropertiesJson = artifact.simPidfPropertiesJson != null && RobotBase.isSimulation()
+        ? artifact.simPidfPropertiesJson
+        : artifact.pidfPropertiesJson;
+    try (var phase = StartupProfiler.phase("Validate")) {
+      validator.check(artifact.swerveDriveJson, pidfPropertiesJson, artifact.physicalPropertiesJson,
+          artifact.moduleJsons);
+      validator.throwIfInvalid();
+    }
+    return new SwerveParser(
+        artifact.swerveDriveJson,
+        pidfPropertiesJson,
+        artifact.physicalPropertiesJson,
+        artifact.moduleJsons);
+  }
+
+  /**
+   * Get the index of a module in swervedrive.json.
+   *
+   * @param moduleFile Module file name as listed in swervedrive.json, e.g.
+   *                   "frontleft.json".
+   * @return Module index, or -1 if the module is not part of this
+   *         configuration.
+   */
+  public int getModuleIndex(String moduleFile) {
+    return moduleConfigs.getOrDefault(moduleFile, -1);
   }
 
   /**
@@ -132,76 +288,309 @@ public class SwerveParser {
    */
   private static JsonNode openJson(File file) {
     try {
-      return new ObjectMapper().readTree(file);
+      return SwerveJsonReaders.TREE.readValue(file);
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
   }
 
   /**
-   * Check directory structure.
+   * Create a {@link SwerveDrive} from the parsed JSON configuration. Only reads
+   * the state of this parser, so parsers of different configurations may build
+   * their drives concurrently.
    *
-   * @param directory JSON Configuration Directory
+   * @param swerveDriveConfig {@link SwerveDriveConfig} to apply to the created
+   *                          {@link SwerveDrive}.
+   * @return Configured {@link SwerveDrive}.
    */
-  private static void checkDirectory(File directory) {
-    assert new File(directory, "swervedrive.json").exists();
-    assert new File(directory, "modules").exists() && new File(directory, "modules").isDirectory();
-    assert new File(directory, "modules/pidfproperties.json").exists();
-    assert new File(directory, "modules/physicalproperties.json").exists();
+  public SwerveDrive createSwerveDrive(SwerveDriveConfig swerveDriveConfig) {
+    return createSwerveDrive(swerveDriveConfig, 1);
   }
 
   /**
-   * Create a {@link SwerveDrive} from the parsed JSON configuration.
+   * Create a {@link SwerveDrive} from the parsed JSON configuration, building
+   * up to {@code moduleThreads} modules at the same time.
+   *
+   * <p>
+   * Module hardware (motor controllers, absolute encoders and their
+   * configuration) is created on a bounded pool of daemon threads. Modules are
+   * still assembled in the order given in swervedrive.json, and if any module
+   * fails the exception of the first failing module (in that order) is thrown
+   * with the failures of the later modules attached as suppressed exceptions.
+   * Device configurations (CANcoder direction, attached encoder settings) are
+   * applied concurrently in a {@link DeviceConfigBatch}, every device that
+   * failed is reported in one
+   * {@link swervelib.parser.deserializer.DeviceConfigurationException}.
+   * Status frame periods follow the {@link #planCANFrames()} plan. Absolute
+   * encoders the modules read themselves share one {@link CacheGroup} when
+   * their supplier reads the device directly, so one read refreshes all of
+   * them and serves them for {@value #MODULE_SENSOR_PERIOD_MS} ms. CANcoders
+   * and ThriftyBot encoders are already cached by their vendor class and are
+   * read through that cache only, see {@link #isCachedByVendor(VENDOR)}.
+   *
+   * <p>
+   * The devices of the drive belong to it until
+   * {@link #closeSwerveDrive(SwerveDrive)}, creating another drive on the same
+   * CAN IDs before that fails instead of sharing them. The devices of a drive
+   * that failed to build are released right away.
+   *
+   * @param swerveDriveConfig {@link SwerveDriveConfig} to apply to the created
+   *                          {@link SwerveDrive}.
+   * @param moduleThreads     Maximum number of modules to build at the same
+   *                          time, 1 or less builds them one after another on
+   *                          the calling thread.
+   * @return Configured {@link SwerveDrive}.
+   * @see StartupProfiler
+   */
+  public SwerveDrive createSwerveDrive(SwerveDriveConfig swerveDriveConfig, int moduleThreads) {
+    return createSwerveDrive(swerveDriveConfig, moduleThreads, planCANFrames());
+  }
+
+  /**
+   * Create a {@link SwerveDrive} like
+   * {@link #createSwerveDrive(SwerveDriveConfig, int)} with the status frame
+   * periods of the given plan, e.g. one made by
+   * {@link #planCANFrames(double, double)} for a robot that does not run at
+   * 20 ms.
    *
    * @param swerveDriveConfig {@link SwerveDriveConfig} to apply to the created
    *                          {@link SwerveDrive}.
+   * @param moduleThreads     Maximum number of modules to build at the same
+   *                          time, 1 or less builds them one after another on
+   *                          the calling thread.
+   * @param framePlan         Status frame periods of the devices, null to keep
+   *                          the vendor defaults.
    * @return Configured {@link SwerveDrive}.
    */
-  public static SwerveDrive createSwerveDrive(SwerveDriveConfig swerveDriveConfig) {
-    SwerveModule[] modules = new SwerveModule[swerveDriveJson.modules.length];
-    LinearVelocity totalMaxModuleSpeed = MetersPerSecond.zero();
+  public SwerveDrive createSwerveDrive(SwerveDriveConfig swerveDriveConfig, int moduleThreads,
+      CANFramePlanner.Plan framePlan) {
+    var phase = StartupProfiler.phase("Create SwerveDrive");
+    var devices = DeviceRegistry.get().open("SwerveDrive " + driveCount.incrementAndGet());
+    try {
+      phase.adopt(parsePhase.getAndSet(null));
+      SwerveModule[] modules = new SwerveModule[swerveDriveJson.modules.length];
+      LinearVelocity totalMaxModuleSpeed = MetersPerSecond.zero();
+      // Absolute encoders read by the modules without a vendor cache are
+      // refreshed together, one read per period for all of them.
+      CacheGroup sensors = new CacheGroup(MODULE_SENSOR_PERIOD_MS);
+
+      // Device configurations are queued while the hardware of every module is
+      // created and applied concurrently, the modules are assembled once all
+      // of them are applied. The batch hands the frame plan to the vendor
+      // classes.
+      ModuleBuild[] builds;
+      try (var batch = DeviceConfigBatch.open(DeviceConfigBatch.DEFAULT_TIMEOUT, framePlan)) {
+        builds = moduleThreads > 1 && modules.length > 1
+            ? createModulesInParallel(swerveDriveConfig, Math.min(moduleThreads, modules.length))
+            : createModulesSequentially(swerveDriveConfig);
+        batch.await();
+      }
+      if (framePlan != null) {
+        framePlan.publish();
+      }
+
+      for (int i = 0; i < modules.length; i++) {
+        modules[i] = createSwerveModule(moduleJsons[i], builds[i].hardware, i, sensors);
+        totalMaxModuleSpeed = totalMaxModuleSpeed.plus(builds[i].maxModuleSpeed);
+      }
+
+      configureSwerveDrive(
+          swerveDriveConfig,
+          modules,
+          totalMaxModuleSpeed.div(modules.length));
+
+      SwerveDrive drive;
+      try (var drivePhase = StartupProfiler.phase("SwerveDrive")) {
+        drive = new SwerveDrive(swerveDriveConfig);
+      }
+      devices.keep(drive);
+      return drive;
+    } finally {
+      devices.close();
+      phase.close();
+      // Report the profile of a failed build too, it shows which device hung.
+      if (phase.isRoot()) {
+        StartupProfiler.publish(phase);
+      }
+    }
+  }
+
+  /**
+   * Release the motor controllers, encoders and gyro of a drive created by this
+   * class, closing the devices no other drive uses. Call it before creating
+   * another drive on the same CAN IDs, e.g. between simulation runs.
+   *
+   * @param drive {@link SwerveDrive} created by
+   *              {@link #createSwerveDrive(SwerveDriveConfig, int)}.
+   * @return True if the devices of the drive were released, false if it was
+   *         already closed or not created by this class.
+   */
+  public static boolean closeSwerveDrive(SwerveDrive drive) {
+    return DeviceRegistry.get().releaseAll(drive);
+  }
 
-    for (int i = 0; i < modules.length; i++) {
-      ModuleJson moduleJson = moduleJsons[i];
+  /**
+   * Create the {@link SwerveDrive} on a background daemon thread, so the rest of
+   * the robot can initialize while the motor controllers, encoders and gyro are
+   * created over CAN.
+   *
+   * @param swerveDriveConfig {@link SwerveDriveConfig} to apply to the created
+   *                          {@link SwerveDrive}.
+   * @return Future completed with the configured {@link SwerveDrive}, or
+   *         exceptionally if it could not be created.
+   * @see #createSwerveDriveAsync(SwerveDriveConfig, int)
+   */
+  public CompletableFuture<SwerveDrive> createSwerveDriveAsync(SwerveDriveConfig swerveDriveConfig) {
+    return createSwerveDriveAsync(swerveDriveConfig, 1);
+  }
 
-      ModuleGearings gearings = resolveGearings(moduleJson);
+  /**
+   * Create the {@link SwerveDrive} on a background daemon thread, building up
+   * to {@code moduleThreads} modules at the same time.
+   *
+   * <p>
+   * Nothing may use the {@link SwerveDrive} or schedule commands requiring it
+   * until the future is done, poll it from the robot loop with
+   * {@link CompletableFuture#isDone()} instead of blocking on it.
+   *
+   * @param swerveDriveConfig {@link SwerveDriveConfig} to apply to the created
+   *                          {@link SwerveDrive}.
+   * @param moduleThreads     Maximum number of modules to build at the same
+   *                          time, see
+   *                          {@link #createSwerveDrive(SwerveDriveConfig, int)}.
+   * @return Future completed with the configured {@link SwerveDrive}, or
+   *         exceptionally if it could not be created.
+   */
+  public CompletableFuture<SwerveDrive> createSwerveDriveAsync(SwerveDriveConfig swerveDriveConfig,
+      int moduleThreads) {
+    return CompletableFuture.supplyAsync(
+        StartupProfiler.wrapSupplier(() -> createSwerveDrive(swerveDriveConfig, moduleThreads)),
+        runnable -> {
+          Thread thread = new Thread(runnable, "YAGSL SwerveDrive Builder");
+          thread.setDaemon(true);
+          thread.start();
+        });
+  }
 
-      SmartMotorControllerConfig driveConfig = createDriveMotorConfig(swerveDriveConfig, moduleJson, gearings.drive, i);
+  /**
+   * Plan the CAN status frame periods of every device in the configuration for
+   * the current {@link SwerveDriveTelemetry#verbosity}.
+   *
+   * @return Frame periods and predicted load of each CAN bus.
+   * @see CANFramePlanner
+   */
+  public CANFramePlanner.Plan planCANFrames() {
+    return planCANFrames(CANFramePlanner.DEFAULT_LOOP_PERIOD, CANFramePlanner.DEFAULT_TARGET_UTILIZATION);
+  }
 
-      SmartMotorControllerConfig azimuthConfig = createAzimuthMotorConfig(swerveDriveConfig, moduleJson,
-          gearings.azimuth, i);
+  /**
+   * Plan the CAN status frame periods of every device in the configuration for
+   * the current {@link SwerveDriveTelemetry#verbosity}.
+   *
+   * @param loopPeriod        Robot loop period in seconds control frames are
+   *                          sent at.
+   * @param targetUtilization Fraction of each bus' bandwidth the swerve devices
+   *                          may use.
+   * @return Frame periods and predicted load of each CAN bus.
+   * @see CANFramePlanner
+   */
+  public CANFramePlanner.Plan planCANFrames(double loopPeriod, double targetUtilization) {
+    var planner = new CANFramePlanner(SwerveDriveTelemetry.verbosity, loopPeriod, targetUtilization);
+    for (ModuleJson module : moduleJsons) {
+      planner.add(module.drive, null)
+          .add(module.angle, null)
+          .add(module.absoluteEncoder, module.angle);
+    }
+    return planner.add(swerveDriveJson.gyro, null).plan();
+  }
 
-      ModuleHardware hardware = createModuleHardware(moduleJson, azimuthConfig, driveConfig, swerveDriveConfig);
+  private ModuleBuild[] createModulesSequentially(SwerveDriveConfig swerveDriveConfig) {
+    ModuleBuild[] builds = new ModuleBuild[swerveDriveJson.modules.length];
+    for (int i = 0; i < builds.length; i++) {
+      builds[i] = createModule(swerveDriveConfig, i);
+    }
+    return builds;
+  }
 
-      totalMaxModuleSpeed = totalMaxModuleSpeed.plus(
-          calculateMaxModuleSpeed(driveConfig, hardware.driveMotorController));
+  private ModuleBuild[] createModulesInParallel(SwerveDriveConfig swerveDriveConfig, int threads) {
+    ModuleBuild[] builds = new ModuleBuild[swerveDriveJson.modules.length];
+    AtomicInteger threadCount = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, "YAGSL Module Builder " + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
 
-      // Automatic theorhetical feedforward for drive motors.
-      if ((pidfPropertiesJson.drive.v) == 0) {
-        var sff = new SimpleMotorFeedforward(
-            pidfPropertiesJson.drive.s,
-            12.0 / driveConfig.convertToMechanism(calculateMaxModuleSpeed(driveConfig, hardware.driveMotorController))
-                .in(RotationsPerSecond),
-            pidfPropertiesJson.drive.a);
-        driveConfig.withFeedforward(sff);
-        hardware.driveMotorController.setFeedforward(sff.getKs(), sff.getKv(), sff.getKa(), 0);
+    try {
+      List<Future<ModuleBuild>> futures = new ArrayList<>(builds.length);
+      for (int i = 0; i < builds.length; i++) {
+        final int moduleIndex = i;
+        futures.add(executor.submit(
+            DeviceRegistry.wrap(DeviceConfigBatch.wrap(
+                StartupProfiler.wrap(() -> createModule(swerveDriveConfig, moduleIndex))))));
       }
 
-      modules[i] = createSwerveModule(
-          moduleJson,
-          hardware,
-          i);
+      RuntimeException failure = null;
+      for (int i = 0; i < builds.length; i++) {
+        try {
+          builds[i] = futures.get(i).get();
+        } catch (ExecutionException e) {
+          var moduleFailure = new RuntimeException(
+              "Failed to create swerve module " + getModuleName(i), e.getCause());
+          if (failure == null) {
+            failure = moduleFailure;
+          } else {
+            failure.addSuppressed(moduleFailure);
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new RuntimeException("Interrupted while creating swerve modules", e);
+        }
+      }
+      if (failure != null) {
+        throw failure;
+      }
+    } finally {
+      executor.shutdownNow();
     }
+    return builds;
+  }
+
+  private ModuleBuild createModule(SwerveDriveConfig swerveDriveConfig, int moduleIndex) {
+    try (var phase = StartupProfiler.phase("Module " + getModuleName(moduleIndex))) {
+      return buildModule(swerveDriveConfig, moduleIndex);
+    }
+  }
+
+  private ModuleBuild buildModule(SwerveDriveConfig swerveDriveConfig, int moduleIndex) {
+    ModuleJson moduleJson = moduleJsons[moduleIndex];
+
+    ModuleGearings gearings = resolveGearings(moduleJson);
+
+    SmartMotorControllerConfig driveConfig = createDriveMotorConfig(swerveDriveConfig, moduleJson, gearings.drive,
+        moduleIndex);
+
+    SmartMotorControllerConfig azimuthConfig = createAzimuthMotorConfig(swerveDriveConfig, moduleJson,
+        gearings.azimuth, moduleIndex);
+
+    ModuleHardware hardware = createModuleHardware(moduleJson, azimuthConfig, driveConfig, swerveDriveConfig);
 
-    configureSwerveDrive(
-        swerveDriveConfig,
-        modules,
-        totalMaxModuleSpeed.div(modules.length));
+    LinearVelocity maxModuleSpeed = calculateMaxModuleSpeed(driveConfig, hardware.driveMotorController);
 
-    return new SwerveDrive(swerveDriveConfig);
+    // Automatic theorhetical feedforward for drive motors.
+    if ((pidfPropertiesJson.drive.v) == 0) {
+      var sff = new SimpleMotorFeedforward(
+          pidfPropertiesJson.drive.s,
+          theoreticalDriveKv(driveConfig, hardware.driveMotorController),
+          pidfPropertiesJson.drive.a);
+      driveConfig.withFeedforward(sff);
+      hardware.driveMotorController.setFeedforward(sff.getKs(), sff.getKv(), sff.getKa(), 0);
+    }
+
+    return new ModuleBuild(hardware, maxModuleSpeed);
   }
 
-  private static ModuleGearings resolveGearings(ModuleJson moduleJson) {
+  private ModuleGearings resolveGearings(ModuleJson moduleJson) {
     var driveGearing = physicalPropertiesJson.gearing.drive;
     var azimuthGearing = physicalPropertiesJson.gearing.angle;
 
@@ -216,7 +605,7 @@ public class SwerveParser {
     return new ModuleGearings(driveGearing, azimuthGearing);
   }
 
-  private static SmartMotorControllerConfig createDriveMotorConfig(
+  private SmartMotorControllerConfig createDriveMotorConfig(
       SwerveDriveConfig swerveDriveConfig,
       ModuleJson moduleJson,
       DriveGearingJson driveGearing,
@@ -257,7 +646,7 @@ public class SwerveParser {
                 }, true));
   }
 
-  private static SmartMotorControllerConfig createAzimuthMotorConfig(
+  private SmartMotorControllerConfig createAzimuthMotorConfig(
       SwerveDriveConfig swerveDriveConfig,
       ModuleJson moduleJson,
       AngleGearingJson azimuthGearing,
@@ -310,23 +699,41 @@ public class SwerveParser {
 
     var absoluteEncoderVendor = moduleJson.absoluteEncoder.getVendor(azimuthMotorVendor);
 
-    var vendorMotorController = moduleJson.angle.getSmartMotorController(azimuthConfig);
+    SmartMotorController vendorMotorController;
+    try (var phase = StartupProfiler.phase("Azimuth motor")) {
+      vendorMotorController = moduleJson.angle.getSmartMotorController(azimuthConfig);
+    }
 
-    var absoluteEncoder = moduleJson.absoluteEncoder.getAbsoluteEncoder(
-        moduleJson.angle.getMotorController(),
-        vendorMotorController,
-        moduleJson.absoluteEncoderInverted);
+    Pair<Supplier<Angle>, Object> absoluteEncoder;
+    try (var phase = StartupProfiler.phase("Absolute encoder")) {
+      absoluteEncoder = moduleJson.absoluteEncoder.getAbsoluteEncoder(
+          moduleJson.angle.getMotorController(),
+          vendorMotorController,
+          moduleJson.absoluteEncoderInverted);
+    }
 
+    // The azimuth motor controller is registered once per CAN ID, so the
+    // external encoder is applied to the same wrapper. It is queued behind the
+    // attached encoder configuration of the same motor controller, so the two
+    // never configure it at the same time.
+    SmartMotorController azimuthMotorController = vendorMotorController;
     if (absoluteEncoderVendor == azimuthMotorVendor
         && swerveDriveConfig.useExternalFeedbackSensor()) {
       azimuthConfig
           .withExternalEncoder(absoluteEncoder.getSecond())
           .withUseExternalFeedbackEncoder(true);
+      String device = DeviceConfigBatch.deviceName(azimuthMotorController.getMotorController(), moduleJson.angle.id);
+      DeviceConfigBatch.apply(device, () -> {
+        try (var phase = StartupProfiler.phase("Azimuth motor with external encoder")) {
+          azimuthMotorController.applyConfig(azimuthConfig);
+        }
+      });
     }
 
-    var azimuthMotorController = moduleJson.angle.getSmartMotorController(azimuthConfig);
-
-    var driveMotorController = moduleJson.drive.getSmartMotorController(driveConfig);
+    SmartMotorController driveMotorController;
+    try (var phase = StartupProfiler.phase("Drive motor")) {
+      driveMotorController = moduleJson.drive.getSmartMotorController(driveConfig);
+    }
 
     return new ModuleHardware(
         driveMotorController,
@@ -344,10 +751,27 @@ public class SwerveParser {
             driveMotorController.getDCMotor().freeSpeedRadPerSec));
   }
 
-  private static SwerveModule createSwerveModule(
+  /**
+   * Theoretical drive kV, the voltage per mechanism rotation per second needed
+   * to reach the free speed of the drive motor at 12V. Used when the drive kV in
+   * pidfproperties.json is 0.
+   *
+   * @param driveConfig          Drive {@link SmartMotorControllerConfig}.
+   * @param driveMotorController Drive {@link SmartMotorController}.
+   * @return Theoretical kV.
+   */
+  static double theoreticalDriveKv(
+      SmartMotorControllerConfig driveConfig,
+      SmartMotorController driveMotorController) {
+    return 12.0 / driveConfig.convertToMechanism(calculateMaxModuleSpeed(driveConfig, driveMotorController))
+        .in(RotationsPerSecond);
+  }
+
+  private SwerveModule createSwerveModule(
       ModuleJson moduleJson,
       ModuleHardware hardware,
-      int moduleIndex) {
+      int moduleIndex,
+      CacheGroup sensors) {
     SwerveModuleConfig config = new SwerveModuleConfig(
         hardware.driveMotorController,
         hardware.azimuthMotorController)
@@ -366,18 +790,38 @@ public class SwerveParser {
             TelemetryVerbosity.LOW);
 
     if (hardware.absoluteEncoderVendor != hardware.azimuthMotorVendor) {
-      config.withAbsoluteEncoder(
-          hardware.absoluteEncoder.getFirst());
+      Supplier<Angle> reading = hardware.absoluteEncoder.getFirst();
+      if (!isCachedByVendor(hardware.absoluteEncoderVendor)) {
+        Cache<Angle> absoluteEncoder = sensors.add(reading);
+        reading = absoluteEncoder::getValue;
+      }
+      config.withAbsoluteEncoder(reading);
     }
 
-    return new SwerveModule(config);
+    try (var phase = StartupProfiler.phase("SwerveModule " + getModuleName(moduleIndex))) {
+      return new SwerveModule(config);
+    }
   }
 
-  private static String getModuleName(int moduleIndex) {
+  /**
+   * Whether the absolute encoder supplier of a vendor is already cached, so
+   * wrapping it in the module {@link CacheGroup} would only serve an older
+   * copy of a cached value. CANcoder positions are refreshed per CAN bus by a
+   * {@link swervelib.parser.deserializer.reflections.PhoenixSignalGroup} and
+   * ThriftyBot encoders are read through a {@link DoubleCache}.
+   *
+   * @param vendor Absolute encoder vendor.
+   * @return True if the supplier must be read as it is.
+   */
+  static boolean isCachedByVendor(VENDOR vendor) {
+    return vendor == VENDOR.CTRE || vendor == VENDOR.THRIFTYBOT;
+  }
+
+  String getModuleName(int moduleIndex) {
     return swerveDriveJson.modules[moduleIndex].split("\\.json")[0];
   }
 
-  private static void configureSwerveDrive(
+  private void configureSwerveDrive(
       SwerveDriveConfig config,
       SwerveModule[] modules,
       LinearVelocity maxModuleSpeed) {
@@ -390,14 +834,16 @@ public class SwerveParser {
 
     // "custom" gyro type: skip applying the gyro so the user can configure it
     // themselves.
-    if (!"custom".equalsIgnoreCase(swerveDriveJson.gyro.type)) {
-      config
-          .withGyro(
-              swerveDriveJson.gyro.getGyro(
-                  GyroAxis.valueOf(
-                      swerveDriveJson.gyroAxis.toUpperCase()),
-                  swerveDriveJson.gyroInvert).getFirst())
-          .withGyroInverted(swerveDriveJson.gyroInvert);
+    if (swerveDriveJson.gyro.getDescriptor().getKind() != DeviceDescriptor.Kind.CUSTOM) {
+      try (var phase = StartupProfiler.phase("Gyro")) {
+        config
+            .withGyro(
+                swerveDriveJson.gyro.getGyro(
+                    GyroAxis.valueOf(
+                        swerveDriveJson.gyroAxis.toUpperCase()),
+                    swerveDriveJson.gyroInvert).getFirst())
+            .withGyroInverted(swerveDriveJson.gyroInvert);
+      }
     }
   }
 
@@ -406,6 +852,11 @@ public class SwerveParser {
       AngleGearingJson azimuth) {
   }
 
+  private static record ModuleBuild(
+      ModuleHardware hardware,
+      LinearVelocity maxModuleSpeed) {
+  }
+
   private static record ModuleHardware(
       SmartMotorController driveMotorController,
       SmartMotorController azimuthMotorController,
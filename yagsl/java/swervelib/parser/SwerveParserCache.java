@@ -0,0 +1,257 @@
+package swervelib.parser;
+
+import edu.wpi.first.wpilibj.RobotBase;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of parsed swerve configurations, used by {@link SwerveParser#parse(File)} in simulation or once
+ * {@link #setEnabled(boolean) enabled}. A robot parses its configuration once per boot, so the cache is off there by
+ * default and parsing costs nothing extra. Parsing the same directory again (simulation restarts, tests, parameter
+ * sweeps) skips Jackson entirely.
+ *
+ * <p>Entries are keyed by the {@link #fingerprint(File)} of the directory, the path, size and modification time of
+ * each JSON file, so a lookup only reads file metadata. Editing any file changes its modification time and parses the
+ * directory again.
+ *
+ * <p>Configurations are cached as immutable snapshots in the payload format of {@link SwerveConfigArtifact}. Every
+ * lookup returns a new {@link SwerveParser} with its own JSON models, so callers may change them without affecting
+ * other callers or later lookups. The least recently used configuration is evicted once {@link #getMaximumSize()}
+ * configurations are cached.
+ */
+public final class SwerveParserCache
+{
+
+  /**
+   * Default number of cached configurations.
+   */
+  public static final     int                 DEFAULT_MAXIMUM_SIZE = 8;
+  /**
+   * Snapshots of parsed configurations by fingerprint, in access order.
+   */
+  private static final    Map<String, byte[]> cache                = new LinkedHashMap<>(16, 0.75f, true)
+  {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest)
+    {
+      return size() > maximumSize;
+    }
+  };
+  /**
+   * Maximum number of cached configurations.
+   */
+  private static          int                 maximumSize          = DEFAULT_MAXIMUM_SIZE;
+  /**
+   * Number of lookups served from the cache.
+   */
+  private static          long                hits;
+  /**
+   * Number of lookups that parsed the directory.
+   */
+  private static          long                misses;
+  /**
+   * Whether {@link SwerveParser#parse(File)} uses the cache.
+   */
+  private static volatile boolean             enabled              = RobotBase.isSimulation();
+
+  /**
+   * Utility class.
+   */
+  private SwerveParserCache()
+  {
+  }
+
+  /**
+   * Get whether {@link SwerveParser#parse(File)} uses the cache.
+   *
+   * @return True if parsed configurations are cached, by default only in simulation.
+   */
+  public static boolean isEnabled()
+  {
+    return enabled;
+  }
+
+  /**
+   * Set whether {@link SwerveParser#parse(File)} uses the cache, e.g. to enable it on a robot that parses the same
+   * configuration several times.
+   *
+   * @param enable True to cache parsed configurations.
+   */
+  public static void setEnabled(boolean enable)
+  {
+    enabled = enable;
+  }
+
+  /**
+   * Get the parsed configuration of a directory from the cache, parsing and caching it if its files changed since it
+   * was last parsed.
+   *
+   * @param directory Swerve configuration directory.
+   * @return Parsed configuration.
+   * @throws IOException if the directory cannot be read.
+   */
+  public static SwerveParser getOrParse(File directory) throws IOException
+  {
+    if (!directory.isDirectory())
+    {
+      return SwerveParser.parseDirectory(directory);
+    }
+    String key = fingerprint(directory);
+    byte[] snapshot;
+    synchronized (cache)
+    {
+      snapshot = cache.get(key);
+      if (snapshot != null)
+      {
+        hits++;
+      } else
+      {
+        misses++;
+      }
+    }
+    if (snapshot != null)
+    {
+      return SwerveParser.fromSnapshot(directory, snapshot);
+    }
+
+    SwerveParser parser = SwerveParser.parseDirectory(directory);
+    // A file edited while parsing got a new modification time, so the next lookup misses this entry instead of
+    // returning what was parsed here.
+    snapshot = parser.snapshot();
+    synchronized (cache)
+    {
+      cache.putIfAbsent(key, snapshot);
+    }
+    return parser;
+  }
+
+  /**
+   * Compute the fingerprint of a swerve configuration directory from its canonical path, whether the robot is
+   * simulated (which selects the PIDF file), and the relative path, size and modification time of every JSON file in
+   * the directory and its modules directory. No file is read.
+   *
+   * @param directory Swerve configuration directory.
+   * @return Fingerprint of the directory.
+   * @throws IOException if the metadata of a file cannot be read.
+   */
+  public static String fingerprint(File directory) throws IOException
+  {
+    List<String> files = new ArrayList<>();
+    for (String subdirectory : new String[]{"", "modules/"})
+    {
+      String[] names = new File(directory, subdirectory).list((dir, name) -> name.endsWith(".json"));
+      if (names != null)
+      {
+        for (String name : names)
+        {
+          files.add(subdirectory + name);
+        }
+      }
+    }
+    files.sort(null);
+
+    StringBuilder fingerprint = new StringBuilder(directory.getCanonicalPath());
+    fingerprint.append(RobotBase.isSimulation() ? "|sim" : "|real");
+    for (String file : files)
+    {
+      var path = new File(directory, file).toPath();
+      fingerprint.append('|').append(file)
+                 .append(':').append(Files.size(path))
+                 .append(':').append(Files.getLastModifiedTime(path).to(TimeUnit.NANOSECONDS));
+    }
+    return fingerprint.toString();
+  }
+
+  /**
+   * Remove every cached configuration.
+   */
+  public static void clear()
+  {
+    synchronized (cache)
+    {
+      cache.clear();
+    }
+  }
+
+  /**
+   * Get the number of cached configurations.
+   *
+   * @return Cached configuration count.
+   */
+  public static int size()
+  {
+    synchronized (cache)
+    {
+      return cache.size();
+    }
+  }
+
+  /**
+   * Get the maximum number of cached configurations.
+   *
+   * @return Maximum cache size.
+   */
+  public static int getMaximumSize()
+  {
+    synchronized (cache)
+    {
+      return maximumSize;
+    }
+  }
+
+  /**
+   * Set the maximum number of cached configurations, evicting the least recently used ones if needed. 0 disables the
+   * cache.
+   *
+   * @param size Maximum cache size.
+   */
+  public static void setMaximumSize(int size)
+  {
+    if (size < 0)
+    {
+      throw new IllegalArgumentException("Maximum cache size must not be negative: " + size);
+    }
+    synchronized (cache)
+    {
+      maximumSize = size;
+      var iterator = cache.entrySet().iterator();
+      while (cache.size() > maximumSize && iterator.hasNext())
+      {
+        iterator.next();
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * Get the number of lookups served from the cache.
+   *
+   * @return Cache hits.
+   */
+  public static long getHits()
+  {
+    synchronized (cache)
+    {
+      return hits;
+    }
+  }
+
+  /**
+   * Get the number of lookups that parsed the directory.
+   *
+   * @return Cache misses.
+   */
+  public static long getMisses()
+  {
+    synchronized (cache)
+    {
+      return misses;
+    }
+  }
+}
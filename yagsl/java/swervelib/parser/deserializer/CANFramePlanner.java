@@ -0,0 +1,423 @@
+package swervelib.parser.deserializer;
+
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import swervelib.parser.json.DeviceDescriptor;
+import swervelib.parser.json.DeviceDescriptor.Connection;
+import swervelib.parser.json.DeviceJson;
+import swervelib.telemetry.SwerveDriveTelemetry.TelemetryVerbosity;
+
+/**
+ * Plans the status frame periods of the swerve devices on each CAN bus, so frames the drive needs every loop arrive
+ * every loop while telemetry frames are slowed down to keep the bus under its target utilization.
+ *
+ * <p>Control frames (positions, velocities, gyro angle) are sent once per robot loop. Telemetry frames are
+ * sent as often as the {@link TelemetryVerbosity} asks for, and stretched up to {@link #MAX_PERIOD} when the bus has
+ * no room left for them. Diagnostic frames are always sent every {@link #MAX_PERIOD}.
+ *
+ * <p>The bus load is an estimate: every signal is counted as its own extended frame with 8 data bytes and worst case
+ * bit stuffing on a 1 Mbit/s bus. CAN FD buses have more bandwidth than planned for.
+ *
+ * <p>The {@link Plan} is handed to the vendor classes through the {@link DeviceConfigBatch} the devices are created
+ * in, see {@link DeviceConfigBatch#getFramePlan()}.
+ */
+public final class CANFramePlanner
+{
+
+  /**
+   * Bus bit rate in bits per second.
+   */
+  public static final double                    BITRATE                    = 1_000_000;
+  /**
+   * Bits of an extended frame with 8 data bytes and worst case bit stuffing.
+   */
+  public static final int                       FRAME_BITS                 = 160;
+  /**
+   * Longest frame period in seconds, the slowest update rate every vendor supports (4 Hz for Phoenix 6).
+   */
+  public static final double                    MAX_PERIOD                 = 0.25;
+  /**
+   * Default robot loop period in seconds, the 20 ms of a TimedRobot.
+   */
+  public static final double                    DEFAULT_LOOP_PERIOD        = 0.02;
+  /**
+   * Default fraction of each bus' bandwidth the swerve devices may use.
+   */
+  public static final double                    DEFAULT_TARGET_UTILIZATION = 0.6;
+  /**
+   * Telemetry verbosity the plan is made for.
+   */
+  private final       TelemetryVerbosity        verbosity;
+  /**
+   * Robot loop period in seconds control frames are planned for.
+   */
+  private final       double                    loopPeriod;
+  /**
+   * Fraction of each bus' bandwidth the swerve devices may use.
+   */
+  private final       double                    targetUtilization;
+  /**
+   * Planned signals of each bus.
+   */
+  private final       Map<String, List<Signal>> buses                      = new LinkedHashMap<>();
+
+  /**
+   * Create a planner for the {@link #DEFAULT_LOOP_PERIOD} and {@link #DEFAULT_TARGET_UTILIZATION}.
+   *
+   * @param verbosity Telemetry verbosity, decides how often telemetry frames are sent.
+   */
+  public CANFramePlanner(TelemetryVerbosity verbosity)
+  {
+    this(verbosity, DEFAULT_LOOP_PERIOD, DEFAULT_TARGET_UTILIZATION);
+  }
+
+  /**
+   * Create a planner.
+   *
+   * @param verbosity         Telemetry verbosity, decides how often telemetry frames are sent.
+   * @param loopPeriod        Robot loop period in seconds control frames are planned for, at most {@link #MAX_PERIOD}.
+   * @param targetUtilization Fraction of each bus' bandwidth the swerve devices may use, between 0 and 1.
+   * @throws IllegalArgumentException if the loop period or the target utilization is out of range.
+   */
+  public CANFramePlanner(TelemetryVerbosity verbosity, double loopPeriod, double targetUtilization)
+  {
+    if (!(loopPeriod > 0 && loopPeriod <= MAX_PERIOD))
+    {
+      throw new IllegalArgumentException("Loop period " + loopPeriod + " s is not between 0 and " + MAX_PERIOD + " s");
+    }
+    if (!(targetUtilization > 0 && targetUtilization <= 1))
+    {
+      throw new IllegalArgumentException("Target utilization " + targetUtilization + " is not between 0 and 1");
+    }
+    this.verbosity = verbosity;
+    this.loopPeriod = loopPeriod;
+    this.targetUtilization = targetUtilization;
+  }
+
+  /**
+   * Get the name a CAN bus is planned under, the roboRIO bus may be called {@code ""} or {@code "rio"}.
+   *
+   * @param canbus CAN bus name.
+   * @return Planned bus name.
+   */
+  static String busName(String canbus)
+  {
+    return canbus == null || canbus.isEmpty() ? "rio" : canbus;
+  }
+
+  /**
+   * Add the signals of a device. Devices that are not on a CAN bus are ignored, encoders attached to a motor
+   * controller are planned on the bus of the motor controller.
+   *
+   * @param device Device from the JSON configuration.
+   * @param motor  Motor controller an attached encoder is wired to, may be {@code null} for other devices.
+   * @return This planner.
+   */
+  public CANFramePlanner add(DeviceJson device, DeviceJson motor)
+  {
+    if (device == null)
+    {
+      return this;
+    }
+    DeviceDescriptor descriptor = device.getDescriptor();
+    if (descriptor.getConnection() == Connection.ATTACHED && motor != null)
+    {
+      return add(motor.canbus, Signal.ABSOLUTE_POSITION, Signal.ABSOLUTE_VELOCITY);
+    }
+    if (descriptor.getConnection() != Connection.CAN)
+    {
+      return this;
+    }
+    return switch (descriptor.getKind())
+    {
+      case MOTOR_CONTROLLER -> add(device.canbus, Signal.MOTOR_POSITION, Signal.MOTOR_VELOCITY, Signal.MOTOR_FAULTS);
+      case ABSOLUTE_ENCODER -> add(device.canbus, Signal.ABSOLUTE_POSITION, Signal.ABSOLUTE_VELOCITY);
+      case GYRO -> add(device.canbus, Signal.GYRO_ANGLE, Signal.GYRO_RATE);
+      default -> this;
+    };
+  }
+
+  /**
+   * Add signals sent on a bus.
+   *
+   * @param canbus  CAN bus name.
+   * @param signals Signals of one device.
+   * @return This planner.
+   */
+  public CANFramePlanner add(String canbus, Signal... signals)
+  {
+    Collections.addAll(buses.computeIfAbsent(busName(canbus), bus -> new ArrayList<>()), signals);
+    return this;
+  }
+
+  /**
+   * Get the period telemetry frames are sent at when the bus has room for them.
+   *
+   * @return Telemetry frame period in seconds.
+   */
+  private double getTelemetryPeriod()
+  {
+    return switch (verbosity)
+    {
+      case HIGH, MACHINE -> loopPeriod;
+      case INFO, POSE -> 0.1;
+      default -> MAX_PERIOD;
+    };
+  }
+
+  /**
+   * Plan the frame periods of every bus.
+   *
+   * @return Frame periods and predicted load of each bus.
+   */
+  public Plan plan()
+  {
+    double                                 budget  = targetUtilization * BITRATE / FRAME_BITS;
+    Map<String, EnumMap<Priority, Double>> periods = new LinkedHashMap<>();
+    Map<String, Double>                    loads   = new LinkedHashMap<>();
+    buses.forEach((bus, signals) -> {
+      EnumMap<Priority, Integer> counts = new EnumMap<>(Priority.class);
+      for (Priority priority : Priority.values())
+      {
+        counts.put(priority, 0);
+      }
+      signals.forEach(signal -> counts.merge(signal.priority, 1, Integer::sum));
+
+      EnumMap<Priority, Double> busPeriods = new EnumMap<>(Priority.class);
+      busPeriods.put(Priority.CONTROL, loopPeriod);
+      busPeriods.put(Priority.DIAGNOSTIC, MAX_PERIOD);
+      double room = budget - counts.get(Priority.CONTROL) / loopPeriod - counts.get(Priority.DIAGNOSTIC) / MAX_PERIOD;
+      double telemetry = room <= 0 ? MAX_PERIOD
+                                   : Math.max(getTelemetryPeriod(), counts.get(Priority.TELEMETRY) / room);
+      busPeriods.put(Priority.TELEMETRY, Math.min(Math.max(telemetry, loopPeriod), MAX_PERIOD));
+      // Vendors take whole milliseconds.
+      busPeriods.replaceAll((priority, period) -> Math.ceil(period * 1000 - 1e-9) / 1000);
+
+      double framesPerSecond = 0;
+      for (Priority priority : Priority.values())
+      {
+        framesPerSecond += counts.get(priority) / busPeriods.get(priority);
+      }
+      periods.put(bus, busPeriods);
+      loads.put(bus, framesPerSecond * FRAME_BITS / BITRATE);
+    });
+    return new Plan(periods, loads, targetUtilization);
+  }
+
+  /**
+   * How urgently a signal is needed.
+   */
+  public enum Priority
+  {
+    /**
+     * Used by the drive every loop.
+     */
+    CONTROL,
+    /**
+     * Only used for telemetry.
+     */
+    TELEMETRY,
+    /**
+     * Faults and warnings.
+     */
+    DIAGNOSTIC
+  }
+
+  /**
+   * Status signals of the swerve devices.
+   */
+  public enum Signal
+  {
+    /**
+     * Motor controller rotor position.
+     */
+    MOTOR_POSITION(Priority.CONTROL),
+    /**
+     * Motor controller rotor velocity.
+     */
+    MOTOR_VELOCITY(Priority.CONTROL),
+    /**
+     * Motor controller faults.
+     */
+    MOTOR_FAULTS(Priority.DIAGNOSTIC),
+    /**
+     * Absolute encoder position.
+     */
+    ABSOLUTE_POSITION(Priority.CONTROL),
+    /**
+     * Absolute encoder velocity.
+     */
+    ABSOLUTE_VELOCITY(Priority.TELEMETRY),
+    /**
+     * Gyroscope angle.
+     */
+    GYRO_ANGLE(Priority.CONTROL),
+    /**
+     * Gyroscope angular velocity.
+     */
+    GYRO_RATE(Priority.TELEMETRY);
+
+    /**
+     * How urgently the signal is needed.
+     */
+    public final Priority priority;
+
+    /**
+     * Create a signal.
+     *
+     * @param priority How urgently the signal is needed.
+     */
+    Signal(Priority priority)
+    {
+      this.priority = priority;
+    }
+  }
+
+  /**
+   * Planned frame periods and predicted load of each bus.
+   */
+  public static final class Plan
+  {
+
+    /**
+     * Frame period in seconds of each priority, by bus.
+     */
+    private final Map<String, EnumMap<Priority, Double>> periods;
+    /**
+     * Predicted fraction of the bandwidth used, by bus.
+     */
+    private final Map<String, Double>                    loads;
+    /**
+     * Fraction of each bus' bandwidth the swerve devices may use.
+     */
+    private final double                                 targetUtilization;
+    /**
+     * Predicted load publishers, by bus.
+     */
+    private final Map<String, DoublePublisher>           publishers = new LinkedHashMap<>();
+
+    /**
+     * Create a plan.
+     *
+     * @param periods           Frame periods by bus.
+     * @param loads             Predicted load by bus.
+     * @param targetUtilization Fraction of each bus' bandwidth the swerve devices may use.
+     */
+    private Plan(Map<String, EnumMap<Priority, Double>> periods, Map<String, Double> loads, double targetUtilization)
+    {
+      this.periods = periods;
+      this.loads = loads;
+      this.targetUtilization = targetUtilization;
+    }
+
+    /**
+     * Get the planned buses.
+     *
+     * @return Bus names, the roboRIO bus is {@code "rio"}.
+     */
+    public Set<String> getBuses()
+    {
+      return Collections.unmodifiableSet(periods.keySet());
+    }
+
+    /**
+     * Get the planned period of a signal.
+     *
+     * @param canbus CAN bus name.
+     * @param signal Signal.
+     * @return Frame period in seconds, {@link #MAX_PERIOD} for a bus that was not planned.
+     */
+    public double getPeriod(String canbus, Signal signal)
+    {
+      var busPeriods = periods.get(busName(canbus));
+      return busPeriods == null ? MAX_PERIOD : busPeriods.get(signal.priority);
+    }
+
+    /**
+     * Get the planned period of a signal in milliseconds.
+     *
+     * @param canbus CAN bus name.
+     * @param signal Signal.
+     * @return Frame period in milliseconds.
+     */
+    public int getPeriodMillis(String canbus, Signal signal)
+    {
+      return (int) Math.round(getPeriod(canbus, signal) * 1000);
+    }
+
+    /**
+     * Get the planned period of a signal in milliseconds, or a vendor default for a bus that was not planned.
+     *
+     * @param canbus        CAN bus name.
+     * @param signal        Signal.
+     * @param defaultMillis Period used when there is no plan for the bus.
+     * @return Frame period in milliseconds.
+     */
+    public int getPeriodMillis(String canbus, Signal signal, int defaultMillis)
+    {
+      return periods.containsKey(busName(canbus)) ? getPeriodMillis(canbus, signal) : defaultMillis;
+    }
+
+    /**
+     * Get the fraction of each bus' bandwidth the plan keeps the swerve devices under.
+     *
+     * @return Target utilization between 0 and 1.
+     */
+    public double getTargetUtilization()
+    {
+      return targetUtilization;
+    }
+
+    /**
+     * Get the predicted load of a bus.
+     *
+     * @param canbus CAN bus name.
+     * @return Predicted fraction of the bus bandwidth used by the swerve devices.
+     */
+    public double getPredictedUtilization(String canbus)
+    {
+      return loads.getOrDefault(busName(canbus), 0.0);
+    }
+
+    /**
+     * Check whether the control frames alone exceed the target utilization of a bus, move devices to another bus or
+     * plan for a longer loop period.
+     *
+     * @param canbus CAN bus name.
+     * @return True if the bus is predicted to be over its target utilization.
+     */
+    public boolean isOverBudget(String canbus)
+    {
+      return getPredictedUtilization(canbus) > targetUtilization;
+    }
+
+    /**
+     * Publish the predicted load of every bus to NetworkTables under {@code swerve/can/<bus>/predictedUtilization}.
+     */
+    public synchronized void publish()
+    {
+      loads.forEach((bus, load) -> publishers.computeIfAbsent(bus, name -> NetworkTableInstance
+          .getDefault().getTable("SmartDashboard").getDoubleTopic("swerve/can/" + name + "/predictedUtilization")
+          .publish()).set(load));
+    }
+
+    @Override
+    public String toString()
+    {
+      StringBuilder summary = new StringBuilder("CAN frame plan:");
+      periods.forEach((bus, busPeriods) -> summary.append(String.format(
+          "%n  %s: %.0f%% predicted%s, control %.0f ms, telemetry %.0f ms, diagnostic %.0f ms", bus,
+          loads.get(bus) * 100, isOverBudget(bus) ? " (over " + Math.round(targetUtilization * 100) + "% target)" : "",
+          busPeriods.get(Priority.CONTROL) * 1000, busPeriods.get(Priority.TELEMETRY) * 1000,
+          busPeriods.get(Priority.DIAGNOSTIC) * 1000)));
+      return summary.toString();
+    }
+  }
+}
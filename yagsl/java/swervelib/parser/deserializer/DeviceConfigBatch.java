@@ -0,0 +1,321 @@
+package swervelib.parser.deserializer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import swervelib.telemetry.StartupProfiler;
+
+/**
+ * Applies device configurations concurrently while the drivetrain is built, so boot time is set by the slowest device
+ * instead of the sum of every CAN round trip.
+ *
+ * <p>While a batch is open on a thread, {@link #apply(String, Runnable)} queues the configuration and returns at once.
+ * Configurations of the same device run in the order they were queued, configurations of different devices run at
+ * the same time. {@link #await()} waits for every device up to its timeout and throws one
+ * {@link DeviceConfigurationException} listing every device that failed. Without an open batch configurations are
+ * applied on the calling thread, as before.
+ *
+ * <p>A batch also carries the {@link CANFramePlanner.Plan} of the drive being built, so the vendor classes configure
+ * the frame periods of that drive even when several drives are built at the same time.
+ *
+ * <pre>{@code
+ * try (var batch = DeviceConfigBatch.open(Duration.ofSeconds(2)))
+ * {
+ *   // create devices, their configuration is queued
+ *   batch.await();
+ * }
+ * }</pre>
+ */
+public final class DeviceConfigBatch implements AutoCloseable
+{
+
+  /**
+   * Default time each device gets to apply its configuration.
+   */
+  public static final  Duration                         DEFAULT_TIMEOUT = Duration.ofSeconds(2);
+  /**
+   * Batch open on each thread.
+   */
+  private static final ThreadLocal<DeviceConfigBatch>   current         = new ThreadLocal<>();
+  /**
+   * Time each device gets to apply its configuration.
+   */
+  private final        Duration                         timeout;
+  /**
+   * Threads applying the configurations, one per device at most.
+   */
+  private final        ExecutorService                  executor;
+  /**
+   * Queued configurations by device, in the order the devices were first seen. Guarded by this batch.
+   */
+  private final        Map<String, DeviceConfiguration> devices         = new LinkedHashMap<>();
+  /**
+   * Batch open on the opening thread before this one, restored on close.
+   */
+  private final        DeviceConfigBatch                previous;
+  /**
+   * Frame periods of the devices configured in this batch, null to keep the vendor defaults.
+   */
+  private final        CANFramePlanner.Plan             framePlan;
+
+  /**
+   * Open a batch.
+   *
+   * @param timeout   Time each device gets to apply its configuration.
+   * @param framePlan Frame periods of the devices, null to keep the vendor defaults.
+   * @param previous  Batch open on this thread before this one.
+   */
+  private DeviceConfigBatch(Duration timeout, CANFramePlanner.Plan framePlan, DeviceConfigBatch previous)
+  {
+    AtomicInteger threadCount = new AtomicInteger();
+    this.timeout = timeout;
+    this.framePlan = framePlan;
+    this.previous = previous;
+    this.executor = Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "YAGSL Device Config " + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Open a batch on this thread with the {@link #DEFAULT_TIMEOUT}.
+   *
+   * @return Open batch, close it with try-with-resources.
+   */
+  public static DeviceConfigBatch open()
+  {
+    return open(DEFAULT_TIMEOUT);
+  }
+
+  /**
+   * Open a batch on this thread.
+   *
+   * @param timeout Time each device gets to apply its configuration, counted from when its last configuration was
+   *                queued.
+   * @return Open batch, close it with try-with-resources.
+   */
+  public static DeviceConfigBatch open(Duration timeout)
+  {
+    return open(timeout, null);
+  }
+
+  /**
+   * Open a batch on this thread for devices configured according to a frame plan.
+   *
+   * @param timeout   Time each device gets to apply its configuration, counted from when its last configuration was
+   *                  queued.
+   * @param framePlan Frame periods of the devices, null to keep the vendor defaults.
+   * @return Open batch, close it with try-with-resources.
+   */
+  public static DeviceConfigBatch open(Duration timeout, CANFramePlanner.Plan framePlan)
+  {
+    DeviceConfigBatch batch = new DeviceConfigBatch(timeout, framePlan, current.get());
+    current.set(batch);
+    return batch;
+  }
+
+  /**
+   * Get the frame plan of the batch open on this thread.
+   *
+   * @return Frame periods of the devices being configured, null without an open batch or plan.
+   */
+  public static CANFramePlanner.Plan getFramePlan()
+  {
+    DeviceConfigBatch batch = current.get();
+    return batch == null ? null : batch.framePlan;
+  }
+
+  /**
+   * Apply a device configuration, queued in the batch open on this thread or right away if there is none.
+   *
+   * @param device    Device name, e.g. "CANcoder #9 on bus \"canivore\"". Configurations of one device run in order.
+   * @param configure Applies the configuration, throws if the device rejected it.
+   */
+  public static void apply(String device, Runnable configure)
+  {
+    DeviceConfigBatch batch = current.get();
+    if (batch == null)
+    {
+      configure.run();
+    } else
+    {
+      batch.queue(device, configure);
+    }
+  }
+
+  /**
+   * Name a device object the way its configurations are queued, so configurations applied by different layers, e.g. a
+   * vendor class and the motor controller wrapper around the same SPARK, run in order instead of at the same time.
+   *
+   * @param device Vendor device object, e.g. a SparkMax.
+   * @param canid  CAN ID of the device.
+   * @return Device name, e.g. "SparkMax #5".
+   */
+  public static String deviceName(Object device, int canid)
+  {
+    return device.getClass().getSimpleName() + " #" + canid;
+  }
+
+  /**
+   * Wrap a task so configurations it applies on another thread are queued in the batch open now on this thread, and
+   * configured according to its frame plan.
+   *
+   * @param task Task to run on another thread.
+   * @param <T>  Task result type.
+   * @return Wrapped task.
+   */
+  public static <T> Callable<T> wrap(Callable<T> task)
+  {
+    DeviceConfigBatch batch = current.get();
+    return () -> {
+      DeviceConfigBatch before = current.get();
+      current.set(batch);
+      try
+      {
+        return task.call();
+      } finally
+      {
+        current.set(before);
+      }
+    };
+  }
+
+  /**
+   * Queue a device configuration behind the ones already queued for the device.
+   *
+   * @param device    Device name.
+   * @param configure Applies the configuration.
+   */
+  private synchronized void queue(String device, Runnable configure)
+  {
+    if (executor.isShutdown())
+    {
+      throw new IllegalStateException("Device configuration batch is closed, cannot configure " + device);
+    }
+    // Keep the configuration in the startup profile under the phase that queued it.
+    Supplier<Object> task = StartupProfiler.wrapSupplier(() -> {
+      configure.run();
+      return null;
+    });
+    Runnable run = task::get;
+    long                deadline      = System.nanoTime() + timeout.toNanos();
+    DeviceConfiguration configuration = devices.get(device);
+    if (configuration == null)
+    {
+      devices.put(device, new DeviceConfiguration(CompletableFuture.runAsync(run, executor), deadline));
+    } else
+    {
+      configuration.tail = configuration.tail.thenRunAsync(run, executor);
+      configuration.deadline = deadline;
+    }
+  }
+
+  /**
+   * Get the number of devices with queued configurations.
+   *
+   * @return Configured devices.
+   */
+  public synchronized int size()
+  {
+    return devices.size();
+  }
+
+  /**
+   * Wait for every queued configuration. Devices are waited for at the same time, each up to its own timeout.
+   *
+   * @throws DeviceConfigurationException if any device failed or timed out, listing all of them.
+   */
+  public void await()
+  {
+    Map<String, CompletableFuture<Void>> queued    = new LinkedHashMap<>();
+    Map<String, Long>                    deadlines = new LinkedHashMap<>();
+    synchronized (this)
+    {
+      devices.forEach((device, configuration) -> {
+        queued.put(device, configuration.tail);
+        deadlines.put(device, configuration.deadline);
+      });
+    }
+    List<String>    failures = new ArrayList<>();
+    List<Throwable> causes   = new ArrayList<>();
+    try (var phase = StartupProfiler.phase("Await device configuration"))
+    {
+      for (var entry : queued.entrySet())
+      {
+        long remaining = deadlines.get(entry.getKey()) - System.nanoTime();
+        try
+        {
+          entry.getValue().get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e)
+        {
+          failures.add(entry.getKey() + ": timed out after " + timeout.toMillis() + " ms");
+        } catch (ExecutionException e)
+        {
+          failures.add(entry.getKey() + ": " + e.getCause());
+          causes.add(e.getCause());
+        } catch (InterruptedException e)
+        {
+          Thread.currentThread().interrupt();
+          throw new RuntimeException("Interrupted while configuring devices", e);
+        }
+      }
+    }
+    if (!failures.isEmpty())
+    {
+      throw new DeviceConfigurationException(failures, causes);
+    }
+  }
+
+  /**
+   * Close the batch on this thread and stop configurations still running, e.g. after a device timed out.
+   */
+  @Override
+  public void close()
+  {
+    executor.shutdownNow();
+    if (current.get() == this)
+    {
+      current.set(previous);
+    }
+  }
+
+  /**
+   * Configurations queued for one device, guarded by the batch.
+   */
+  private static final class DeviceConfiguration
+  {
+
+    /**
+     * Completes when the last queued configuration was applied.
+     */
+    private CompletableFuture<Void> tail;
+    /**
+     * {@link System#nanoTime()} by which the last configuration must be applied.
+     */
+    private long                    deadline;
+
+    /**
+     * Create the configurations of a device.
+     *
+     * @param tail     First configuration.
+     * @param deadline Deadline of the first configuration.
+     */
+    private DeviceConfiguration(CompletableFuture<Void> tail, long deadline)
+    {
+      this.tail = tail;
+      this.deadline = deadline;
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package swervelib.parser.deserializer;
+
+import java.util.List;
+
+/**
+ * Thrown by {@link DeviceConfigBatch#await()} when devices failed to apply their configuration. Holds every failed
+ * device instead of only the first one, the exceptions of the devices are attached as suppressed exceptions.
+ */
+public class DeviceConfigurationException extends RuntimeException
+{
+
+  /**
+   * Failed devices with their failure.
+   */
+  private final List<String> failures;
+
+  /**
+   * Create the exception.
+   *
+   * @param failures Failed devices with their failure, at least one.
+   * @param causes   Exceptions thrown while configuring the devices.
+   */
+  public DeviceConfigurationException(List<String> failures, List<Throwable> causes)
+  {
+    super(failures.size() + " device(s) failed to apply their configuration:\n  - " + String.join("\n  - ", failures));
+    this.failures = List.copyOf(failures);
+    causes.forEach(this::addSuppressed);
+  }
+
+  /**
+   * Get the failed devices.
+   *
+   * @return Unmodifiable list of failure descriptions, one per device.
+   */
+  public List<String> getFailures()
+  {
+    return failures;
+  }
+}
@@ -0,0 +1,549 @@
+package swervelib.parser.deserializer;
+
+import edu.wpi.first.math.Pair;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import swervelib.parser.json.DeviceJson.VENDOR;
+import yams.motorcontrollers.SmartMotorController;
+
+/**
+ * Registry of the vendor device objects created by the {@link VendorDeviceProvider}s, so each physical device maps to
+ * exactly one object per process. Creating a second object for a device doubles its status frame handling on the CAN
+ * bus.
+ *
+ * <p>Devices are keyed by vendor, CAN bus, CAN ID and {@link Kind}, since one CAN ID may be used by one device of
+ * each vendor and kind on each bus. Every {@link #acquire} takes a reference, {@link #release} drops it and closes the
+ * device with the last one. {@link #close()} closes every device, e.g. between simulation runs.
+ *
+ * <p>Devices acquired while a {@link Scope} is open on the thread belong to that scope, e.g. every device of one swerve
+ * drive. Another scope cannot acquire them, so a second drive on the same CAN IDs fails instead of silently sharing
+ * and reconfiguring the devices of the first. Closing the scope, or {@link #releaseAll(Object)} for the owner it was
+ * kept for, releases its references.
+ *
+ * <p>Classes holding on to state of a device, e.g. the status signals a {@link
+ * swervelib.parser.deserializer.reflections.PhoenixSignalGroup} refreshes, drop it from a
+ * {@link #addCloseListener(Consumer) close listener}.
+ */
+public final class DeviceRegistry implements AutoCloseable
+{
+
+  /**
+   * Kind of device, each kind has its own CAN ID space per vendor.
+   */
+  public enum Kind
+  {
+    /**
+     * Motor controller.
+     */
+    MOTOR_CONTROLLER,
+    /**
+     * Absolute encoder.
+     */
+    ABSOLUTE_ENCODER,
+    /**
+     * Gyroscope.
+     */
+    GYRO
+  }
+
+  /**
+   * Registry of this process.
+   */
+  private static final DeviceRegistry         INSTANCE       = new DeviceRegistry();
+  /**
+   * Scope open on this thread, see {@link #open(String)}.
+   */
+  private static final ThreadLocal<Scope>     current        = new ThreadLocal<>();
+  /**
+   * Called with the vendor object of every closed device.
+   */
+  private static final List<Consumer<Object>> closeListeners = new CopyOnWriteArrayList<>();
+  /**
+   * Registered devices.
+   */
+  private final        Map<Key, Entry>        devices        = new ConcurrentHashMap<>();
+  /**
+   * Kept scopes by owner, see {@link Scope#keep(Object)}.
+   */
+  private final        Map<Object, Scope>     owners         = new IdentityHashMap<>();
+
+  /**
+   * Create an empty registry, use {@link #get()} outside of tests.
+   */
+  DeviceRegistry()
+  {
+  }
+
+  /**
+   * Get the registry of this process.
+   *
+   * @return Device registry.
+   */
+  public static DeviceRegistry get()
+  {
+    return INSTANCE;
+  }
+
+  /**
+   * Open a scope owning every device acquired on this thread until it is closed. Pass it to other threads with
+   * {@link #wrap(Callable)}.
+   *
+   * @param name Name of the scope in error messages, e.g. the swerve drive being built.
+   * @return Scope to close once built, or to {@link Scope#keep(Object) keep} for the object using the devices.
+   */
+  public Scope open(String name)
+  {
+    Scope scope = new Scope(name, current.get());
+    current.set(scope);
+    return scope;
+  }
+
+  /**
+   * Wrap a task so it acquires its devices in the scope open on the calling thread, if any.
+   *
+   * @param task Task to run on another thread.
+   * @param <T>  Result type.
+   * @return Task that opens the scope of the caller while running.
+   */
+  public static <T> Callable<T> wrap(Callable<T> task)
+  {
+    Scope scope = current.get();
+    return () -> {
+      Scope before = current.get();
+      current.set(scope);
+      try
+      {
+        return task.call();
+      } finally
+      {
+        current.set(before);
+      }
+    };
+  }
+
+  /**
+   * Add a listener called with the vendor object of every device the registry closes, e.g. a CANcoder.
+   *
+   * @param listener Listener, called on the thread closing the device.
+   */
+  public static void addCloseListener(Consumer<Object> listener)
+  {
+    closeListeners.add(listener);
+  }
+
+  /**
+   * Release every device of the scope kept for an owner, closing the devices nothing else uses.
+   *
+   * @param owner Owner given to {@link Scope#keep(Object)}, e.g. a swerve drive.
+   * @return True if a scope was kept for the owner.
+   */
+  public boolean releaseAll(Object owner)
+  {
+    Scope scope;
+    synchronized (owners)
+    {
+      scope = owners.remove(owner);
+    }
+    if (scope == null)
+    {
+      return false;
+    }
+    scope.releaseAll();
+    return true;
+  }
+
+  /**
+   * Get the device object of a device, creating it on first use, and take a reference to it. Devices are created
+   * outside of the registry's map lock so factories may take their time configuring the device, concurrent requests
+   * for the same device wait for the first one. Inside a {@link Scope} the reference belongs to the scope.
+   *
+   * @param vendor  Vendor of the device.
+   * @param canbus  CAN bus name, {@code null} for the default bus.
+   * @param id      CAN ID.
+   * @param kind    Kind of device.
+   * @param type    Expected class of the device object.
+   * @param factory Creates the device object if it does not exist yet.
+   * @param <T>     Device object type.
+   * @return Device object shared by every user of the device.
+   * @throws IllegalStateException if the device exists with another class, e.g. a TalonFXS requested on the CAN ID of
+   *                               a TalonFX, or belongs to another open {@link Scope}.
+   */
+  public <T> T acquire(VENDOR vendor, String canbus, int id, Kind kind, Class<T> type, Supplier<? extends T> factory)
+  {
+    Key   key   = new Key(vendor, canbus, id, kind);
+    Scope scope = current.get();
+    if (scope != null && scope.registry() != this)
+    {
+      scope = null;
+    }
+    while (true)
+    {
+      Entry entry = devices.computeIfAbsent(key, Entry::new);
+      synchronized (entry)
+      {
+        if (entry.removed)
+        {
+          // Released or failed while this thread waited, register it again.
+          continue;
+        }
+        if (entry.device == null)
+        {
+          try
+          {
+            entry.device = Objects.requireNonNull(factory.get(), "Device factory returned null for " + key);
+            entry.scope = scope;
+          } catch (RuntimeException | Error e)
+          {
+            entry.removed = true;
+            devices.remove(key, entry);
+            throw e;
+          }
+        }
+        if (!type.isInstance(entry.device))
+        {
+          throw new IllegalStateException(key + " is already used by a " + entry.device.getClass().getSimpleName() +
+                                          ", cannot use it as a " + type.getSimpleName());
+        }
+        if (scope != null && entry.scope != scope)
+        {
+          if (entry.scope != null && !entry.scope.released)
+          {
+            throw new IllegalStateException(key + " is already used by " + entry.scope.name + ", close it before " +
+                                            scope.name + " uses the device");
+          }
+          entry.scope = scope;
+        }
+        entry.references++;
+        if (scope != null)
+        {
+          scope.add(key);
+        }
+        return type.cast(entry.device);
+      }
+    }
+  }
+
+  /**
+   * Drop a reference to a device, closing it when the last reference is dropped.
+   *
+   * @param vendor Vendor of the device.
+   * @param canbus CAN bus name, {@code null} for the default bus.
+   * @param id     CAN ID.
+   * @param kind   Kind of device.
+   * @return True if the device was closed.
+   */
+  public boolean release(VENDOR vendor, String canbus, int id, Kind kind)
+  {
+    Key   key   = new Key(vendor, canbus, id, kind);
+    Entry entry = devices.get(key);
+    if (entry == null)
+    {
+      return false;
+    }
+    synchronized (entry)
+    {
+      if (entry.removed || --entry.references > 0)
+      {
+        return false;
+      }
+      entry.removed = true;
+      devices.remove(key, entry);
+      closeDevice(entry.device);
+      return true;
+    }
+  }
+
+  /**
+   * Get the number of references to a device.
+   *
+   * @param vendor Vendor of the device.
+   * @param canbus CAN bus name, {@code null} for the default bus.
+   * @param id     CAN ID.
+   * @param kind   Kind of device.
+   * @return Reference count, 0 if the device is not registered.
+   */
+  public int getReferenceCount(VENDOR vendor, String canbus, int id, Kind kind)
+  {
+    Entry entry = devices.get(new Key(vendor, canbus, id, kind));
+    if (entry == null)
+    {
+      return 0;
+    }
+    synchronized (entry)
+    {
+      return entry.removed ? 0 : entry.references;
+    }
+  }
+
+  /**
+   * Get the number of registered devices.
+   *
+   * @return Registered devices.
+   */
+  public int size()
+  {
+    return devices.size();
+  }
+
+  /**
+   * Close every registered device regardless of its references and empty the registry.
+   */
+  @Override
+  public void close()
+  {
+    synchronized (owners)
+    {
+      owners.clear();
+    }
+    List<Entry> entries = new ArrayList<>(devices.values());
+    for (Entry entry : entries)
+    {
+      synchronized (entry)
+      {
+        if (!entry.removed)
+        {
+          entry.removed = true;
+          devices.remove(entry.key, entry);
+          closeDevice(entry.device);
+        }
+      }
+    }
+  }
+
+  /**
+   * Close the hardware behind a device object, if it can be closed, and notify the close listeners.
+   *
+   * @param device Device object, a vendor object, a {@link SmartMotorController} or a {@link Pair} of a supplier and
+   *               the vendor object.
+   */
+  private static void closeDevice(Object device)
+  {
+    Object hardware = device;
+    if (device instanceof Pair<?, ?> pair)
+    {
+      hardware = pair.getSecond();
+    } else if (device instanceof SmartMotorController motorController)
+    {
+      hardware = motorController.getMotorController();
+    }
+    if (hardware instanceof AutoCloseable closeable)
+    {
+      try
+      {
+        closeable.close();
+      } catch (Exception e)
+      {
+        System.err.println("Failed to close " + hardware.getClass().getSimpleName() + ": " + e);
+      }
+    }
+    for (Consumer<Object> listener : closeListeners)
+    {
+      listener.accept(hardware);
+    }
+  }
+
+  /**
+   * Identity of a physical device.
+   *
+   * @param vendor Vendor of the device.
+   * @param canbus CAN bus name, empty for the default bus.
+   * @param id     CAN ID.
+   * @param kind   Kind of device.
+   */
+  private record Key(VENDOR vendor, String canbus, int id, Kind kind)
+  {
+
+    /**
+     * Normalize the CAN bus name.
+     */
+    private Key
+    {
+      canbus = canbus == null ? "" : canbus;
+    }
+
+    @Override
+    public String toString()
+    {
+      return vendor + " " + kind + " #" + id + " on bus \"" + canbus + "\"";
+    }
+  }
+
+  /**
+   * Devices acquired for one owner, e.g. every device of a swerve drive, see {@link #open(String)}. Closing the scope
+   * releases its devices, unless it was kept for an owner first.
+   */
+  public final class Scope implements AutoCloseable
+  {
+
+    /**
+     * Name in error messages.
+     */
+    private final    String    name;
+    /**
+     * Scope open on the thread before this one.
+     */
+    private final    Scope     previous;
+    /**
+     * Reference taken by every acquire in this scope.
+     */
+    private final    List<Key> keys = new ArrayList<>();
+    /**
+     * Whether the scope was kept for an owner.
+     */
+    private          boolean   kept;
+    /**
+     * Whether the references of the scope were released, its devices may then be used by another scope.
+     */
+    private volatile boolean   released;
+
+    /**
+     * Create a scope.
+     *
+     * @param name     Name in error messages.
+     * @param previous Scope open on the thread before this one.
+     */
+    private Scope(String name, Scope previous)
+    {
+      this.name = name;
+      this.previous = previous;
+    }
+
+    /**
+     * Get the registry of the scope.
+     *
+     * @return Device registry.
+     */
+    private DeviceRegistry registry()
+    {
+      return DeviceRegistry.this;
+    }
+
+    /**
+     * Record a reference taken in this scope.
+     *
+     * @param key Identity of the device.
+     */
+    private synchronized void add(Key key)
+    {
+      keys.add(key);
+    }
+
+    /**
+     * Keep the devices after the scope is closed, until {@link #releaseAll(Object)} is called for the owner.
+     *
+     * @param owner Object using the devices, e.g. the built swerve drive.
+     */
+    public void keep(Object owner)
+    {
+      synchronized (owners)
+      {
+        owners.put(owner, this);
+      }
+      synchronized (this)
+      {
+        kept = true;
+      }
+    }
+
+    /**
+     * Get the number of references taken in this scope.
+     *
+     * @return Reference count.
+     */
+    public synchronized int size()
+    {
+      return keys.size();
+    }
+
+    /**
+     * Drop every reference taken in this scope.
+     */
+    private void releaseAll()
+    {
+      List<Key> acquired;
+      synchronized (this)
+      {
+        released = true;
+        acquired = new ArrayList<>(keys);
+        keys.clear();
+      }
+      for (Key key : acquired)
+      {
+        release(key.vendor(), key.canbus(), key.id(), key.kind());
+      }
+    }
+
+    /**
+     * Close the scope on this thread, releasing its devices unless it was kept for an owner.
+     */
+    @Override
+    public void close()
+    {
+      if (current.get() == this)
+      {
+        if (previous != null)
+        {
+          current.set(previous);
+        } else
+        {
+          current.remove();
+        }
+      }
+      boolean release;
+      synchronized (this)
+      {
+        release = !kept;
+      }
+      if (release)
+      {
+        releaseAll();
+      }
+    }
+  }
+
+  /**
+   * Registered device, guarded by its own monitor.
+   */
+  private static final class Entry
+  {
+
+    /**
+     * Identity of the device.
+     */
+    private final Key     key;
+    /**
+     * Device object, {@code null} until created.
+     */
+    private       Object  device;
+    /**
+     * References taken by {@link #acquire}.
+     */
+    private       int     references;
+    /**
+     * Scope that created the device, {@code null} if created outside of a scope.
+     */
+    private       Scope   scope;
+    /**
+     * Whether the entry was removed from the registry.
+     */
+    private       boolean removed;
+
+    /**
+     * Create an entry.
+     *
+     * @param key Identity of the device.
+     */
+    private Entry(Key key)
+    {
+      this.key = key;
+    }
+  }
+}
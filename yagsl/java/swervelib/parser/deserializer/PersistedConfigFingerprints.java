@@ -0,0 +1,169 @@
+package swervelib.parser.deserializer;
+
+import edu.wpi.first.wpilibj.Filesystem;
+import edu.wpi.first.wpilibj.RobotBase;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import swervelib.telemetry.StartupProfiler;
+
+/**
+ * Fingerprints of the configurations last persisted to the flash of each device, so an unchanged configuration is not
+ * written to flash again on every boot. Flash writes are slow and wear the device.
+ *
+ * <p>A fingerprint describes the inputs of a configuration, e.g. {@code "dutycycle inverted=false"}. Devices whose
+ * fingerprint is unchanged should still receive the configuration without persisting it, so a swapped or factory
+ * reset device runs with the right settings even though its flash was not written.
+ *
+ * <p>On the robot the fingerprints are kept in {@value #FILE_NAME} in the operating directory, which survives
+ * deploys. In simulation they are only kept in memory. Needed and skipped writes are counted in the
+ * {@link StartupProfiler} tree of the build checking them, so every drive reports its own.
+ */
+public final class PersistedConfigFingerprints
+{
+
+  /**
+   * File name of the fingerprints in the operating directory.
+   */
+  public static final String FILE_NAME       = "yagsl/persisted-configs.properties";
+  /**
+   * {@link StartupProfiler} counter of configurations that had to be persisted.
+   */
+  public static final String WRITES_COUNTER  = "Persisted configuration writes";
+  /**
+   * {@link StartupProfiler} counter of configurations that were already persisted.
+   */
+  public static final String SKIPPED_COUNTER = "Persisted configuration writes skipped";
+
+  /**
+   * File the fingerprints are stored in, {@code null} to keep them in memory.
+   */
+  private final File       file;
+  /**
+   * Fingerprints by device, loaded on first use.
+   */
+  private       Properties fingerprints;
+
+  /**
+   * Create fingerprints stored in a file.
+   *
+   * @param file File the fingerprints are stored in, {@code null} to keep them in memory.
+   */
+  PersistedConfigFingerprints(File file)
+  {
+    this.file = file;
+  }
+
+  /**
+   * Get the fingerprints of this robot.
+   *
+   * @return Persisted configuration fingerprints.
+   */
+  public static PersistedConfigFingerprints get()
+  {
+    return Holder.INSTANCE;
+  }
+
+  /**
+   * Check whether a configuration differs from the one last persisted to a device, and count the write as needed or
+   * skipped in the startup profile. Call {@link #persisted(String, String)} once the configuration was written.
+   *
+   * @param device      Device name, e.g. "SparkMax #3".
+   * @param fingerprint Fingerprint of the configuration.
+   * @return True if the configuration must be persisted.
+   */
+  public synchronized boolean needsPersist(String device, String fingerprint)
+  {
+    boolean persist = !fingerprint.equals(load().getProperty(device));
+    StartupProfiler.count(persist ? WRITES_COUNTER : SKIPPED_COUNTER);
+    return persist;
+  }
+
+  /**
+   * Record that a configuration was persisted to a device.
+   *
+   * @param device      Device name.
+   * @param fingerprint Fingerprint of the persisted configuration.
+   */
+  public synchronized void persisted(String device, String fingerprint)
+  {
+    if (fingerprint.equals(load().setProperty(device, fingerprint)))
+    {
+      return;
+    }
+    save();
+  }
+
+
+  /**
+   * Load the fingerprints on first use. A missing or unreadable file is treated as empty, every configuration is
+   * persisted once more.
+   *
+   * @return Fingerprints by device.
+   */
+  private Properties load()
+  {
+    if (fingerprints == null)
+    {
+      fingerprints = new Properties();
+      if (file != null && file.isFile())
+      {
+        try (InputStream in = new FileInputStream(file))
+        {
+          fingerprints.load(in);
+        } catch (IOException | IllegalArgumentException e)
+        {
+          System.err.println("Ignoring unreadable " + file + ": " + e.getMessage());
+          fingerprints.clear();
+        }
+      }
+    }
+    return fingerprints;
+  }
+
+  /**
+   * Write the fingerprints to a temporary file and move it over the old one, so a brownout never leaves a truncated
+   * file behind.
+   */
+  private void save()
+  {
+    if (file == null)
+    {
+      return;
+    }
+    try
+    {
+      File directory = file.getAbsoluteFile().getParentFile();
+      Files.createDirectories(directory.toPath());
+      File temporary = new File(directory, file.getName() + ".tmp");
+      try (OutputStream out = new FileOutputStream(temporary))
+      {
+        fingerprints.store(out, "YAGSL persisted device configurations, delete to persist every device again");
+      }
+      Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                 StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e)
+    {
+      System.err.println("Could not save " + file + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * Lazily created fingerprints of this robot.
+   */
+  private static final class Holder
+  {
+
+    /**
+     * Fingerprints of this robot.
+     */
+    private static final PersistedConfigFingerprints INSTANCE = new PersistedConfigFingerprints(
+        RobotBase.isReal() ? new File(Filesystem.getOperatingDirectory(), FILE_NAME) : null);
+  }
+}
@@ -3,15 +3,23 @@ package swervelib.parser.deserializer;
 import edu.wpi.first.math.Pair;
 import edu.wpi.first.math.system.plant.DCMotor;
 import edu.wpi.first.units.measure.Angle;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import swervelib.parser.deserializer.reflections.CTREDevices.MotorControllerType;
 import swervelib.parser.json.SwerveDriveJson.GyroAxis;
+import swervelib.telemetry.StartupProfiler;
 import yams.motorcontrollers.SmartMotorController;
 import yams.motorcontrollers.SmartMotorControllerConfig;
 
 /**
  * Create classes only if the vendor dep exists.
+ *
+ * <p>Devices are created by the {@link VendorDeviceProvider} registered for their type, see
+ * {@link VendorDeviceProviders}.
  */
 public class ReflectionsManager
 {
@@ -36,7 +44,7 @@ public class ReflectionsManager
     /**
      * ThriftyLib
      */
-    THRIFTYBOT("com.thethriftybot.ThriftyNova"),
+    THRIFTYBOT("com.thethriftybot.devices.ThriftyNova"),
     /**
      * Studica
      */
@@ -58,20 +66,23 @@ public class ReflectionsManager
     }
 
     /**
-     * Check if the vendordep exists.
+     * Check if the vendordep exists. The classpath is probed once for every vendor, see {@link VendorCapabilities}.
      *
      * @return Boolean on existence of their library in the current program.
      */
     public boolean exists()
     {
-      try
-      {
-        Class.forName(classToCheck);
-        return true;
-      } catch (ClassNotFoundException e)
-      {
-        return false;
-      }
+      return VendorCapabilities.get().isAvailable(this);
+    }
+
+    /**
+     * Get the class to check for to confirm existence of vendordep.
+     *
+     * @return Fully qualified class name.
+     */
+    String getClassToCheck()
+    {
+      return classToCheck;
     }
   }
 
@@ -83,45 +94,41 @@ public class ReflectionsManager
     /**
      * TalonFX Motor Controller wihtin KrakenX60 and KrakenX44
      */
-    TALONFX("CTREDevices"),
+    TALONFX("talonfx"),
     /**
      * TalonFXS Motor Controller
      */
-    TALONFXS("CTREDevices"),
+    TALONFXS("talonfxs"),
     /**
      * SparkMax Motor Controller
      */
-    SPARKMAX("REVDevices"),
+    SPARKMAX("sparkmax"),
     /**
      * SparkFlex Motor Controller
      */
-    SPARKFLEX("REVDevices"),
+    SPARKFLEX("sparkflex"),
     /**
      * ThriftyBot Nova Motor Controller
      */
-    NOVA("ThriftyBotDevices"),
+    NOVA("nova"),
     /**
      * not a motor controller
      */
     NONE("");
 
     /**
-     * Reflection package name
-     */
-    private final String packageName = "swervelib.parser.deserializer.reflections";
-    /**
-     * Reflection vendor class.
+     * Motor controller type in the JSON configuration.
      */
-    private final String className;
+    private final String type;
 
     /**
      * Constructor for MotorControllers enum.
      *
-     * @param className Class vendor object
+     * @param type Motor controller type in the JSON configuration.
      */
-    VendorMotorController(String className)
+    VendorMotorController(String type)
     {
-      this.className = packageName + "." + className;
+      this.type = type;
     }
 
     /**
@@ -136,24 +143,17 @@ public class ReflectionsManager
     public SmartMotorController getMotorController(int canid, String canbus, SmartMotorControllerConfig config,
                                                    DCMotor motor)
     {
+      var provider = VendorDeviceProviders.requireMotorControllerProvider(type);
       try
       {
-        Class<?> wrapper = Class.forName(className);
-        return (SmartMotorController) wrapper.getMethod("getMotorController",
-                                                        int.class,
-                                                        String.class,
-                                                        SmartMotorControllerConfig.class,
-                                                        DCMotor.class,
-                                                        String.class)
-                                             .invoke(null, canid, canbus, config, motor, this.name());
-      } catch (InvocationTargetException e)
+        return provider.createMotorController(type, canid, canbus, config, motor);
+      } catch (RuntimeException e)
       {
-        System.err.println("Error getting motor controller: " + className + ".getMotorController");
-        throw new RuntimeException(e.getTargetException());
-      } catch (Exception e)
+        System.err.println("Error getting motor controller: " + provider.getName() + " " + type);
+        throw e;
+      } catch (LinkageError e)
       {
-        System.err.println("Error getting motor controller: " + className + ".getMotorController");
-        throw new RuntimeException(e);
+        throw vendordepMissing(provider.getName() + " motor controller " + type, e);
       }
     }
 
@@ -170,18 +170,13 @@ public class ReflectionsManager
     {
       try
       {
-        Class<?> wrapper = Class.forName(className);
-        return (Pair<Supplier<Angle>, Object>) wrapper.getMethod("getAttachedAbsoluteEncoder",
-                                                                 String.class,
-                                                                 Object.class,
-                                                                 boolean.class)
-                                                      .invoke(null,
-                                                              externalEncoderType,
-                                                              motorController.getMotorController(),
-                                                              inverted);
-      } catch (Exception e)
+        return VendorDeviceProviders.requireMotorControllerProvider(type)
+                                    .createAttachedAbsoluteEncoder(externalEncoderType,
+                                                                   motorController.getMotorController(),
+                                                                   inverted);
+      } catch (LinkageError e)
       {
-        throw new RuntimeException(e);
+        throw vendordepMissing("attached absolute encoder " + externalEncoderType, e);
       }
     }
   }
@@ -194,35 +189,37 @@ public class ReflectionsManager
     /**
      * CANCoder class
      */
-    CANCODER("CTREDevices"),
+    CANCODER("cancoder"),
     /**
      * CANandMag encoder
      */
-    CANANDMAG("ReduxDevices"),
+    CANANDMAG("canandmag"),
     /**
      * AM CAN Encoder
      */
-    ANDYMARK("AndyMarkDevices"),
+    ANDYMARK("andymarkhexbore"),
     /**
      * ThriftyBot CAN encoder
      */
-    THRIFTYBOT10PIN("ThriftyBotDevices"),
+    THRIFTYBOT10PIN("thriftybot10pin"),
     /**
      * REV Robotics Spline Encoder, (if you use this for an azimuth encoder... wow...)
      */
-    SPLINE_ENCODER("REVDevices");
+    SPLINE_ENCODER("splineencoder");
 
-    private final String packageName = "swervelib.parser.deserializer.reflections";
-    private final String className;
+    /**
+     * Absolute encoder type in the JSON configuration.
+     */
+    private final String type;
 
     /**
      * Constructor for AbsoluteEncoder enum.
      *
-     * @param className Class vendor object
+     * @param type Absolute encoder type in the JSON configuration.
      */
-    AbsoluteEncoder(String className)
+    AbsoluteEncoder(String type)
     {
-      this.className = packageName + "." + className;
+      this.type = type;
     }
 
     /**
@@ -237,14 +234,11 @@ public class ReflectionsManager
     {
       try
       {
-        Class<?> wrapper = Class.forName(className);
-        return (Pair<Supplier<Angle>, Object>) wrapper.getMethod("getAbsoluteEncoder",
-                                                                 int.class,
-                                                                 String.class, boolean.class)
-                                                      .invoke(null, canid, canbus, inverted);
-      } catch (Exception e)
+        return VendorDeviceProviders.requireAbsoluteEncoderProvider(type)
+                                    .createAbsoluteEncoder(type, canid, canbus, inverted);
+      } catch (LinkageError e)
       {
-        throw new RuntimeException(e);
+        throw vendordepMissing("absolute encoder " + type, e);
       }
     }
   }
@@ -257,26 +251,29 @@ public class ReflectionsManager
     /**
      * Pigeon2 Gyro
      */
-    PIGEON2("CTREDevices"),
+    PIGEON2("pigeon2"),
     /**
      * NavX3 Gyro
      */
-    NAVX3("StudicaLibDevices"),
+    NAVX3("navx3"),
     /**
      * CANandGyro
      */
-    CANANDGYRO("ReduxDevices");
-    private final String packageName = "swervelib.parser.deserializer.reflections";
-    private final String className;
+    CANANDGYRO("canandgyro");
+
+    /**
+     * Gyroscope type in the JSON configuration.
+     */
+    private final String type;
 
     /**
      * Constructor for Gyro enum.
      *
-     * @param className Class vendor object
+     * @param type Gyroscope type in the JSON configuration.
      */
-    Gyro(String className)
+    Gyro(String type)
     {
-      this.className = packageName + "." + className;
+      this.type = type;
     }
 
     /**
@@ -292,21 +289,33 @@ public class ReflectionsManager
     {
       try
       {
-        Class<?> wrapper = Class.forName(className);
-        return (Pair<Supplier<Angle>, Object>) wrapper.getMethod("getGyroAngle",
-                                                                 int.class,
-                                                                 String.class,
-                                                                 GyroAxis.class,
-                                                                 boolean.class)
-                                                      .invoke(null, canid, canbus, axis, inverted);
-      } catch (Exception e)
+        return VendorDeviceProviders.requireGyroProvider(type).createGyro(type, canid, canbus, axis, inverted);
+      } catch (LinkageError e)
       {
-        throw new RuntimeException(e);
+        throw vendordepMissing("gyro " + type, e);
       }
     }
   }
 
 
+  /**
+   * Wrap an error linking a vendor class, thrown when the vendordep of a device is not installed.
+   *
+   * @param device Device being created, for the message.
+   * @param e      Linkage error.
+   * @return Exception to throw.
+   */
+  private static RuntimeException vendordepMissing(String device, LinkageError e)
+  {
+    return new IllegalStateException("Could not load the vendor classes of " + device +
+                                     ", is the vendordep for this device installed? " + e, e);
+  }
+
+  /**
+   * Constructors used by {@link #create(VENDOR, String, Class[], Object[])}, by class name and parameter types.
+   */
+  private static final Map<String, MethodHandle> constructors = new ConcurrentHashMap<>();
+
   /**
    * Create objects if the vendordep exists. Throw an exception when they dont.
    *
@@ -325,13 +334,55 @@ public class ReflectionsManager
     }
     try
     {
-      Class<?> wrapper   = Class.forName(className);
-      Object   vendorObj = wrapper.getDeclaredConstructor(parameterTypes).newInstance(parameters);
-      return (T) vendorObj;
-    } catch (Exception e)
+      MethodHandle constructor = constructorFor(className, parameterTypes);
+      try (var phase = StartupProfiler.phase("Create " + simpleName(className)))
+      {
+        return (T) constructor.invoke(parameters);
+      }
+    } catch (RuntimeException e)
+    {
+      throw e;
+    } catch (Throwable e)
     {
       throw new RuntimeException(e);
     }
   }
 
+  /**
+   * Get the cached constructor of a class, resolving it on first use. Like
+   * {@link Class#getDeclaredConstructor(Class[])}, any declared constructor accessible from this class is found.
+   *
+   * @param className      Wrapper classname.
+   * @param parameterTypes Parameter types for the wrappers constructor.
+   * @return Constructor taking its parameters as an {@code Object[]}.
+   * @throws ReflectiveOperationException if the class or constructor does not exist or is not accessible.
+   */
+  static MethodHandle constructorFor(String className, Class<?>[] parameterTypes) throws ReflectiveOperationException
+  {
+    String       key         = className + Arrays.toString(parameterTypes);
+    MethodHandle constructor = constructors.get(key);
+    if (constructor == null)
+    {
+      try (var phase = StartupProfiler.phase("Resolve " + simpleName(className)))
+      {
+        constructor = MethodHandles.lookup()
+                                   .unreflectConstructor(Class.forName(className)
+                                                              .getDeclaredConstructor(parameterTypes))
+                                   .asSpreader(Object[].class, parameterTypes.length);
+      }
+      constructors.put(key, constructor);
+    }
+    return constructor;
+  }
+
+  /**
+   * Get the simple name of a fully qualified class name.
+   *
+   * @param className Fully qualified class name.
+   * @return Class name without the package.
+   */
+  private static String simpleName(String className)
+  {
+    return className.substring(className.lastIndexOf('.') + 1);
+  }
 }
@@ -0,0 +1,162 @@
+package swervelib.parser.deserializer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import swervelib.parser.deserializer.ReflectionsManager.VENDOR;
+import swervelib.telemetry.StartupProfiler;
+
+/**
+ * Snapshot of the vendordeps on the classpath, probed once per process.
+ *
+ * <p>Every {@link VENDOR} is probed in parallel on first use by loading its marker class without initializing it, so
+ * the vendor library's static initialization is not paid on the boot thread just to learn whether it is installed.
+ * The classpath does not change while the robot program runs, so the snapshot is never refreshed.
+ */
+public final class VendorCapabilities
+{
+
+  /**
+   * Availability of each vendor.
+   */
+  private final Map<VENDOR, Boolean> available;
+  /**
+   * Time spent probing in milliseconds.
+   */
+  private final double               probeMilliseconds;
+
+  /**
+   * Create a snapshot.
+   *
+   * @param available         Availability of each vendor.
+   * @param probeMilliseconds Time spent probing in milliseconds.
+   */
+  private VendorCapabilities(Map<VENDOR, Boolean> available, double probeMilliseconds)
+  {
+    this.available = Collections.unmodifiableMap(available);
+    this.probeMilliseconds = probeMilliseconds;
+  }
+
+  /**
+   * Get the snapshot of this process, probing the classpath on the first call.
+   *
+   * @return Vendor capabilities.
+   */
+  public static VendorCapabilities get()
+  {
+    return Holder.INSTANCE;
+  }
+
+  /**
+   * Check if the vendordep of a vendor is installed.
+   *
+   * @param vendor Vendor to check.
+   * @return True if the vendor library is on the classpath.
+   */
+  public boolean isAvailable(VENDOR vendor)
+  {
+    return available.get(vendor);
+  }
+
+  /**
+   * Get the vendors whose vendordep is installed.
+   *
+   * @return Available vendors.
+   */
+  public Set<VENDOR> getAvailable()
+  {
+    Set<VENDOR> vendors = EnumSet.noneOf(VENDOR.class);
+    available.forEach((vendor, present) -> {
+      if (present)
+      {
+        vendors.add(vendor);
+      }
+    });
+    return vendors;
+  }
+
+  /**
+   * Get the time spent probing the classpath.
+   *
+   * @return Probe duration in milliseconds.
+   */
+  public double getProbeMilliseconds()
+  {
+    return probeMilliseconds;
+  }
+
+  @Override
+  public String toString()
+  {
+    return "VendorCapabilities" + available + String.format(" probed in %.2f ms", probeMilliseconds);
+  }
+
+  /**
+   * Probe every vendor in parallel.
+   *
+   * @return Snapshot of the classpath.
+   */
+  private static VendorCapabilities probe()
+  {
+    try (var phase = StartupProfiler.phase("Probe vendor libraries"))
+    {
+      long                 start       = System.nanoTime();
+      VENDOR[]             vendors     = VENDOR.values();
+      Map<VENDOR, Boolean> available   = new EnumMap<>(VENDOR.class);
+      AtomicInteger        threadCount = new AtomicInteger();
+      ExecutorService executor = Executors.newFixedThreadPool(vendors.length, runnable -> {
+        Thread thread = new Thread(runnable, "YAGSL Vendor Probe " + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+      try
+      {
+        List<Future<Boolean>> probes = new ArrayList<>(vendors.length);
+        for (VENDOR vendor : vendors)
+        {
+          probes.add(executor.submit(() -> VendorDeviceProviders.classExists(vendor.getClassToCheck())));
+        }
+        for (int i = 0; i < vendors.length; i++)
+        {
+          try
+          {
+            available.put(vendors[i], probes.get(i).get());
+          } catch (ExecutionException e)
+          {
+            available.put(vendors[i], false);
+          } catch (InterruptedException e)
+          {
+            Thread.currentThread().interrupt();
+            // Finish on this thread rather than leave the snapshot incomplete.
+            available.put(vendors[i], VendorDeviceProviders.classExists(vendors[i].getClassToCheck()));
+          }
+        }
+      } finally
+      {
+        executor.shutdownNow();
+      }
+      return new VendorCapabilities(available, (System.nanoTime() - start) / 1e6);
+    }
+  }
+
+  /**
+   * Lazily probed snapshot.
+   */
+  private static final class Holder
+  {
+
+    /**
+     * Snapshot of this process.
+     */
+    private static final VendorCapabilities INSTANCE = probe();
+  }
+}
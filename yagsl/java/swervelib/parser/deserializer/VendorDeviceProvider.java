@@ -0,0 +1,132 @@
+package swervelib.parser.deserializer;
+
+import edu.wpi.first.math.Pair;
+import edu.wpi.first.math.system.plant.DCMotor;
+import edu.wpi.first.units.measure.Angle;
+import java.util.Set;
+import java.util.function.Supplier;
+import swervelib.parser.json.SwerveDriveJson.GyroAxis;
+import yams.motorcontrollers.SmartMotorController;
+import yams.motorcontrollers.SmartMotorControllerConfig;
+
+/**
+ * Creates the devices of one vendor for YAGSL. Providers are discovered once with {@link java.util.ServiceLoader}, so
+ * device types can be added without forking YAGSL by implementing this interface and listing the implementation in
+ * {@code META-INF/services/swervelib.parser.deserializer.VendorDeviceProvider}.
+ *
+ * <p>Device types are the first part of the {@code type} strings in the JSON configuration, e.g. {@code "talonfx"}
+ * for {@code "talonfx_krakenx60"} or {@code "cancoder"} for {@code "cancoder_can"}. Providers must have a public
+ * no-argument constructor and must not touch vendor classes until {@link #isAvailable()} returned true.
+ *
+ * @see VendorDeviceProviders
+ */
+public interface VendorDeviceProvider
+{
+
+  /**
+   * Get the vendor name used in reports.
+   *
+   * @return Vendor name.
+   */
+  String getName();
+
+  /**
+   * Check whether the vendordep of this provider is installed. Unavailable providers are not registered.
+   *
+   * @return True if the devices can be created.
+   */
+  default boolean isAvailable()
+  {
+    return true;
+  }
+
+  /**
+   * Get the motor controller types created by this provider.
+   *
+   * @return Lower case motor controller types.
+   */
+  default Set<String> getMotorControllerTypes()
+  {
+    return Set.of();
+  }
+
+  /**
+   * Get the CAN absolute encoder types created by this provider.
+   *
+   * @return Lower case absolute encoder types.
+   */
+  default Set<String> getAbsoluteEncoderTypes()
+  {
+    return Set.of();
+  }
+
+  /**
+   * Get the CAN gyroscope types created by this provider.
+   *
+   * @return Lower case gyroscope types.
+   */
+  default Set<String> getGyroTypes()
+  {
+    return Set.of();
+  }
+
+  /**
+   * Create a motor controller as a {@link SmartMotorController}.
+   *
+   * @param type   Motor controller type from {@link #getMotorControllerTypes()}.
+   * @param canid  CAN ID of the motor controller.
+   * @param canbus CAN bus name of the motor controller.
+   * @param config {@link SmartMotorControllerConfig} to apply to the {@link SmartMotorController}.
+   * @param motor  {@link DCMotor} driven by the motor controller.
+   * @return {@link SmartMotorController}
+   */
+  default SmartMotorController createMotorController(String type, int canid, String canbus,
+                                                     SmartMotorControllerConfig config, DCMotor motor)
+  {
+    throw new UnsupportedOperationException(getName() + " does not provide motor controllers");
+  }
+
+  /**
+   * Get an absolute encoder attached to one of this provider's motor controllers.
+   *
+   * @param attachType      Attached encoder type, e.g. {@code "dutycycle"} or {@code "analog"}.
+   * @param motorController Vendor motor controller object the encoder is attached to.
+   * @param inverted        Inverted absolute encoder readings.
+   * @return {@link Pair} of {@link Supplier} and the vendor encoder {@link Object}.
+   */
+  default Pair<Supplier<Angle>, Object> createAttachedAbsoluteEncoder(String attachType, Object motorController,
+                                                                     boolean inverted)
+  {
+    throw new UnsupportedOperationException(getName() + " does not provide attached absolute encoders");
+  }
+
+  /**
+   * Create a CAN absolute encoder.
+   *
+   * @param type     Absolute encoder type from {@link #getAbsoluteEncoderTypes()}.
+   * @param canid    CAN ID of the encoder.
+   * @param canbus   CAN bus name of the encoder.
+   * @param inverted Inverted absolute encoder readings.
+   * @return {@link Pair} of {@link Supplier} and the vendor encoder {@link Object}.
+   */
+  default Pair<Supplier<Angle>, Object> createAbsoluteEncoder(String type, int canid, String canbus, boolean inverted)
+  {
+    throw new UnsupportedOperationException(getName() + " does not provide absolute encoders");
+  }
+
+  /**
+   * Create a CAN gyroscope.
+   *
+   * @param type     Gyroscope type from {@link #getGyroTypes()}.
+   * @param canid    CAN ID of the gyroscope.
+   * @param canbus   CAN bus name of the gyroscope.
+   * @param axis     Gyro axis to use for the heading.
+   * @param inverted Inverted gyro readings.
+   * @return {@link Pair} of {@link Supplier} and the vendor gyroscope {@link Object}.
+   */
+  default Pair<Supplier<Angle>, Object> createGyro(String type, int canid, String canbus, GyroAxis axis,
+                                                   boolean inverted)
+  {
+    throw new UnsupportedOperationException(getName() + " does not provide gyroscopes");
+  }
+}
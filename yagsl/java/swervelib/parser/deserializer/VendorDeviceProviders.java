@@ -0,0 +1,271 @@
+package swervelib.parser.deserializer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import swervelib.parser.deserializer.reflections.AndymarkDevices;
+import swervelib.parser.deserializer.reflections.CTREDevices;
+import swervelib.parser.deserializer.reflections.REVDevices;
+import swervelib.parser.deserializer.reflections.ReduxDevices;
+import swervelib.parser.deserializer.reflections.StudicaLibDevices;
+import swervelib.parser.deserializer.reflections.ThriftyBotDevices;
+import swervelib.telemetry.StartupProfiler;
+
+/**
+ * Registry of the available {@link VendorDeviceProvider}s, discovered once per process on first use.
+ *
+ * <p>Providers whose vendordep is missing, or that fail to load, are skipped. When two providers claim the same device
+ * type the first one discovered keeps it.
+ */
+public final class VendorDeviceProviders
+{
+
+  /**
+   * Providers shipped with YAGSL. Robot jars that merge the {@code META-INF/services} files of their dependencies may
+   * drop YAGSL's, so any of these not found by the {@link ServiceLoader} are added afterwards. Lambdas rather than
+   * constructor references, so a provider class is only linked when it is created inside the registry's guard.
+   */
+  private static final List<Supplier<VendorDeviceProvider>> BUILT_IN = List.of(() -> new CTREDevices(),
+                                                                               () -> new REVDevices(),
+                                                                               () -> new ThriftyBotDevices(),
+                                                                               () -> new ReduxDevices(),
+                                                                               () -> new StudicaLibDevices(),
+                                                                               () -> new AndymarkDevices());
+
+  /**
+   * Utility class.
+   */
+  private VendorDeviceProviders()
+  {
+  }
+
+  /**
+   * Get the registered providers.
+   *
+   * @return Available providers in discovery order.
+   */
+  public static List<VendorDeviceProvider> getProviders()
+  {
+    return Registry.INSTANCE.providers;
+  }
+
+  /**
+   * Get the provider of a motor controller type.
+   *
+   * @param type Motor controller type, e.g. {@code "talonfx"}.
+   * @return Provider, empty if no available provider creates the type.
+   */
+  public static Optional<VendorDeviceProvider> getMotorControllerProvider(String type)
+  {
+    return Optional.ofNullable(Registry.INSTANCE.motorControllers.get(type.toLowerCase()));
+  }
+
+  /**
+   * Get the provider of a CAN absolute encoder type.
+   *
+   * @param type Absolute encoder type, e.g. {@code "cancoder"}.
+   * @return Provider, empty if no available provider creates the type.
+   */
+  public static Optional<VendorDeviceProvider> getAbsoluteEncoderProvider(String type)
+  {
+    return Optional.ofNullable(Registry.INSTANCE.absoluteEncoders.get(type.toLowerCase()));
+  }
+
+  /**
+   * Get the provider of a CAN gyroscope type.
+   *
+   * @param type Gyroscope type, e.g. {@code "pigeon2"}.
+   * @return Provider, empty if no available provider creates the type.
+   */
+  public static Optional<VendorDeviceProvider> getGyroProvider(String type)
+  {
+    return Optional.ofNullable(Registry.INSTANCE.gyros.get(type.toLowerCase()));
+  }
+
+  /**
+   * Get the provider of a motor controller type, or fail with a message naming the missing vendordep.
+   *
+   * @param type Motor controller type.
+   * @return Provider.
+   * @throws IllegalArgumentException if no available provider creates the type.
+   */
+  public static VendorDeviceProvider requireMotorControllerProvider(String type)
+  {
+    return getMotorControllerProvider(type).orElseThrow(() -> missing("motor controller", type));
+  }
+
+  /**
+   * Get the provider of a CAN absolute encoder type, or fail with a message naming the missing vendordep.
+   *
+   * @param type Absolute encoder type.
+   * @return Provider.
+   * @throws IllegalArgumentException if no available provider creates the type.
+   */
+  public static VendorDeviceProvider requireAbsoluteEncoderProvider(String type)
+  {
+    return getAbsoluteEncoderProvider(type).orElseThrow(() -> missing("absolute encoder", type));
+  }
+
+  /**
+   * Get the provider of a CAN gyroscope type, or fail with a message naming the missing vendordep.
+   *
+   * @param type Gyroscope type.
+   * @return Provider.
+   * @throws IllegalArgumentException if no available provider creates the type.
+   */
+  public static VendorDeviceProvider requireGyroProvider(String type)
+  {
+    return getGyroProvider(type).orElseThrow(() -> missing("gyroscope", type));
+  }
+
+  /**
+   * Check whether a class is on the classpath without initializing it. Used by providers to detect their vendordep.
+   *
+   * @param className Fully qualified class name.
+   * @return True if the class can be loaded.
+   */
+  public static boolean classExists(String className)
+  {
+    try
+    {
+      Class.forName(className, false, VendorDeviceProviders.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException | LinkageError e)
+    {
+      return false;
+    }
+  }
+
+  /**
+   * Describe a device type without an available provider.
+   *
+   * @param device Device kind.
+   * @param type   Device type.
+   * @return Exception to throw.
+   */
+  private static IllegalArgumentException missing(String device, String type)
+  {
+    return new IllegalArgumentException("No vendor device provider for " + device + " type \"" + type +
+                                        "\", is the vendordep for this device installed?");
+  }
+
+  /**
+   * Providers and device type lookup tables, built on first use.
+   */
+  private static final class Registry
+  {
+
+    /**
+     * Registry of this process.
+     */
+    private static final Registry                          INSTANCE         = new Registry();
+    /**
+     * Available providers in discovery order.
+     */
+    private final        List<VendorDeviceProvider>        providers;
+    /**
+     * Providers by motor controller type.
+     */
+    private final        Map<String, VendorDeviceProvider> motorControllers = new HashMap<>();
+    /**
+     * Providers by absolute encoder type.
+     */
+    private final        Map<String, VendorDeviceProvider> absoluteEncoders = new HashMap<>();
+    /**
+     * Providers by gyroscope type.
+     */
+    private final        Map<String, VendorDeviceProvider> gyros            = new HashMap<>();
+
+    /**
+     * Discover and register the providers.
+     */
+    private Registry()
+    {
+      List<VendorDeviceProvider> found = new ArrayList<>();
+      try (var phase = StartupProfiler.phase("Load vendor device providers"))
+      {
+        Iterator<VendorDeviceProvider> iterator = ServiceLoader.load(VendorDeviceProvider.class,
+                                                                     VendorDeviceProvider.class.getClassLoader())
+                                                               .iterator();
+        while (true)
+        {
+          try
+          {
+            if (!iterator.hasNext())
+            {
+              break;
+            }
+            register(iterator.next(), found);
+          } catch (ServiceConfigurationError | LinkageError e)
+          {
+            System.err.println("Skipping vendor device provider: " + e);
+          }
+        }
+        for (Supplier<VendorDeviceProvider> builtIn : BUILT_IN)
+        {
+          try
+          {
+            VendorDeviceProvider provider = builtIn.get();
+            if (found.stream().noneMatch(registered -> registered.getClass() == provider.getClass()))
+            {
+              register(provider, found);
+            }
+          } catch (LinkageError e)
+          {
+            // Vendordep classes missing, the provider is unavailable.
+          }
+        }
+      }
+      providers = Collections.unmodifiableList(found);
+    }
+
+    /**
+     * Register an available provider and the device types it creates.
+     *
+     * @param provider Provider to register.
+     * @param found    Registered providers.
+     */
+    private void register(VendorDeviceProvider provider, List<VendorDeviceProvider> found)
+    {
+      if (!provider.isAvailable())
+      {
+        return;
+      }
+      found.add(provider);
+      claim(provider, VendorDeviceProvider::getMotorControllerTypes, motorControllers, "motor controller");
+      claim(provider, VendorDeviceProvider::getAbsoluteEncoderTypes, absoluteEncoders, "absolute encoder");
+      claim(provider, VendorDeviceProvider::getGyroTypes, gyros, "gyroscope");
+    }
+
+    /**
+     * Map device types to a provider unless another provider claimed them first.
+     *
+     * @param provider Provider claiming the types.
+     * @param types    Device types of the provider.
+     * @param table    Lookup table to fill.
+     * @param device   Device kind for the report.
+     */
+    private static void claim(VendorDeviceProvider provider, Function<VendorDeviceProvider, Set<String>> types,
+                              Map<String, VendorDeviceProvider> table, String device)
+    {
+      for (String type : types.apply(provider))
+      {
+        var previous = table.putIfAbsent(type.toLowerCase(), provider);
+        if (previous != null && previous != provider)
+        {
+          System.err.println("Vendor device provider " + provider.getName() + " ignored for " + device + " type \"" +
+                             type + "\", already provided by " + previous.getName());
+        }
+      }
+    }
+  }
+}
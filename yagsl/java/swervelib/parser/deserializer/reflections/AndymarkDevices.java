@@ -5,12 +5,18 @@ import static edu.wpi.first.units.Units.Radians;
 import com.andymark.jni.AM_CAN_HexBoreEncoder;
 import edu.wpi.first.math.Pair;
 import edu.wpi.first.units.measure.Angle;
+import java.util.Set;
 import java.util.function.Supplier;
+import swervelib.parser.deserializer.DeviceRegistry;
+import swervelib.parser.deserializer.DeviceRegistry.Kind;
+import swervelib.parser.deserializer.VendorDeviceProvider;
+import swervelib.parser.deserializer.VendorDeviceProviders;
+import swervelib.parser.json.DeviceJson.VENDOR;
 
 /**
  * Andymark Devices
  */
-public class AndymarkDevices
+public class AndymarkDevices implements VendorDeviceProvider
 {
 
   /**
@@ -23,7 +29,32 @@ public class AndymarkDevices
    */
   public static Pair<Supplier<Angle>, Object> getAbsoluteEncoder(int canid, String canbus, boolean inverted)
   {
-    var encoder = new AM_CAN_HexBoreEncoder(canid);
+    var encoder = DeviceRegistry.get().acquire(VENDOR.ANDYMARK, canbus, canid, Kind.ABSOLUTE_ENCODER,
+                                               AM_CAN_HexBoreEncoder.class, () -> new AM_CAN_HexBoreEncoder(canid));
     return Pair.of(() -> Radians.of(encoder.getAngleRadians() * (inverted ? -1 : 1)), encoder);
   }
+
+  @Override
+  public String getName()
+  {
+    return "AndyMark";
+  }
+
+  @Override
+  public boolean isAvailable()
+  {
+    return VendorDeviceProviders.classExists("com.andymark.jni.AM_CAN_HexBoreEncoder");
+  }
+
+  @Override
+  public Set<String> getAbsoluteEncoderTypes()
+  {
+    return Set.of("andymarkhexbore");
+  }
+
+  @Override
+  public Pair<Supplier<Angle>, Object> createAbsoluteEncoder(String type, int canid, String canbus, boolean inverted)
+  {
+    return getAbsoluteEncoder(canid, canbus, inverted);
+  }
 }
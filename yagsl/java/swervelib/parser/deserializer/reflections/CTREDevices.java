@@ -1,6 +1,9 @@
 package swervelib.parser.deserializer.reflections;
 
+import com.ctre.phoenix6.BaseStatusSignal;
 import com.ctre.phoenix6.CANBus;
+import com.ctre.phoenix6.StatusCode;
+import com.ctre.phoenix6.StatusSignal;
 import com.ctre.phoenix6.configs.CANcoderConfiguration;
 import com.ctre.phoenix6.configs.CANcoderConfigurator;
 import com.ctre.phoenix6.hardware.CANcoder;
@@ -11,8 +14,18 @@ import com.ctre.phoenix6.signals.SensorDirectionValue;
 import edu.wpi.first.math.Pair;
 import edu.wpi.first.math.system.plant.DCMotor;
 import edu.wpi.first.units.measure.Angle;
+import java.util.Set;
 import java.util.function.Supplier;
+import swervelib.parser.deserializer.CANFramePlanner;
+import swervelib.parser.deserializer.CANFramePlanner.Signal;
+import swervelib.parser.deserializer.DeviceConfigBatch;
+import swervelib.parser.deserializer.DeviceRegistry;
+import swervelib.parser.deserializer.DeviceRegistry.Kind;
+import swervelib.parser.deserializer.VendorDeviceProvider;
+import swervelib.parser.deserializer.VendorDeviceProviders;
+import swervelib.parser.json.DeviceJson.VENDOR;
 import swervelib.parser.json.SwerveDriveJson.GyroAxis;
+import swervelib.telemetry.StartupProfiler;
 import yams.motorcontrollers.SmartMotorController;
 import yams.motorcontrollers.SmartMotorControllerConfig;
 import yams.motorcontrollers.remote.TalonFXSWrapper;
@@ -21,7 +34,7 @@ import yams.motorcontrollers.remote.TalonFXWrapper;
 /**
  * Reflection class for {@link TalonFX} and {@link TalonFXS}s and other devices from CTRE.
  */
-public class CTREDevices
+public class CTREDevices implements VendorDeviceProvider
 {
 
   /**
@@ -54,17 +67,36 @@ public class CTREDevices
   {
     // Will throw an error if invalid motor controller type is given.
     var motorType = MotorControllerType.valueOf(motorControllerType.toUpperCase());
+    var registry = DeviceRegistry.get();
     switch (motorType)
     {
       case TALONFX ->
       {
-        var motorController = new TalonFX(canid, new CANBus(canbus));
-        return new TalonFXWrapper(motorController, motor, config);
+        return registry.acquire(VENDOR.CTRE, canbus, canid, Kind.MOTOR_CONTROLLER, TalonFXWrapper.class, () -> {
+          TalonFX motorController;
+          try (var phase = StartupProfiler.phase("Open TalonFX #" + canid))
+          {
+            motorController = new TalonFX(canid, new CANBus(canbus));
+          }
+          try (var phase = StartupProfiler.phase("Configure TalonFX #" + canid))
+          {
+            return new TalonFXWrapper(motorController, motor, config);
+          }
+        });
       }
       case TALONFXS ->
       {
-        var motorController = new TalonFXS(canid, new CANBus(canbus));
-        return new TalonFXSWrapper(motorController, motor, config);
+        return registry.acquire(VENDOR.CTRE, canbus, canid, Kind.MOTOR_CONTROLLER, TalonFXSWrapper.class, () -> {
+          TalonFXS motorController;
+          try (var phase = StartupProfiler.phase("Open TalonFXS #" + canid))
+          {
+            motorController = new TalonFXS(canid, new CANBus(canbus));
+          }
+          try (var phase = StartupProfiler.phase("Configure TalonFXS #" + canid))
+          {
+            return new TalonFXSWrapper(motorController, motor, config);
+          }
+        });
       }
     }
     throw new RuntimeException(
@@ -82,14 +114,22 @@ public class CTREDevices
    */
   public static Pair<Supplier<Angle>, Object> getGyroAngle(int canid, String canbus, GyroAxis axis, boolean inverted)
   {
-    var gyro = new Pigeon2(canid, new CANBus(canbus));
-    switch (axis)
+    Pigeon2 gyro = DeviceRegistry.get().acquire(VENDOR.CTRE, canbus, canid, Kind.GYRO, Pigeon2.class, () -> {
+      try (var phase = StartupProfiler.phase("Open Pigeon2 #" + canid))
+      {
+        return new Pigeon2(canid, new CANBus(canbus));
+      }
+    });
+    StatusSignal<Angle> angle = switch (axis)
     {
-      case YAW: return Pair.of(gyro.getYaw().asSupplier(), gyro);
-      case PITCH: return Pair.of(gyro.getPitch().asSupplier(), gyro);
-      case ROLL: return Pair.of(gyro.getRoll().asSupplier(), gyro);
-      default: throw new IllegalArgumentException("Invalid gyro axis: " + axis);
-    }
+      case YAW -> gyro.getYaw();
+      case PITCH -> gyro.getPitch();
+      case ROLL -> gyro.getRoll();
+      default -> throw new IllegalArgumentException("Invalid gyro axis: " + axis);
+    };
+    applyFramePeriods("Pigeon2 #" + canid + " on bus \"" + canbus + "\"", canbus,
+                      angle, Signal.GYRO_ANGLE, gyro.getAngularVelocityZWorld(), Signal.GYRO_RATE);
+    return Pair.of(PhoenixSignalGroup.of(canbus).add(gyro, angle), gyro);
   }
 
   /**
@@ -102,13 +142,136 @@ public class CTREDevices
    */
   public static Pair<Supplier<Angle>, Object> getAbsoluteEncoder(int canid, String canbus, boolean inverted)
   {
-    var                   encoder      = new CANcoder(canid, new CANBus(canbus));
-    CANcoderConfiguration cfg          = new CANcoderConfiguration();
-    CANcoderConfigurator  configurator = encoder.getConfigurator();
-    configurator.refresh(cfg);
-    cfg.MagnetSensor.withSensorDirection(
-        inverted ? SensorDirectionValue.Clockwise_Positive : SensorDirectionValue.CounterClockwise_Positive);
-    configurator.apply(cfg);
-    return Pair.of(() -> encoder.getPosition().getValue(), encoder);
+    CANcoder encoder = DeviceRegistry.get().acquire(VENDOR.CTRE, canbus, canid, Kind.ABSOLUTE_ENCODER, CANcoder.class,
+                                                    () -> openCANcoder(canid, canbus, inverted));
+    return Pair.of(PhoenixSignalGroup.of(canbus).add(encoder, encoder.getPosition()), encoder);
+  }
+
+  /**
+   * Throw if a Phoenix 6 call failed.
+   *
+   * @param status Status returned by the call.
+   * @param action Description of the call for the exception.
+   */
+  private static void check(StatusCode status, String action)
+  {
+    if (!status.isOK())
+    {
+      throw new IllegalStateException("Failed to " + action + ": " + status);
+    }
+  }
+
+  /**
+   * Queue the {@link CANFramePlanner} update frequencies of a control and a telemetry signal in the
+   * {@link DeviceConfigBatch}. Without a plan in the batch the Phoenix 6 defaults are kept.
+   *
+   * @param device          Device name.
+   * @param canbus          CAN bus name of the device.
+   * @param control         Signal the drive reads every loop.
+   * @param controlSignal   Planned signal of {@code control}.
+   * @param telemetry       Signal only used for telemetry.
+   * @param telemetrySignal Planned signal of {@code telemetry}.
+   */
+  private static void applyFramePeriods(String device, String canbus, BaseStatusSignal control, Signal controlSignal,
+                                        BaseStatusSignal telemetry, Signal telemetrySignal)
+  {
+    var plan = DeviceConfigBatch.getFramePlan();
+    if (plan == null)
+    {
+      return;
+    }
+    double controlHz   = 1 / plan.getPeriod(canbus, controlSignal);
+    double telemetryHz = 1 / plan.getPeriod(canbus, telemetrySignal);
+    DeviceConfigBatch.apply(device, () -> {
+      try (var phase = StartupProfiler.phase("Set " + device + " frame periods"))
+      {
+        check(control.setUpdateFrequency(controlHz), "set " + device + " control frame period");
+        check(telemetry.setUpdateFrequency(telemetryHz), "set " + device + " telemetry frame period");
+      }
+    });
+  }
+
+  /**
+   * Open a {@link CANcoder} and queue its sensor direction and frame periods in the {@link DeviceConfigBatch}.
+   *
+   * @param canid    CAN ID of the encoder.
+   * @param canbus   CAN bus name of the encoder.
+   * @param inverted Inverted encoder readings.
+   * @return {@link CANcoder}
+   */
+  private static CANcoder openCANcoder(int canid, String canbus, boolean inverted)
+  {
+    CANcoder encoder;
+    try (var phase = StartupProfiler.phase("Open CANcoder #" + canid))
+    {
+      encoder = new CANcoder(canid, new CANBus(canbus));
+    }
+    CANcoderConfigurator configurator = encoder.getConfigurator();
+    DeviceConfigBatch.apply("CANcoder #" + canid + " on bus \"" + canbus + "\"", () -> {
+      CANcoderConfiguration cfg = new CANcoderConfiguration();
+      try (var phase = StartupProfiler.phase("Refresh CANcoder #" + canid + " config"))
+      {
+        check(configurator.refresh(cfg), "refresh CANcoder #" + canid + " config");
+      }
+      cfg.MagnetSensor.withSensorDirection(
+          inverted ? SensorDirectionValue.Clockwise_Positive : SensorDirectionValue.CounterClockwise_Positive);
+      try (var phase = StartupProfiler.phase("Apply CANcoder #" + canid + " config"))
+      {
+        check(configurator.apply(cfg), "apply CANcoder #" + canid + " config");
+      }
+    });
+    applyFramePeriods("CANcoder #" + canid + " on bus \"" + canbus + "\"", canbus,
+                      encoder.getPosition(), Signal.ABSOLUTE_POSITION, encoder.getVelocity(), Signal.ABSOLUTE_VELOCITY);
+    return encoder;
+  }
+
+  @Override
+  public String getName()
+  {
+    return "CTRE";
+  }
+
+  @Override
+  public boolean isAvailable()
+  {
+    return VendorDeviceProviders.classExists("com.ctre.phoenix6.hardware.TalonFX");
+  }
+
+  @Override
+  public Set<String> getMotorControllerTypes()
+  {
+    return Set.of("talonfx", "talonfxs");
+  }
+
+  @Override
+  public SmartMotorController createMotorController(String type, int canid, String canbus,
+                                                    SmartMotorControllerConfig config, DCMotor motor)
+  {
+    return getMotorController(canid, canbus, config, motor, type);
+  }
+
+  @Override
+  public Set<String> getAbsoluteEncoderTypes()
+  {
+    return Set.of("cancoder");
+  }
+
+  @Override
+  public Pair<Supplier<Angle>, Object> createAbsoluteEncoder(String type, int canid, String canbus, boolean inverted)
+  {
+    return getAbsoluteEncoder(canid, canbus, inverted);
+  }
+
+  @Override
+  public Set<String> getGyroTypes()
+  {
+    return Set.of("pigeon2");
+  }
+
+  @Override
+  public Pair<Supplier<Angle>, Object> createGyro(String type, int canid, String canbus, GyroAxis axis,
+                                                  boolean inverted)
+  {
+    return getGyroAngle(canid, canbus, axis, inverted);
   }
 }
@@ -0,0 +1,187 @@
+package swervelib.parser.deserializer.reflections;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.StatusCode;
+import com.ctre.phoenix6.StatusSignal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import swervelib.parser.Cache;
+import swervelib.parser.CacheRefreshPolicy;
+import swervelib.parser.deserializer.DeviceRegistry;
+
+/**
+ * Phoenix 6 {@link StatusSignal}s of one CAN bus refreshed together with a single
+ * {@link BaseStatusSignal#refreshAll(BaseStatusSignal...)}, instead of one refresh per sensor per read.
+ *
+ * <p>The first read in a robot loop refreshes every signal of the bus, later reads within
+ * {@value #REFRESH_PERIOD_MS} ms are served from that refresh, so every supplier of the bus sees values of the same
+ * instant. Adding signals does not read the bus, the first read after the devices are created refreshes every signal
+ * added so far at once. Reads are single flight like {@link Cache}: while one thread refreshes the bus, readers on
+ * other threads get the last values instead of waiting.
+ *
+ * <p>The group refreshes on its {@link CacheRefreshPolicy#VALIDITY_PERIOD validity period} in simulation too, one read
+ * of a simulated sensor does not refresh every signal of the bus. Signals are kept by the device they belong to and
+ * dropped when the {@link DeviceRegistry} closes that device, so a closed swerve drive is not refreshed anymore.
+ */
+public final class PhoenixSignalGroup
+{
+
+  /**
+   * Time in milliseconds a refresh is served to every supplier, half a 20 ms robot loop.
+   */
+  public static final  long                            REFRESH_PERIOD_MS = 10;
+  /**
+   * Group of each CAN bus.
+   */
+  private static final Map<String, PhoenixSignalGroup> groups            = new ConcurrentHashMap<>();
+
+  static
+  {
+    DeviceRegistry.addCloseListener(PhoenixSignalGroup::remove);
+  }
+
+  /**
+   * CAN bus of the signals.
+   */
+  private final        String                          canbus;
+  /**
+   * Signals refreshed together.
+   */
+  private volatile     BaseStatusSignal[]              signals           = new BaseStatusSignal[0];
+  /**
+   * Device of each signal, at the same index as in {@link #signals}.
+   */
+  private              Object[]                        devices           = new Object[0];
+  /**
+   * Result of the last refresh.
+   */
+  private final        Cache<StatusCode>               refresh;
+
+  /**
+   * Create the group of a CAN bus.
+   *
+   * @param canbus CAN bus name.
+   */
+  private PhoenixSignalGroup(String canbus)
+  {
+    this.canbus = canbus;
+    refresh = new Cache<>(this::refreshAll,
+                          REFRESH_PERIOD_MS,
+                          Cache.getDefaultClock(),
+                          CacheRefreshPolicy.VALIDITY_PERIOD);
+  }
+
+  /**
+   * Refresh every signal added so far.
+   *
+   * @return Status of the refresh, {@link StatusCode#OK} without signals.
+   */
+  private StatusCode refreshAll()
+  {
+    BaseStatusSignal[] snapshot = signals;
+    return snapshot.length == 0 ? StatusCode.OK : BaseStatusSignal.refreshAll(snapshot);
+  }
+
+  /**
+   * Get the group of a CAN bus.
+   *
+   * @param canbus CAN bus name, {@code null} or empty for the roboRIO bus.
+   * @return Signal group of the bus.
+   */
+  public static PhoenixSignalGroup of(String canbus)
+  {
+    return groups.computeIfAbsent(canbus == null ? "" : canbus, PhoenixSignalGroup::new);
+  }
+
+  /**
+   * Remove the signals of a device from every group.
+   *
+   * @param device Closed device.
+   */
+  public static void remove(Object device)
+  {
+    for (PhoenixSignalGroup group : groups.values())
+    {
+      group.removeDevice(device);
+    }
+  }
+
+  /**
+   * Add a signal to the group, it is first refreshed by the next read of any signal of the group.
+   *
+   * @param device Device the signal belongs to, its signals are removed when the {@link DeviceRegistry} closes it.
+   * @param signal Signal of the device on this group's CAN bus.
+   * @param <T>    Signal value type.
+   * @return Supplier of the signal value, refreshing the whole group when its last refresh is stale.
+   */
+  public synchronized <T> Supplier<T> add(Object device, StatusSignal<T> signal)
+  {
+    if (Arrays.stream(signals).noneMatch(existing -> existing == signal))
+    {
+      BaseStatusSignal[] added = Arrays.copyOf(signals, signals.length + 1);
+      added[added.length - 1] = signal;
+      devices = Arrays.copyOf(devices, devices.length + 1);
+      devices[devices.length - 1] = device;
+      signals = added;
+      refresh.invalidate();
+    }
+    return () -> {
+      refresh();
+      return signal.getValue();
+    };
+  }
+
+  /**
+   * Remove the signals of a device from this group, its suppliers keep returning the last refreshed values.
+   *
+   * @param device Closed device.
+   */
+  private synchronized void removeDevice(Object device)
+  {
+    List<BaseStatusSignal> kept        = new ArrayList<>();
+    List<Object>           keptDevices = new ArrayList<>();
+    for (int i = 0; i < devices.length; i++)
+    {
+      if (devices[i] != device)
+      {
+        kept.add(signals[i]);
+        keptDevices.add(devices[i]);
+      }
+    }
+    if (kept.size() != signals.length)
+    {
+      devices = keptDevices.toArray();
+      signals = kept.toArray(new BaseStatusSignal[0]);
+    }
+  }
+
+  /**
+   * Refresh every signal of the group unless the last refresh is still fresh or another thread is refreshing it.
+   *
+   * @return Status of the last refresh.
+   */
+  public StatusCode refresh()
+  {
+    return refresh.getValue();
+  }
+
+  /**
+   * Get the number of signals in the group.
+   *
+   * @return Signals refreshed together.
+   */
+  public int size()
+  {
+    return signals.length;
+  }
+
+  @Override
+  public String toString()
+  {
+    return "PhoenixSignalGroup(\"" + canbus + "\", " + size() + " signals)";
+  }
+}
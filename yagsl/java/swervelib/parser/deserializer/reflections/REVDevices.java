@@ -3,6 +3,7 @@ package swervelib.parser.deserializer.reflections;
 import static edu.wpi.first.units.Units.Rotations;
 
 import com.revrobotics.PersistMode;
+import com.revrobotics.REVLibError;
 import com.revrobotics.ResetMode;
 import com.revrobotics.encoder.SplineEncoder;
 import com.revrobotics.encoder.config.DetachedEncoderConfig;
@@ -17,9 +18,17 @@ import com.revrobotics.spark.config.SparkMaxConfig;
 import edu.wpi.first.math.Pair;
 import edu.wpi.first.math.system.plant.DCMotor;
 import edu.wpi.first.units.measure.Angle;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Set;
 import java.util.function.Supplier;
+import swervelib.parser.deserializer.CANFramePlanner.Signal;
+import swervelib.parser.deserializer.DeviceConfigBatch;
+import swervelib.parser.deserializer.DeviceRegistry;
+import swervelib.parser.deserializer.DeviceRegistry.Kind;
+import swervelib.parser.deserializer.PersistedConfigFingerprints;
+import swervelib.parser.deserializer.VendorDeviceProvider;
+import swervelib.parser.deserializer.VendorDeviceProviders;
+import swervelib.parser.json.DeviceJson.VENDOR;
+import swervelib.telemetry.StartupProfiler;
 import yams.motorcontrollers.SmartMotorController;
 import yams.motorcontrollers.SmartMotorControllerConfig;
 import yams.motorcontrollers.local.SparkWrapper;
@@ -27,7 +36,7 @@ import yams.motorcontrollers.local.SparkWrapper;
 /**
  * Reflection class for {@link com.revrobotics.spark.SparkBase}s and other REV devices.
  */
-public class REVDevices
+public class REVDevices implements VendorDeviceProvider
 {
 
   /**
@@ -68,15 +77,6 @@ public class REVDevices
     DUTYCYCLE
   }
 
-  /**
-   * Map of CAN ID to motor controller.
-   */
-  private static Map<Integer, SmartMotorController>          motorControllers = new HashMap<Integer, SmartMotorController>();
-  /**
-   * Encoder object hash map.
-   */
-  private static Map<Integer, Pair<Supplier<Angle>, Object>> encoders         = new HashMap<Integer, Pair<Supplier<Angle>, Object>>();
-
   /**
    * Get the {@link com.revrobotics.spark.SparkBase} as a {@link SmartMotorController}.
    *
@@ -90,27 +90,30 @@ public class REVDevices
   public static SmartMotorController getMotorController(int canid, String canbus, SmartMotorControllerConfig config,
                                                         DCMotor motor, String motorControllerType)
   {
-    if (motorControllers.containsKey(canid))
-    {
-      return motorControllers.get(canid);
-    }
     // Will throw an error if invalid motor controller type is given.
-    var       motorType       = MotorControllerType.valueOf(motorControllerType.toUpperCase());
-    SparkBase motorController = null;
-    switch (motorType)
-    {
-      case SPARKFLEX ->
+    var motorType = MotorControllerType.valueOf(motorControllerType.toUpperCase());
+    // SPARK MAX and SPARK Flex share one CAN ID space, both are wrapped by a SparkWrapper.
+    return DeviceRegistry.get().acquire(VENDOR.REV, canbus, canid, Kind.MOTOR_CONTROLLER, SparkWrapper.class, () -> {
+      SparkBase motorController = null;
+      try (var phase = StartupProfiler.phase("Open " + motorType + " #" + canid))
       {
-        motorController = new SparkFlex(canid, MotorType.kBrushless);
+        switch (motorType)
+        {
+          case SPARKFLEX ->
+          {
+            motorController = new SparkFlex(canid, MotorType.kBrushless);
+          }
+          case SPARKMAX ->
+          {
+            motorController = new SparkMax(canid, MotorType.kBrushless);
+          }
+        }
       }
-      case SPARKMAX ->
+      try (var phase = StartupProfiler.phase("Configure " + motorType + " #" + canid))
       {
-        motorController = new SparkMax(canid, MotorType.kBrushless);
+        return new SparkWrapper(motorController, motor, config);
       }
-    }
-    var smc = new SparkWrapper(motorController, motor, config);
-    motorControllers.put(canid, smc);
-    return smc;
+    });
   }
 
   /**
@@ -124,15 +127,43 @@ public class REVDevices
    */
   public static Pair<Supplier<Angle>, Object> getAbsoluteEncoder(int canid, String canbus, boolean inverted)
   {
-    if (encoders.containsKey(canid))
+    var encoder = DeviceRegistry.get().acquire(VENDOR.REV, canbus, canid, Kind.ABSOLUTE_ENCODER, SplineEncoder.class,
+                                               () -> openSplineEncoder(canid, inverted));
+    return Pair.of(() -> Rotations.of(encoder.getAngle()), encoder);
+  }
+
+  /**
+   * Open a {@link SplineEncoder} and queue its configuration in the {@link DeviceConfigBatch}.
+   *
+   * @param canid    CAN ID of the encoder.
+   * @param inverted Inversion of the encoder.
+   * @return {@link SplineEncoder}
+   */
+  private static SplineEncoder openSplineEncoder(int canid, boolean inverted)
+  {
+    var encoder = new SplineEncoder(canid);
+    DeviceConfigBatch.apply("SplineEncoder #" + canid, () -> {
+      try (var phase = StartupProfiler.phase("Configure SplineEncoder #" + canid))
+      {
+        check(encoder.configure(new DetachedEncoderConfig().inverted(inverted).velocityConversionFactor(1.0 / 60.0),
+                                ResetMode.kNoResetSafeParameters), "configure SplineEncoder #" + canid);
+      }
+    });
+    return encoder;
+  }
+
+  /**
+   * Throw if a REVLib call failed.
+   *
+   * @param status Status returned by the call.
+   * @param action Description of the call for the exception.
+   */
+  private static void check(REVLibError status, String action)
+  {
+    if (status != REVLibError.kOk)
     {
-      return encoders.get(canid);
+      throw new IllegalStateException("Failed to " + action + ": " + status);
     }
-    var encoder = new SplineEncoder(canid);
-    encoder.configure(new DetachedEncoderConfig().inverted(inverted).velocityConversionFactor(1.0 / 60.0),
-                      ResetMode.kNoResetSafeParameters);
-    encoders.put(canid, Pair.of(() -> Rotations.of(encoder.getAngle()), encoder));
-    return encoders.get(canid);
   }
 
   /**
@@ -148,6 +179,10 @@ public class REVDevices
   {
     // Will throw an error if invalid motor controller type is given.
     var encoderType = AbsoluteEncoder.valueOf(attachType.toUpperCase());
+    // SPARKs are only on the roboRIO bus.
+    var plan           = DeviceConfigBatch.getFramePlan();
+    int positionPeriod = plan == null ? 20 : plan.getPeriodMillis("rio", Signal.ABSOLUTE_POSITION, 20);
+    int velocityPeriod = plan == null ? 20 : plan.getPeriodMillis("rio", Signal.ABSOLUTE_VELOCITY, 20);
     switch (encoderType)
     {
       case SPLINEENCODER:
@@ -167,14 +202,16 @@ public class REVDevices
               .analogVelocityAlwaysOn(true)
               .analogVoltageAlwaysOn(true)
               .analogPositionAlwaysOn(true)
-              .analogVoltagePeriodMs(20)
-              .analogPositionPeriodMs(20)
-              .analogVelocityPeriodMs(20);
+              .analogVoltagePeriodMs(velocityPeriod)
+              .analogPositionPeriodMs(positionPeriod)
+              .analogVelocityPeriodMs(velocityPeriod);
           // Configure analog sensor to report in Rotations
           cfg.analogSensor.inverted(inverted)
                           .positionConversionFactor(1.0 / baseVoltage)
                           .velocityConversionFactor(1.0 / baseVoltage);
-          spark.configure(cfg, ResetMode.kNoResetSafeParameters, PersistMode.kPersistParameters);
+          persistAttachedEncoderConfig(spark, cfg, "attached analog encoder config",
+                                       encoderType + " inverted=" + inverted + " volts=" + baseVoltage + " period=" +
+                                       positionPeriod + "/" + velocityPeriod);
           var analogSensor = spark.getAnalog();
           return Pair.of(() -> Rotations.of(analogSensor.getPosition()), analogSensor);
         }
@@ -187,16 +224,95 @@ public class REVDevices
           // Configure Duty Cycle Encoders CAN Frame
           cfg.signals
               .absoluteEncoderPositionAlwaysOn(true)
-              .absoluteEncoderPositionPeriodMs(20);
+              .absoluteEncoderPositionPeriodMs(positionPeriod)
+              .absoluteEncoderVelocityPeriodMs(velocityPeriod);
           // Configure conversion factors to Rotations and Rotations per second
           cfg.absoluteEncoder.inverted(inverted)
                              .positionConversionFactor(1.0)
                              .velocityConversionFactor(1.0 / 60.0);
-          spark.configure(cfg, ResetMode.kNoResetSafeParameters, PersistMode.kPersistParameters);
+          persistAttachedEncoderConfig(spark, cfg, "attached duty cycle encoder config",
+                                       encoderType + " inverted=" + inverted + " velocity=1/60 period=" +
+                                       positionPeriod + "/" + velocityPeriod);
           var encoder = spark.getAbsoluteEncoder();
           return Pair.of(() -> Rotations.of(encoder.getPosition()), encoder);
         }
     }
     throw new UnsupportedOperationException("Invalid encoder type: " + encoderType);
   }
+
+  /**
+   * Apply an attached encoder configuration in the {@link DeviceConfigBatch}, persisting it to flash only if it
+   * differs from the one last persisted to the SPARK. Unchanged configurations are still sent without persisting, so a
+   * swapped SPARK runs with the right settings. It is queued under {@link DeviceConfigBatch#deviceName(Object, int)},
+   * so later configurations of the SPARK, e.g. the external encoder of its wrapper, wait for it.
+   *
+   * @param spark       SPARK the encoder is attached to.
+   * @param cfg         Encoder configuration.
+   * @param description Configuration description for the startup profile and errors.
+   * @param fingerprint Inputs of the configuration, compared with the last persisted one.
+   */
+  private static void persistAttachedEncoderConfig(SparkBase spark, SparkBaseConfig cfg, String description,
+                                                   String fingerprint)
+  {
+    String  device       = DeviceConfigBatch.deviceName(spark, spark.getDeviceId());
+    var     fingerprints = PersistedConfigFingerprints.get();
+    boolean persist      = fingerprints.needsPersist(device, fingerprint);
+    DeviceConfigBatch.apply(device, () -> {
+      String action = (persist ? "Persist " : "Apply ") + description;
+      try (var phase = StartupProfiler.phase(action))
+      {
+        check(spark.configure(cfg, ResetMode.kNoResetSafeParameters,
+                              persist ? PersistMode.kPersistParameters : PersistMode.kNoPersistParameters),
+              action.toLowerCase() + " of " + device);
+      }
+      if (persist)
+      {
+        fingerprints.persisted(device, fingerprint);
+      }
+    });
+  }
+
+  @Override
+  public String getName()
+  {
+    return "REV";
+  }
+
+  @Override
+  public boolean isAvailable()
+  {
+    return VendorDeviceProviders.classExists("com.revrobotics.spark.SparkBase");
+  }
+
+  @Override
+  public Set<String> getMotorControllerTypes()
+  {
+    return Set.of("sparkmax", "sparkflex");
+  }
+
+  @Override
+  public SmartMotorController createMotorController(String type, int canid, String canbus,
+                                                    SmartMotorControllerConfig config, DCMotor motor)
+  {
+    return getMotorController(canid, canbus, config, motor, type);
+  }
+
+  @Override
+  public Pair<Supplier<Angle>, Object> createAttachedAbsoluteEncoder(String attachType, Object motorController,
+                                                                    boolean inverted)
+  {
+    return getAttachedAbsoluteEncoder(attachType, motorController, inverted);
+  }
+
+  @Override
+  public Set<String> getAbsoluteEncoderTypes()
+  {
+    return Set.of("splineencoder");
+  }
+
+  @Override
+  public Pair<Supplier<Angle>, Object> createAbsoluteEncoder(String type, int canid, String canbus, boolean inverted)
+  {
+    return getAbsoluteEncoder(canid, canbus, inverted);
+  }
 }
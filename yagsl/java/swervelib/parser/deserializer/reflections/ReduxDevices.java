@@ -7,13 +7,22 @@ import com.reduxrobotics.sensors.canandgyro.Canandgyro;
 import com.reduxrobotics.sensors.canandmag.Canandmag;
 import edu.wpi.first.math.Pair;
 import edu.wpi.first.units.measure.Angle;
+import java.util.Set;
 import java.util.function.Supplier;
+import swervelib.parser.deserializer.CANFramePlanner;
+import swervelib.parser.deserializer.CANFramePlanner.Signal;
+import swervelib.parser.deserializer.DeviceConfigBatch;
+import swervelib.parser.deserializer.DeviceRegistry;
+import swervelib.parser.deserializer.DeviceRegistry.Kind;
+import swervelib.parser.deserializer.VendorDeviceProvider;
+import swervelib.parser.deserializer.VendorDeviceProviders;
+import swervelib.parser.json.DeviceJson.VENDOR;
 import swervelib.parser.json.SwerveDriveJson.GyroAxis;
 
 /**
  * Reflective class for {@link com.reduxrobotics.sensors.canandgyro.Canandgyro} and other devices.
  */
-public class ReduxDevices
+public class ReduxDevices implements VendorDeviceProvider
 {
 
   /**
@@ -27,7 +36,8 @@ public class ReduxDevices
    */
   public static Pair<Supplier<Angle>, Object> getGyroAngle(int canid, String canbus, GyroAxis axis, boolean inverted)
   {
-    var gyro = new Canandgyro(canid, canbus);
+    var gyro = DeviceRegistry.get().acquire(VENDOR.REDUX, canbus, canid, Kind.GYRO, Canandgyro.class,
+                                            () -> new Canandgyro(canid, canbus));
     return switch (axis)
     {
       case YAW -> Pair.of(() -> Rotations.of(gyro.getYaw() * (inverted ? -1 : 1)), gyro);
@@ -47,8 +57,70 @@ public class ReduxDevices
    */
   public static Pair<Supplier<Angle>, Object> getAbsoluteEncoder(int canid, String canbus, boolean inverted)
   {
-    var encoder = new Canandmag(canid, canbus);
-    encoder.setSettings(encoder.getSettings().setInvertDirection(inverted));
+    var encoder = DeviceRegistry.get().acquire(VENDOR.REDUX, canbus, canid, Kind.ABSOLUTE_ENCODER, Canandmag.class,
+                                               () -> openCanandmag(canid, canbus, inverted));
     return Pair.of(() -> Rotations.of(encoder.getAbsPosition()), encoder);
   }
+
+  /**
+   * Open a {@link Canandmag} and queue its direction and {@link CANFramePlanner} frame periods in the
+   * {@link DeviceConfigBatch}.
+   *
+   * @param canid    CAN ID of the encoder.
+   * @param canbus   CAN bus name of the encoder.
+   * @param inverted Inverted encoder readings.
+   * @return {@link Canandmag}
+   */
+  private static Canandmag openCanandmag(int canid, String canbus, boolean inverted)
+  {
+    var encoder = new Canandmag(canid, canbus);
+    var plan    = DeviceConfigBatch.getFramePlan();
+    DeviceConfigBatch.apply("Canandmag #" + canid + " on bus \"" + canbus + "\"", () -> {
+      var settings = encoder.getSettings().setInvertDirection(inverted);
+      if (plan != null)
+      {
+        settings.setPositionFramePeriod(plan.getPeriod(canbus, Signal.ABSOLUTE_POSITION))
+                .setVelocityFramePeriod(plan.getPeriod(canbus, Signal.ABSOLUTE_VELOCITY));
+      }
+      encoder.setSettings(settings);
+    });
+    return encoder;
+  }
+
+  @Override
+  public String getName()
+  {
+    return "Redux";
+  }
+
+  @Override
+  public boolean isAvailable()
+  {
+    return VendorDeviceProviders.classExists("com.reduxrobotics.sensors.canandmag.Canandmag");
+  }
+
+  @Override
+  public Set<String> getAbsoluteEncoderTypes()
+  {
+    return Set.of("canandmag");
+  }
+
+  @Override
+  public Pair<Supplier<Angle>, Object> createAbsoluteEncoder(String type, int canid, String canbus, boolean inverted)
+  {
+    return getAbsoluteEncoder(canid, canbus, inverted);
+  }
+
+  @Override
+  public Set<String> getGyroTypes()
+  {
+    return Set.of("canandgyro");
+  }
+
+  @Override
+  public Pair<Supplier<Angle>, Object> createGyro(String type, int canid, String canbus, GyroAxis axis,
+                                                  boolean inverted)
+  {
+    return getGyroAngle(canid, canbus, axis, inverted);
+  }
 }
@@ -5,13 +5,19 @@ import static edu.wpi.first.units.Units.Degrees;
 import com.studica.frc.Navx;
 import edu.wpi.first.math.Pair;
 import edu.wpi.first.units.measure.Angle;
+import java.util.Set;
 import java.util.function.Supplier;
+import swervelib.parser.deserializer.DeviceRegistry;
+import swervelib.parser.deserializer.DeviceRegistry.Kind;
+import swervelib.parser.deserializer.VendorDeviceProvider;
+import swervelib.parser.deserializer.VendorDeviceProviders;
+import swervelib.parser.json.DeviceJson.VENDOR;
 import swervelib.parser.json.SwerveDriveJson.GyroAxis;
 
 /**
  * StudicaLib Gyroscope and other devices.
  */
-public class StudicaLibDevices
+public class StudicaLibDevices implements VendorDeviceProvider
 {
 
   /**
@@ -25,7 +31,8 @@ public class StudicaLibDevices
    */
   public static Pair<Supplier<Angle>, Object> getGyroAngle(int canid, String canbus, GyroAxis axis, boolean inverted)
   {
-    var gyro = new Navx(canid);
+    var gyro = DeviceRegistry.get().acquire(VENDOR.STUDICA, canbus, canid, Kind.GYRO, Navx.class,
+                                            () -> new Navx(canid));
     switch (axis)
     {
       case YAW:
@@ -38,4 +45,28 @@ public class StudicaLibDevices
     }
   }
 
+  @Override
+  public String getName()
+  {
+    return "Studica";
+  }
+
+  @Override
+  public boolean isAvailable()
+  {
+    return VendorDeviceProviders.classExists("com.studica.frc.Navx");
+  }
+
+  @Override
+  public Set<String> getGyroTypes()
+  {
+    return Set.of("navx3");
+  }
+
+  @Override
+  public Pair<Supplier<Angle>, Object> createGyro(String type, int canid, String canbus, GyroAxis axis,
+                                                  boolean inverted)
+  {
+    return getGyroAngle(canid, canbus, axis, inverted);
+  }
 }
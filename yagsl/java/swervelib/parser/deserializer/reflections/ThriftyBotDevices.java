@@ -8,7 +8,14 @@ import com.thethriftybot.devices.ThriftyNova.ExternalEncoder;
 import edu.wpi.first.math.Pair;
 import edu.wpi.first.math.system.plant.DCMotor;
 import edu.wpi.first.units.measure.Angle;
+import java.util.Set;
 import java.util.function.Supplier;
+import swervelib.parser.DoubleCache;
+import swervelib.parser.deserializer.DeviceRegistry;
+import swervelib.parser.deserializer.DeviceRegistry.Kind;
+import swervelib.parser.deserializer.VendorDeviceProvider;
+import swervelib.parser.deserializer.VendorDeviceProviders;
+import swervelib.parser.json.DeviceJson.VENDOR;
 import yams.motorcontrollers.SmartMotorController;
 import yams.motorcontrollers.SmartMotorControllerConfig;
 import yams.motorcontrollers.local.NovaWrapper;
@@ -16,9 +23,14 @@ import yams.motorcontrollers.local.NovaWrapper;
 /**
  * Reflection class for {@link yams.motorcontrollers.SmartMotorController}s and other devices from ThriftyBot.
  */
-public class ThriftyBotDevices
+public class ThriftyBotDevices implements VendorDeviceProvider
 {
 
+  /**
+   * Time in milliseconds an encoder reading is served to every supplier, half a 20 ms robot loop.
+   */
+  public static final long ENCODER_CACHE_PERIOD_MS = 10;
+
   /**
    * Motor controller types.
    */
@@ -44,7 +56,8 @@ public class ThriftyBotDevices
                                                         DCMotor motor, String motorControllerType)
   {
     MotorControllerType.valueOf(motorControllerType.toUpperCase());
-    return new NovaWrapper(new ThriftyNova(canid), motor, config);
+    return DeviceRegistry.get().acquire(VENDOR.THRIFTYBOT, canbus, canid, Kind.MOTOR_CONTROLLER, NovaWrapper.class,
+                                        () -> new NovaWrapper(new ThriftyNova(canid), motor, config));
   }
 
   /**
@@ -57,8 +70,11 @@ public class ThriftyBotDevices
    */
   public static Pair<Supplier<Angle>, Object> getAbsoluteEncoder(int canid, String canbus, boolean inverted)
   {
-    var encoder = new ThriftyEncoder(canid);
-    return Pair.of(() -> Rotations.of(encoder.getPosition() / 16383.0 * (inverted ? -1 : 1)), encoder);
+    var encoder = DeviceRegistry.get().acquire(VENDOR.THRIFTYBOT, canbus, canid, Kind.ABSOLUTE_ENCODER,
+                                               ThriftyEncoder.class, () -> new ThriftyEncoder(canid));
+    var    position = new DoubleCache(() -> encoder.getPosition() / 16383.0, ENCODER_CACHE_PERIOD_MS);
+    double sign     = inverted ? -1 : 1;
+    return Pair.of(() -> Rotations.of(position.getValue() * sign), encoder);
   }
 
   /**
@@ -116,8 +132,54 @@ public class ThriftyBotDevices
   {
     // Will throw an error if invalid motor controller type is given.
     var encoderType = AbsoluteEncoderType.valueOf(attachType.toUpperCase()).encoder;
-    ((ThriftyNova) motorController).setExternalEncoder(encoderType);
-    return Pair.of(() -> Rotations.of(((ThriftyNova) motorController).getPositionAbs() * (inverted ? -1 : 1)),
-                   encoderType);
+    var nova = (ThriftyNova) motorController;
+    nova.setExternalEncoder(encoderType);
+    var    position = new DoubleCache(nova::getPositionAbs, ENCODER_CACHE_PERIOD_MS);
+    double sign     = inverted ? -1 : 1;
+    return Pair.of(() -> Rotations.of(position.getValue() * sign), encoderType);
+  }
+
+  @Override
+  public String getName()
+  {
+    return "ThriftyBot";
+  }
+
+  @Override
+  public boolean isAvailable()
+  {
+    return VendorDeviceProviders.classExists("com.thethriftybot.devices.ThriftyNova");
+  }
+
+  @Override
+  public Set<String> getMotorControllerTypes()
+  {
+    return Set.of("nova");
+  }
+
+  @Override
+  public SmartMotorController createMotorController(String type, int canid, String canbus,
+                                                    SmartMotorControllerConfig config, DCMotor motor)
+  {
+    return getMotorController(canid, canbus, config, motor, type);
+  }
+
+  @Override
+  public Pair<Supplier<Angle>, Object> createAttachedAbsoluteEncoder(String attachType, Object motorController,
+                                                                    boolean inverted)
+  {
+    return getAttachedAbsoluteEncoder(attachType, motorController, inverted);
+  }
+
+  @Override
+  public Set<String> getAbsoluteEncoderTypes()
+  {
+    return Set.of("thriftybot10pin");
+  }
+
+  @Override
+  public Pair<Supplier<Angle>, Object> createAbsoluteEncoder(String type, int canid, String canbus, boolean inverted)
+  {
+    return getAbsoluteEncoder(canid, canbus, inverted);
   }
 }
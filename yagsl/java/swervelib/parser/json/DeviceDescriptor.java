@@ -0,0 +1,698 @@
+package swervelib.parser.json;
+
+import edu.wpi.first.math.system.plant.DCMotor;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import swervelib.parser.deserializer.ReflectionsManager.AbsoluteEncoder;
+import swervelib.parser.deserializer.ReflectionsManager.Gyro;
+import swervelib.parser.deserializer.ReflectionsManager.VendorMotorController;
+import swervelib.parser.deserializer.VendorDeviceProviders;
+import swervelib.parser.json.DeviceJson.VENDOR;
+
+/**
+ * Immutable, parsed form of a {@link DeviceJson#type} string such as {@code "sparkmax_neo"} or {@code "cancoder_can"}.
+ * The string is split once when the configuration is loaded, so creating devices only switches over enums.
+ *
+ * <p>Parsing never throws. A type that names no known device, or a known device with an unsupported connection or
+ * motor, gets a {@link #getProblem() problem} that {@link swervelib.parser.SwerveConfigValidator} reports before any
+ * device is created.
+ */
+public final class DeviceDescriptor
+{
+
+  /**
+   * What the device is.
+   */
+  public enum Kind
+  {
+    /**
+     * Motor controller, the second part of the type is the motor.
+     */
+    MOTOR_CONTROLLER,
+    /**
+     * Absolute encoder.
+     */
+    ABSOLUTE_ENCODER,
+    /**
+     * Gyroscope.
+     */
+    GYRO,
+    /**
+     * The {@code "custom"} gyroscope, configured by the user.
+     */
+    CUSTOM,
+    /**
+     * Unknown device.
+     */
+    UNKNOWN
+  }
+
+  /**
+   * How the device is connected.
+   */
+  public enum Connection
+  {
+    /**
+     * CAN bus.
+     */
+    CAN,
+    /**
+     * Attached to the azimuth motor controller.
+     */
+    ATTACHED,
+    /**
+     * roboRIO DIO port.
+     */
+    DIO,
+    /**
+     * roboRIO analog input.
+     */
+    ANALOG,
+    /**
+     * Built into the robot controller.
+     */
+    INTERNAL;
+
+    /**
+     * Parse a connection.
+     *
+     * @param name Lower case connection name.
+     * @return Connection, or {@code null} if unknown.
+     */
+    static Connection of(String name)
+    {
+      return switch (name)
+      {
+        case "can" -> CAN;
+        case "attached" -> ATTACHED;
+        case "dio" -> DIO;
+        case "analog" -> ANALOG;
+        case "internal" -> INTERNAL;
+        default -> null;
+      };
+    }
+  }
+
+  /**
+   * Motors driven by a motor controller.
+   */
+  public enum MotorModel
+  {
+    /**
+     * REV NEO.
+     */
+    NEO,
+    /**
+     * REV NEO 2.0.
+     */
+    NEO2,
+    /**
+     * REV NEO 550.
+     */
+    NEO550,
+    /**
+     * REV NEO Vortex.
+     */
+    VORTEX,
+    /**
+     * CTRE Minion.
+     */
+    MINION,
+    /**
+     * WCP Kraken X44.
+     */
+    KRAKENX44,
+    /**
+     * WCP Kraken X60.
+     */
+    KRAKENX60,
+    /**
+     * ThriftyBot Pulsar.
+     */
+    PULSAR;
+
+    /**
+     * Parse a motor.
+     *
+     * @param name Lower case motor name.
+     * @return Motor, or {@code null} if unknown.
+     */
+    static MotorModel of(String name)
+    {
+      return switch (name)
+      {
+        case "neo" -> NEO;
+        case "neo2" -> NEO2;
+        case "neo550" -> NEO550;
+        case "vortex" -> VORTEX;
+        case "minion" -> MINION;
+        case "krakenx44" -> KRAKENX44;
+        case "krakenx60" -> KRAKENX60;
+        case "pulsar" -> PULSAR;
+        default -> null;
+      };
+    }
+
+    /**
+     * Get the {@link DCMotor} model of a single motor.
+     *
+     * @return {@link DCMotor}
+     */
+    public DCMotor getDCMotor()
+    {
+      return switch (this)
+      {
+        case NEO, NEO2 -> DCMotor.getNEO(1);
+        case NEO550 -> DCMotor.getNeo550(1);
+        case VORTEX -> DCMotor.getNeoVortex(1);
+        case MINION -> DCMotor.getMinion(1);
+        case KRAKENX44 -> DCMotor.getKrakenX44(1);
+        case KRAKENX60 -> DCMotor.getKrakenX60(1);
+        case PULSAR -> new DCMotor(12, 3.1, 189, 1, 7500, 1);
+      };
+    }
+  }
+
+  /**
+   * Devices known to YAGSL, the first part of the type string.
+   */
+  public enum Model
+  {
+    /**
+     * CTRE TalonFX.
+     */
+    TALONFX(VENDOR.CTRE, Kind.MOTOR_CONTROLLER, VendorMotorController.TALONFX),
+    /**
+     * CTRE TalonFXS.
+     */
+    TALONFXS(VENDOR.CTRE, Kind.MOTOR_CONTROLLER, VendorMotorController.TALONFXS),
+    /**
+     * REV SPARK MAX.
+     */
+    SPARKMAX(VENDOR.REV, Kind.MOTOR_CONTROLLER, VendorMotorController.SPARKMAX),
+    /**
+     * REV SPARK Flex.
+     */
+    SPARKFLEX(VENDOR.REV, Kind.MOTOR_CONTROLLER, VendorMotorController.SPARKFLEX),
+    /**
+     * ThriftyBot Nova.
+     */
+    NOVA(VENDOR.THRIFTYBOT, Kind.MOTOR_CONTROLLER, VendorMotorController.NOVA),
+    /**
+     * CTRE Pigeon 2.
+     */
+    PIGEON2(VENDOR.CTRE, Gyro.PIGEON2),
+    /**
+     * Studica NavX3.
+     */
+    NAVX3(VENDOR.STUDICA, Gyro.NAVX3),
+    /**
+     * Redux Canandgyro.
+     */
+    CANANDGYRO(VENDOR.REDUX, Gyro.CANANDGYRO),
+    /**
+     * Limelight SystemCore internal gyroscope.
+     */
+    SYSTEMCORE(VENDOR.LIMELIGHT, Kind.GYRO, null),
+    /**
+     * CTRE CANcoder.
+     */
+    CANCODER(VENDOR.CTRE, AbsoluteEncoder.CANCODER, null),
+    /**
+     * Redux Canandmag.
+     */
+    CANANDMAG(VENDOR.REDUX, AbsoluteEncoder.CANANDMAG, "dutycycle"),
+    /**
+     * AndyMark hex bore encoder.
+     */
+    ANDYMARKHEXBORE(VENDOR.ANDYMARK, AbsoluteEncoder.ANDYMARK, "dutycycle"),
+    /**
+     * REV Spline encoder.
+     */
+    SPLINEENCODER(VENDOR.REV, AbsoluteEncoder.SPLINE_ENCODER, null),
+    /**
+     * REV through bore encoder.
+     */
+    REVTHROUGHBORE(VENDOR.REV, null, "dutycycle"),
+    /**
+     * CTRE SRX mag encoder.
+     */
+    SRXMAG(VENDOR.CTRE, null, "dutycycle"),
+    /**
+     * ThriftyBot absolute encoder.
+     */
+    THRIFTY(VENDOR.THRIFTYBOT, (AbsoluteEncoder) null, null),
+    /**
+     * Any duty cycle encoder.
+     */
+    DUTYCYCLE(VENDOR.UNKNOWN, null, "dutycycle"),
+    /**
+     * Any 3.3V analog encoder.
+     */
+    ANALOG(VENDOR.UNKNOWN, null, "analog"),
+    /**
+     * Any 5V analog encoder.
+     */
+    ANALOG5V(VENDOR.UNKNOWN, null, "analog5v");
+
+    /**
+     * Vendor of the device.
+     */
+    public final  VENDOR                vendor;
+    /**
+     * Device kind.
+     */
+    public final  Kind                  kind;
+    /**
+     * Motor controller, for motor controllers.
+     */
+    private final VendorMotorController motorController;
+    /**
+     * Gyroscope, for CAN gyroscopes.
+     */
+    private final Gyro                  gyro;
+    /**
+     * CAN absolute encoder, for encoders that can be on the CAN bus.
+     */
+    private final AbsoluteEncoder       absoluteEncoder;
+    /**
+     * Encoder type passed to the motor controller, for encoders that can be attached to it.
+     */
+    private final String                attachType;
+
+    /**
+     * Motor controller or sensor without a CAN factory.
+     *
+     * @param vendor          Vendor.
+     * @param kind            Device kind.
+     * @param motorController Motor controller, {@code null} if not one.
+     */
+    Model(VENDOR vendor, Kind kind, VendorMotorController motorController)
+    {
+      this(vendor, kind, motorController, null, null, null);
+    }
+
+    /**
+     * CAN gyroscope.
+     *
+     * @param vendor Vendor.
+     * @param gyro   Gyroscope.
+     */
+    Model(VENDOR vendor, Gyro gyro)
+    {
+      this(vendor, Kind.GYRO, null, gyro, null, null);
+    }
+
+    /**
+     * Absolute encoder.
+     *
+     * @param vendor          Vendor.
+     * @param absoluteEncoder CAN absolute encoder, {@code null} if it cannot be on the CAN bus.
+     * @param attachType      Attached encoder type, {@code null} if it cannot be attached.
+     */
+    Model(VENDOR vendor, AbsoluteEncoder absoluteEncoder, String attachType)
+    {
+      this(vendor, Kind.ABSOLUTE_ENCODER, null, null, absoluteEncoder, attachType);
+    }
+
+    /**
+     * Model.
+     *
+     * @param vendor          Vendor.
+     * @param kind            Device kind.
+     * @param motorController Motor controller.
+     * @param gyro            CAN gyroscope.
+     * @param absoluteEncoder CAN absolute encoder.
+     * @param attachType      Attached encoder type.
+     */
+    Model(VENDOR vendor, Kind kind, VendorMotorController motorController, Gyro gyro,
+          AbsoluteEncoder absoluteEncoder, String attachType)
+    {
+      this.vendor = vendor;
+      this.kind = kind;
+      this.motorController = motorController;
+      this.gyro = gyro;
+      this.absoluteEncoder = absoluteEncoder;
+      this.attachType = attachType;
+    }
+
+    /**
+     * Parse a device.
+     *
+     * @param name Lower case device name.
+     * @return Device, or {@code null} if unknown.
+     */
+    static Model of(String name)
+    {
+      return switch (name)
+      {
+        case "talonfx" -> TALONFX;
+        case "talonfxs" -> TALONFXS;
+        case "sparkmax" -> SPARKMAX;
+        case "sparkflex" -> SPARKFLEX;
+        case "nova" -> NOVA;
+        case "pigeon2" -> PIGEON2;
+        case "navx3" -> NAVX3;
+        case "canandgyro" -> CANANDGYRO;
+        case "systemcore" -> SYSTEMCORE;
+        case "cancoder" -> CANCODER;
+        case "canandmag" -> CANANDMAG;
+        case "andymarkhexbore" -> ANDYMARKHEXBORE;
+        case "splineencoder" -> SPLINEENCODER;
+        case "revthroughbore" -> REVTHROUGHBORE;
+        case "srxmag" -> SRXMAG;
+        case "thrifty" -> THRIFTY;
+        case "dutycycle" -> DUTYCYCLE;
+        case "analog" -> ANALOG;
+        case "analog5v" -> ANALOG5V;
+        default -> null;
+      };
+    }
+
+    /**
+     * Get the connections this device supports.
+     *
+     * @return Supported connections, empty for motor controllers.
+     */
+    Set<Connection> getConnections()
+    {
+      Set<Connection> connections = EnumSet.noneOf(Connection.class);
+      if (kind == Kind.GYRO)
+      {
+        connections.add(gyro != null ? Connection.CAN : Connection.INTERNAL);
+      } else if (kind == Kind.ABSOLUTE_ENCODER)
+      {
+        connections.add(Connection.DIO);
+        connections.add(Connection.ANALOG);
+        if (absoluteEncoder != null)
+        {
+          connections.add(Connection.CAN);
+        }
+        if (attachType != null)
+        {
+          connections.add(Connection.ATTACHED);
+        }
+      }
+      return connections;
+    }
+  }
+
+  /**
+   * Original type string.
+   */
+  private final String     type;
+  /**
+   * Lower case device part of the type, e.g. {@code "sparkmax"}.
+   */
+  private final String     device;
+  /**
+   * Known device, {@code null} for devices of a {@link swervelib.parser.deserializer.VendorDeviceProvider} or unknown
+   * devices.
+   */
+  private final Model      model;
+  /**
+   * Device kind.
+   */
+  private final Kind       kind;
+  /**
+   * Connection, {@code null} for motor controllers or an unknown connection.
+   */
+  private final Connection connection;
+  /**
+   * Motor, for motor controllers.
+   */
+  private final MotorModel motor;
+  /**
+   * Why the type is not usable, {@code null} if it is.
+   */
+  private final String     problem;
+  /**
+   * Whether the type has the form {@code <device>_<connection>}, or is {@code "custom"}.
+   */
+  private final boolean    wellFormed;
+
+  /**
+   * Create a descriptor.
+   *
+   * @param type       Original type string.
+   * @param device     Lower case device part.
+   * @param model      Known device.
+   * @param kind       Device kind.
+   * @param connection Connection.
+   * @param motor      Motor.
+   * @param problem    Why the type is not usable.
+   */
+  private DeviceDescriptor(String type, String device, Model model, Kind kind, Connection connection,
+                           MotorModel motor, String problem)
+  {
+    this(type, device, model, kind, connection, motor, problem, true);
+  }
+
+  /**
+   * Create a descriptor.
+   *
+   * @param type       Original type string.
+   * @param device     Lower case device part.
+   * @param model      Known device.
+   * @param kind       Device kind.
+   * @param connection Connection.
+   * @param motor      Motor.
+   * @param problem    Why the type is not usable.
+   * @param wellFormed Whether the type has the form {@code <device>_<connection>}.
+   */
+  private DeviceDescriptor(String type, String device, Model model, Kind kind, Connection connection,
+                           MotorModel motor, String problem, boolean wellFormed)
+  {
+    this.type = type;
+    this.device = device;
+    this.model = model;
+    this.kind = kind;
+    this.connection = connection;
+    this.motor = motor;
+    this.problem = problem;
+    this.wellFormed = wellFormed;
+  }
+
+  /**
+   * Parse a device type string.
+   *
+   * @param type Type string from the JSON configuration, may be {@code null}.
+   * @return Descriptor, with a {@link #getProblem() problem} if the type is not usable.
+   */
+  public static DeviceDescriptor parse(String type)
+  {
+    if (type == null)
+    {
+      return new DeviceDescriptor(null, "", null, Kind.UNKNOWN, null, null, "missing type", false);
+    }
+    String lower = type.toLowerCase(Locale.ROOT);
+    if (lower.equals("custom"))
+    {
+      return new DeviceDescriptor(type, lower, null, Kind.CUSTOM, null, null, null);
+    }
+    int separator = lower.indexOf('_');
+    if (separator <= 0 || separator == lower.length() - 1 || lower.indexOf('_', separator + 1) >= 0)
+    {
+      return new DeviceDescriptor(type, lower, null, Kind.UNKNOWN, null, null,
+                                  "type \"" + type + "\" is not in the form <device>_<connection>", false);
+    }
+    String device  = lower.substring(0, separator);
+    String subtype = lower.substring(separator + 1);
+    Model  model   = Model.of(device);
+
+    if (model != null ? model.kind == Kind.MOTOR_CONTROLLER
+                      : VendorDeviceProviders.getMotorControllerProvider(device).isPresent())
+    {
+      MotorModel motor = MotorModel.of(subtype);
+      return new DeviceDescriptor(type, device, model, Kind.MOTOR_CONTROLLER, Connection.CAN, motor,
+                                  motor == null ? "unknown motor \"" + subtype + "\"" : null);
+    }
+
+    Connection connection = Connection.of(subtype);
+    if (connection == null)
+    {
+      return new DeviceDescriptor(type, device, model, model != null ? model.kind : Kind.UNKNOWN, null, null,
+                                  "unknown connection \"" + subtype + "\"");
+    }
+    if (model != null)
+    {
+      return new DeviceDescriptor(type, device, model, model.kind, connection, null,
+                                  model.getConnections().contains(connection) ? null
+                                                                              : "\"" + device +
+                                                                                "\" does not support " +
+                                                                                subtype);
+    }
+    // Any encoder may be wired to the roboRIO.
+    if (connection == Connection.DIO || connection == Connection.ANALOG)
+    {
+      return new DeviceDescriptor(type, device, null, Kind.ABSOLUTE_ENCODER, connection, null, null);
+    }
+    if (connection == Connection.CAN && VendorDeviceProviders.getAbsoluteEncoderProvider(device).isPresent())
+    {
+      return new DeviceDescriptor(type, device, null, Kind.ABSOLUTE_ENCODER, connection, null, null);
+    }
+    if (connection == Connection.CAN && VendorDeviceProviders.getGyroProvider(device).isPresent())
+    {
+      return new DeviceDescriptor(type, device, null, Kind.GYRO, connection, null, null);
+    }
+    return new DeviceDescriptor(type, device, null, Kind.UNKNOWN, connection, null,
+                                "unknown device \"" + device + "\"");
+  }
+
+  /**
+   * Get the original type string.
+   *
+   * @return Type string.
+   */
+  public String getType()
+  {
+    return type;
+  }
+
+  /**
+   * Get the lower case device part of the type, e.g. {@code "sparkmax"} for {@code "sparkmax_neo"}.
+   *
+   * @return Device name.
+   */
+  public String getDevice()
+  {
+    return device;
+  }
+
+  /**
+   * Get the known device.
+   *
+   * @return Device, {@code null} for provided or unknown devices.
+   */
+  public Model getModel()
+  {
+    return model;
+  }
+
+  /**
+   * Get the device kind.
+   *
+   * @return Device kind.
+   */
+  public Kind getKind()
+  {
+    return kind;
+  }
+
+  /**
+   * Get the connection.
+   *
+   * @return Connection, {@link Connection#CAN} for motor controllers, {@code null} if unknown.
+   */
+  public Connection getConnection()
+  {
+    return connection;
+  }
+
+  /**
+   * Get the motor driven by a motor controller.
+   *
+   * @return Motor, {@code null} for other devices or an unknown motor.
+   */
+  public MotorModel getMotor()
+  {
+    return motor;
+  }
+
+  /**
+   * Get why the type is not usable.
+   *
+   * @return Problem, {@code null} if the type is usable.
+   */
+  public String getProblem()
+  {
+    return problem;
+  }
+
+  /**
+   * Check whether the type is usable.
+   *
+   * @return True if there is no problem.
+   */
+  public boolean isValid()
+  {
+    return problem == null;
+  }
+
+  /**
+   * Check whether the type has the form {@code <device>_<connection>} or is {@code "custom"}. Malformed types have no
+   * device, connection or motor.
+   *
+   * @return True if the type could be split.
+   */
+  public boolean isWellFormed()
+  {
+    return wellFormed;
+  }
+
+  /**
+   * Get the vendor of the device.
+   *
+   * @param attachedType Vendor to return for encoders attached to a motor controller.
+   * @return Vendor of the device.
+   */
+  public VENDOR getVendor(VENDOR attachedType)
+  {
+    if (connection == Connection.ATTACHED)
+    {
+      return attachedType;
+    }
+    if (connection == Connection.DIO || connection == Connection.ANALOG)
+    {
+      return VENDOR.SMARTIO;
+    }
+    return model != null ? model.vendor : VENDOR.UNKNOWN;
+  }
+
+  /**
+   * Get the motor controller.
+   *
+   * @return Motor controller, {@link VendorMotorController#NONE} if the device is not a known motor controller.
+   */
+  public VendorMotorController getMotorController()
+  {
+    return model != null && model.motorController != null ? model.motorController : VendorMotorController.NONE;
+  }
+
+  /**
+   * Get the CAN gyroscope.
+   *
+   * @return Gyroscope, {@code null} if the device is not a known CAN gyroscope.
+   */
+  public Gyro getGyro()
+  {
+    return model != null ? model.gyro : null;
+  }
+
+  /**
+   * Get the CAN absolute encoder.
+   *
+   * @return Absolute encoder, {@code null} if the device is not a known CAN absolute encoder.
+   */
+  public AbsoluteEncoder getAbsoluteEncoder()
+  {
+    return model != null ? model.absoluteEncoder : null;
+  }
+
+  /**
+   * Get the encoder type passed to the motor controller an encoder is attached to.
+   *
+   * @return Attached encoder type, e.g. {@code "dutycycle"}, {@code null} if the device cannot be attached.
+   */
+  public String getAttachType()
+  {
+    return model != null ? model.attachType : null;
+  }
+
+  @Override
+  public String toString()
+  {
+    return type;
+  }
+}
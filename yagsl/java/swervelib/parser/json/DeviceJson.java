@@ -7,10 +7,12 @@ import edu.wpi.first.math.system.plant.DCMotor;
 import edu.wpi.first.units.measure.Angle;
 import edu.wpi.first.wpilibj.AnalogEncoder;
 import edu.wpi.first.wpilibj.DutyCycleEncoder;
+import java.util.Objects;
 import java.util.function.Supplier;
 import swervelib.parser.deserializer.ReflectionsManager.AbsoluteEncoder;
 import swervelib.parser.deserializer.ReflectionsManager.Gyro;
 import swervelib.parser.deserializer.ReflectionsManager.VendorMotorController;
+import swervelib.parser.deserializer.VendorDeviceProviders;
 import swervelib.parser.json.SwerveDriveJson.GyroAxis;
 import yams.motorcontrollers.SmartMotorController;
 import yams.motorcontrollers.SmartMotorControllerConfig;
@@ -38,6 +40,40 @@ public class DeviceJson
    */
   public String canbus  = "";
 
+  /**
+   * Parsed {@link #type}, see {@link #getDescriptor()}. Volatile so a descriptor parsed on one thread is published
+   * whole to the others.
+   */
+  private volatile DeviceDescriptor descriptor;
+
+  /**
+   * Set the device type and parse it, called by Jackson while the configuration is loaded.
+   *
+   * @param type Device type, e.g. {@code "sparkmax_neo"}.
+   */
+  public void setType(String type)
+  {
+    this.type = type;
+    this.descriptor = DeviceDescriptor.parse(type);
+  }
+
+  /**
+   * Get the parsed device type. Parsed when the configuration is loaded, or again if {@link #type} was assigned
+   * directly since.
+   *
+   * @return {@link DeviceDescriptor} of {@link #type}.
+   */
+  public DeviceDescriptor getDescriptor()
+  {
+    DeviceDescriptor parsed = descriptor;
+    if (parsed == null || !Objects.equals(parsed.getType(), type))
+    {
+      parsed = DeviceDescriptor.parse(type);
+      descriptor = parsed;
+    }
+    return parsed;
+  }
+
   /**
    * Get the DC motor from the motor type.
    *
@@ -46,26 +82,12 @@ public class DeviceJson
    */
   public static DCMotor getDCMotor(String motorType)
   {
-    switch (motorType)
+    DeviceDescriptor.MotorModel motor = DeviceDescriptor.MotorModel.of(motorType);
+    if (motor == null)
     {
-      case "neo2":
-      case "neo":
-        return DCMotor.getNEO(1);
-      case "neo550":
-        return DCMotor.getNeo550(1);
-      case "vortex":
-        return DCMotor.getNeoVortex(1);
-      case "minion":
-        return DCMotor.getMinion(1);
-      case "krakenx44":
-        return DCMotor.getKrakenX44(1);
-      case "krakenx60":
-        return DCMotor.getKrakenX60(1);
-      case "pulsar":
-        return new DCMotor(12, 3.1, 189, 1, 7500, 1);
-      default:
-        throw new IllegalArgumentException("Invalid motor type: " + motorType);
+      throw new IllegalArgumentException("Invalid motor type: " + motorType);
     }
+    return motor.getDCMotor();
   }
 
   /**
@@ -78,31 +100,29 @@ public class DeviceJson
    */
   public Pair<Supplier<Angle>, Object> getGyro(GyroAxis axis, boolean inverted)
   {
-    if ("custom".equalsIgnoreCase(type))
+    DeviceDescriptor device = getDescriptor();
+    if (device.getKind() == DeviceDescriptor.Kind.CUSTOM)
     {
       return null;
     }
-    if (type.contains("_"))
+    if (device.getKind() == DeviceDescriptor.Kind.GYRO && device.getConnection() == DeviceDescriptor.Connection.CAN)
     {
-      String[] vendorData           = type.split("_");
-      String   vendorType           = vendorData[0];
-      String   vendorConnectionType = vendorData[1];
-      switch (vendorConnectionType)
+      Gyro gyro = device.getGyro();
+      if (gyro != null)
       {
-        case "can":
-          switch (vendorType)
-          {
-            case "navx3":
-              return Gyro.NAVX3.getGyro(id, canbus, axis, inverted);
-            case "pigeon2":
-              return Gyro.PIGEON2.getGyro(id, canbus, axis, inverted);
-            case "canandgyro":
-              return Gyro.CANANDGYRO.getGyro(id, canbus, axis, inverted);
-          }
-        case "internal":
-          throw new IllegalArgumentException("Internal gyro not supported yet!");
+        return gyro.getGyro(id, canbus, axis, inverted);
+      }
+      var provider = VendorDeviceProviders.getGyroProvider(device.getDevice());
+      if (provider.isPresent())
+      {
+        return provider.get().createGyro(device.getDevice(), id, canbus, axis, inverted);
       }
     }
+    if (device.getKind() == DeviceDescriptor.Kind.GYRO &&
+        device.getConnection() == DeviceDescriptor.Connection.INTERNAL)
+    {
+      throw new IllegalArgumentException("Internal gyro not supported yet!");
+    }
     throw new IllegalArgumentException("Invalid gyro type: " + type);
   }
 
@@ -158,64 +178,7 @@ public class DeviceJson
    */
   public VENDOR getVendor(VENDOR attachedType)
   {
-    if (type.contains("_"))
-    {
-      String[] vendorData           = type.split("_");
-      String   vendorType           = vendorData[0];
-      String   vendorConnectionType = vendorData[1];
-      switch (vendorType)
-      {
-        case "systemcore":
-          return VENDOR.LIMELIGHT;
-        case "navx3":
-          return VENDOR.STUDICA;
-        case "talonfx":
-        case "talonfxs":
-        case "cancoder":
-        case "pigeon2":
-          return VENDOR.CTRE;
-        case "sparkmax":
-        case "sparkflex":
-          return VENDOR.REV;
-        case "revthroughbore":
-          switch (vendorConnectionType)
-          {
-            case "attached": return attachedType;
-            case "dio": return VENDOR.SMARTIO;
-          }
-        case "nova":
-          return VENDOR.THRIFTYBOT;
-        case "andymarkhexbore":
-          switch (vendorConnectionType)
-          {
-            case "attached": return attachedType;
-            case "dio":
-            case "analog": return VENDOR.SMARTIO;
-            case "can": return VENDOR.ANDYMARK;
-          }
-        case "canandgyro": return VENDOR.REDUX;
-        case "canandmag":
-          switch (vendorConnectionType)
-          {
-            case "attached": return attachedType;
-            case "dio": return VENDOR.SMARTIO;
-            case "can": return VENDOR.REDUX;
-          }
-        case "srxmag":
-          switch (vendorConnectionType)
-          {
-            case "attached": return attachedType;
-            case "analog": return VENDOR.SMARTIO;
-          }
-        case "thrifty":
-          switch (vendorConnectionType)
-          {
-            case "attached": return attachedType;
-            case "analog": return VENDOR.SMARTIO;
-          }
-      }
-    }
-    return VENDOR.UNKNOWN;
+    return getDescriptor().getVendor(attachedType);
   }
 
   /**
@@ -225,26 +188,7 @@ public class DeviceJson
    */
   public VendorMotorController getMotorController()
   {
-    if (type.contains("_"))
-    {
-      String[] vendorData           = type.split("_");
-      String   vendorType           = vendorData[0];
-      String   vendorConnectionType = vendorData[1];
-      switch (vendorType)
-      {
-        case "nova":
-          return VendorMotorController.NOVA;
-        case "sparkmax":
-          return VendorMotorController.SPARKMAX;
-        case "sparkflex":
-          return VendorMotorController.SPARKFLEX;
-        case "talonfx":
-          return VendorMotorController.TALONFX;
-        case "talonfxs":
-          return VendorMotorController.TALONFXS;
-      }
-    }
-    return VendorMotorController.NONE;
+    return getDescriptor().getMotorController();
   }
 
   /**
@@ -260,48 +204,47 @@ public class DeviceJson
   public Pair<Supplier<Angle>, Object> getAbsoluteEncoder(VendorMotorController angleMotorVendor,
                                                           SmartMotorController angleMotorController, boolean inverted)
   {
-    String[] vendorData           = type.split("_");
-    String   vendorType           = vendorData[0];
-    String   vendorConnectionType = vendorData[1];
-    switch (vendorConnectionType)
+    DeviceDescriptor device = getDescriptor();
+    if (device.getConnection() == null)
     {
-      case "analog":
+      throw new IllegalArgumentException("Invalid encoder type: " + type);
+    }
+    switch (device.getConnection())
+    {
+      case ANALOG:
       {
         var analogEncoder = new AnalogEncoder(id);
         analogEncoder.setInverted(inverted);
         return Pair.of(() -> Rotations.of(analogEncoder.get()), analogEncoder);
       }
-      case "dio":
+      case DIO:
       {
         var dutyCycleEncoder = new DutyCycleEncoder(id);
         dutyCycleEncoder.setInverted(inverted);
         return Pair.of(() -> Rotations.of(dutyCycleEncoder.get()), dutyCycleEncoder);
       }
-      case "attached":
-        switch (vendorType)
+      case ATTACHED:
+      {
+        String attachType = device.getAttachType();
+        if (attachType == null)
         {
-          case "andymarkhexbore":
-          case "canandmag":
-          case "revthroughbore":
-          case "srxmag":
-          case "dutycycle":
-            return angleMotorVendor.getAbsoluteEncoder("dutycycle", angleMotorController, inverted);
-          case "analog":
-            return angleMotorVendor.getAbsoluteEncoder("analog", angleMotorController, inverted);
-          case "analog5v":
-            return angleMotorVendor.getAbsoluteEncoder("analog5v", angleMotorController, inverted);
-          default: throw new IllegalArgumentException("Invalid encoder type: " + vendorType);
+          throw new IllegalArgumentException("Invalid encoder type: " + device.getDevice());
         }
-      case "can":
-        switch (vendorType)
+        return angleMotorVendor.getAbsoluteEncoder(attachType, angleMotorController, inverted);
+      }
+      case CAN:
+      {
+        AbsoluteEncoder encoder = device.getAbsoluteEncoder();
+        if (encoder != null)
         {
-          case "cancoder": return AbsoluteEncoder.CANCODER.getAbsoluteEncoder(id, canbus, inverted);
-          case "canandmag": return AbsoluteEncoder.CANANDMAG.getAbsoluteEncoder(id, canbus, inverted);
-          case "andymarkhexbore": return AbsoluteEncoder.ANDYMARK.getAbsoluteEncoder(id, canbus, inverted);
-          case "splineencoder": return AbsoluteEncoder.SPLINE_ENCODER.getAbsoluteEncoder(id, canbus, inverted);
-          default: throw new IllegalArgumentException("Invalid encoder type: " + vendorType);
+          return encoder.getAbsoluteEncoder(id, canbus, inverted);
         }
-      default: throw new IllegalArgumentException("Invalid encoder connection type: " + vendorConnectionType);
+        return VendorDeviceProviders.getAbsoluteEncoderProvider(device.getDevice())
+                                    .orElseThrow(() -> new IllegalArgumentException(
+                                        "Invalid encoder type: " + device.getDevice()))
+                                    .createAbsoluteEncoder(device.getDevice(), id, canbus, inverted);
+      }
+      default: throw new IllegalArgumentException("Invalid encoder connection type: " + device.getConnection());
     }
   }
 
@@ -314,25 +257,23 @@ public class DeviceJson
    */
   public SmartMotorController getSmartMotorController(SmartMotorControllerConfig config)
   {
-    String[] subtypes            = type.split("_");
-    String   motorControllerType = subtypes[0].toLowerCase();
-    String   motorType           = subtypes[1].toLowerCase();
-    DCMotor  motor               = getDCMotor(motorType);
-    switch (motorControllerType)
+    DeviceDescriptor device = getDescriptor();
+    if (device.getKind() != DeviceDescriptor.Kind.MOTOR_CONTROLLER)
+    {
+      throw new IllegalArgumentException("Invalid motor controller type: " + device.getDevice());
+    }
+    if (device.getMotor() == null)
+    {
+      throw new IllegalArgumentException("Invalid motor type: " + type);
+    }
+    DCMotor               motor      = device.getMotor().getDCMotor();
+    VendorMotorController controller = device.getMotorController();
+    if (controller != VendorMotorController.NONE)
     {
-      case "talonfx":
-        return VendorMotorController.TALONFX.getMotorController(id, canbus, config, motor);
-      case "talonfxs":
-        return VendorMotorController.TALONFXS.getMotorController(id, canbus, config, motor);
-      case "sparkmax":
-        return VendorMotorController.SPARKMAX.getMotorController(id, canbus, config, motor);
-      case "sparkflex":
-        return VendorMotorController.SPARKFLEX.getMotorController(id, canbus, config, motor);
-      case "nova":
-        return VendorMotorController.NOVA.getMotorController(id, canbus, config, motor);
-      default:
-        throw new IllegalArgumentException("Invalid motor controller type: " + motorControllerType);
+      return controller.getMotorController(id, canbus, config, motor);
     }
+    return VendorDeviceProviders.requireMotorControllerProvider(device.getDevice())
+                                .createMotorController(device.getDevice(), id, canbus, config, motor);
   }
 
 }
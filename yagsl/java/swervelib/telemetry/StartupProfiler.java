@@ -0,0 +1,445 @@
+package swervelib.telemetry;
+
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.StringPublisher;
+import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.DoubleLogEntry;
+import edu.wpi.first.util.datalog.StringLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Records a timing tree of the drivetrain startup phases (parsing, reflection lookups, device creation and
+ * configuration) to find out where boot time goes.
+ *
+ * <p>Phases nest per thread, a phase opened while another is open on the same thread becomes its child. Work handed
+ * to other threads stays in the tree when wrapped with {@link #wrap(Callable)}. A finished tree is published with
+ * {@link #publish(Phase)} to the DataLog under {@value #DATALOG_PREFIX}, to NetworkTables under
+ * SmartDashboard/{@value #NT_PREFIX} and printed as a summary. Events such as flash writes are counted per tree with
+ * {@link #count(String)} and reported with it.
+ *
+ * <pre>{@code
+ * try (var phase = StartupProfiler.phase("Configure SPARK MAX #3"))
+ * {
+ *   spark.configure(...);
+ * }
+ * }</pre>
+ */
+public final class StartupProfiler
+{
+
+  /**
+   * DataLog entry prefix.
+   */
+  public static final  String                       DATALOG_PREFIX = "YAGSL/Startup/";
+  /**
+   * NetworkTables topic prefix under SmartDashboard.
+   */
+  public static final  String                       NT_PREFIX      = "swerve/startup/";
+  /**
+   * Innermost open phase of each thread.
+   */
+  private static final ThreadLocal<Phase>           current        = new ThreadLocal<>();
+  /**
+   * NetworkTables publishers by topic, kept open so the values stay visible.
+   */
+  private static final Map<String, DoublePublisher> publishers     = new HashMap<>();
+  /**
+   * Summary publisher.
+   */
+  private static       StringPublisher              summaryPublisher;
+  /**
+   * Whether phases are recorded.
+   */
+  private static volatile boolean                   enabled        = true;
+  /**
+   * Last published tree.
+   */
+  private static volatile Phase                     lastProfile;
+
+  /**
+   * Utility class.
+   */
+  private StartupProfiler()
+  {
+  }
+
+  /**
+   * Open a phase, as a child of the phase currently open on this thread or as a new root. Close it with
+   * try-with-resources.
+   *
+   * @param name Phase name, e.g. "Create SPARK MAX #3".
+   * @return Open phase.
+   */
+  public static Phase phase(String name)
+  {
+    Phase parent = current.get();
+    if (!enabled)
+    {
+      return new Phase(name, null, parent, false);
+    }
+    Phase phase = new Phase(name, parent, parent, true);
+    if (parent != null)
+    {
+      parent.children.add(phase);
+    }
+    current.set(phase);
+    return phase;
+  }
+
+  /**
+   * Wrap a task so phases it opens on another thread become children of the phase open now on this thread.
+   *
+   * @param task Task to run on another thread.
+   * @param <T>  Task result type.
+   * @return Wrapped task.
+   */
+  public static <T> Callable<T> wrap(Callable<T> task)
+  {
+    Phase parent = current.get();
+    return () -> {
+      Phase previous = current.get();
+      current.set(parent);
+      try
+      {
+        return task.call();
+      } finally
+      {
+        current.set(previous);
+      }
+    };
+  }
+
+  /**
+   * Wrap a supplier so phases it opens on another thread become children of the phase open now on this thread.
+   *
+   * @param task Supplier to run on another thread.
+   * @param <T>  Supplier result type.
+   * @return Wrapped supplier.
+   */
+  public static <T> Supplier<T> wrapSupplier(Supplier<T> task)
+  {
+    Callable<T> wrapped = wrap((Callable<T>) task::get);
+    return () -> {
+      try
+      {
+        return wrapped.call();
+      } catch (RuntimeException e)
+      {
+        throw e;
+      } catch (Exception e)
+      {
+        throw new IllegalStateException(e);
+      }
+    };
+  }
+
+  /**
+   * Count an event in the tree of the phase open on this thread, e.g. a flash write. Counts are kept on the root of the
+   * tree, so every build reports its own. Nothing is counted outside of a recorded phase.
+   *
+   * @param name Counter name, e.g. "Persisted configuration writes".
+   */
+  public static void count(String name)
+  {
+    Phase phase = current.get();
+    if (phase == null)
+    {
+      return;
+    }
+    while (phase.parent != null)
+    {
+      phase = phase.parent;
+    }
+    synchronized (phase.counts)
+    {
+      phase.counts.merge(name, 1, Integer::sum);
+    }
+  }
+
+  /**
+   * Enable or disable recording. Disabled phases cost one thread-local read.
+   *
+   * @param enable Whether phases are recorded.
+   */
+  public static void setEnabled(boolean enable)
+  {
+    enabled = enable;
+  }
+
+  /**
+   * Get the last tree given to {@link #publish(Phase)}.
+   *
+   * @return Last published tree, or {@code null}.
+   */
+  public static Phase getLastProfile()
+  {
+    return lastProfile;
+  }
+
+  /**
+   * Publish a finished tree to the DataLog and NetworkTables and print its summary.
+   *
+   * @param root Closed root phase.
+   */
+  public static void publish(Phase root)
+  {
+    if (!root.recorded)
+    {
+      return;
+    }
+    lastProfile = root;
+    String summary = root.format();
+    System.out.print(summary);
+
+    var log = DataLogManager.getLog();
+    new StringLogEntry(log, DATALOG_PREFIX + "summary").append(summary);
+    synchronized (publishers)
+    {
+      if (summaryPublisher == null)
+      {
+        summaryPublisher = NetworkTableInstance.getDefault().getTable("SmartDashboard")
+                                               .getStringTopic(NT_PREFIX + "summary").publish();
+      }
+      summaryPublisher.set(summary);
+      publish(root, "", log);
+    }
+  }
+
+  /**
+   * Publish the duration of a phase and its children.
+   *
+   * @param phase  Phase to publish.
+   * @param parent Path of the parent phase.
+   * @param log    DataLog to write to.
+   */
+  private static void publish(Phase phase, String parent, DataLog log)
+  {
+    String path = parent + phase.name.replace('/', '-');
+    new DoubleLogEntry(log, DATALOG_PREFIX + path + " (ms)").append(phase.getMilliseconds());
+    publishers.computeIfAbsent(path, key -> NetworkTableInstance.getDefault().getTable("SmartDashboard")
+                                                                .getDoubleTopic(NT_PREFIX + key + " (ms)").publish())
+              .set(phase.getMilliseconds());
+    phase.getCounts().forEach((name, count) -> {
+      String countPath = path + "/" + name.replace('/', '-') + " (count)";
+      new DoubleLogEntry(log, DATALOG_PREFIX + countPath).append(count);
+      publishers.computeIfAbsent(countPath, key -> NetworkTableInstance.getDefault().getTable("SmartDashboard")
+                                                                       .getDoubleTopic(NT_PREFIX + key).publish())
+                .set(count);
+    });
+
+    Map<String, Integer> seen = new HashMap<>();
+    for (Phase child : phase.getChildren())
+    {
+      int count = seen.merge(child.name, 1, Integer::sum);
+      // Keep sibling paths unique when the same phase runs more than once.
+      publish(count == 1 ? child : child.renamed(child.name + " " + count), path + "/", log);
+    }
+  }
+
+  /**
+   * Timed phase of the startup tree.
+   */
+  public static final class Phase implements AutoCloseable
+  {
+
+    /**
+     * Phase name.
+     */
+    private final    String               name;
+    /**
+     * Parent phase, {@code null} for a root.
+     */
+    private final    Phase                parent;
+    /**
+     * Phase open on this thread before this one, restored on close.
+     */
+    private final    Phase                previous;
+    /**
+     * Whether the phase is part of the tree.
+     */
+    private final    boolean              recorded;
+    /**
+     * Thread that opened the phase.
+     */
+    private final    String               thread;
+    /**
+     * Child phases, may be added from several threads.
+     */
+    private final    List<Phase>          children = Collections.synchronizedList(new ArrayList<>());
+    /**
+     * Event counts of the tree when this is its root, see {@link StartupProfiler#count(String)}.
+     */
+    private final    Map<String, Integer> counts   = new LinkedHashMap<>();
+    /**
+     * Start time in nanoseconds.
+     */
+    private final    long                 start;
+    /**
+     * End time in nanoseconds, 0 while open.
+     */
+    private volatile long                 end;
+
+    /**
+     * Open a phase.
+     *
+     * @param name     Phase name.
+     * @param parent   Parent phase.
+     * @param previous Phase open on this thread before this one.
+     * @param recorded Whether the phase is part of the tree.
+     */
+    private Phase(String name, Phase parent, Phase previous, boolean recorded)
+    {
+      this.name = name;
+      this.parent = parent;
+      this.previous = previous;
+      this.recorded = recorded;
+      this.thread = Thread.currentThread().getName();
+      this.start = System.nanoTime();
+    }
+
+    /**
+     * Copy of a finished phase with another name.
+     *
+     * @param newName New name.
+     * @return Renamed copy sharing the children.
+     */
+    private Phase renamed(String newName)
+    {
+      Phase copy = new Phase(newName, parent, previous, recorded);
+      copy.children.addAll(getChildren());
+      copy.end = copy.start + (end - start);
+      return copy;
+    }
+
+    /**
+     * Add a finished phase recorded elsewhere, e.g. the parse of the configuration used by this build.
+     *
+     * @param child Finished phase.
+     */
+    public void adopt(Phase child)
+    {
+      if (recorded && child != null && child.recorded)
+      {
+        children.add(child);
+      }
+    }
+
+    /**
+     * Check if the phase is the root of a recorded tree.
+     *
+     * @return True if recorded and opened while no other phase was open on the thread.
+     */
+    public boolean isRoot()
+    {
+      return recorded && parent == null;
+    }
+
+    /**
+     * Get the phase name.
+     *
+     * @return Name.
+     */
+    public String getName()
+    {
+      return name;
+    }
+
+    /**
+     * Get the phase duration, up to now while it is open.
+     *
+     * @return Duration in milliseconds.
+     */
+    public double getMilliseconds()
+    {
+      long stop = end;
+      return ((stop == 0 ? System.nanoTime() : stop) - start) / 1e6;
+    }
+
+    /**
+     * Get the child phases.
+     *
+     * @return Copy of the child phases in the order they were opened.
+     */
+    public List<Phase> getChildren()
+    {
+      synchronized (children)
+      {
+        return new ArrayList<>(children);
+      }
+    }
+
+    /**
+     * Get the event counts of the tree, only a root phase has counts.
+     *
+     * @return Copy of the counts by name, in the order they were first counted.
+     */
+    public Map<String, Integer> getCounts()
+    {
+      synchronized (counts)
+      {
+        return new LinkedHashMap<>(counts);
+      }
+    }
+
+    /**
+     * Format the tree below this phase, one phase per line with its duration and, when it ran on another thread than
+     * its parent, the thread name, followed by the event counts of the tree.
+     *
+     * @return Formatted tree.
+     */
+    public String format()
+    {
+      StringBuilder builder = new StringBuilder();
+      format(builder, 0);
+      getCounts().forEach((name, count) -> builder.append(String.format("%-60s %9d", name, count))
+                                                  .append(System.lineSeparator()));
+      return builder.toString();
+    }
+
+    /**
+     * Format this phase and its children.
+     *
+     * @param builder Output.
+     * @param depth   Indentation depth.
+     */
+    private void format(StringBuilder builder, int depth)
+    {
+      String label = "  ".repeat(depth) + name;
+      builder.append(String.format("%-60s %9.2f ms", label, getMilliseconds()));
+      if (parent != null && !parent.thread.equals(thread))
+      {
+        builder.append("  [").append(thread).append(']');
+      }
+      builder.append(System.lineSeparator());
+      for (Phase child : getChildren())
+      {
+        child.format(builder, depth + 1);
+      }
+    }
+
+    /**
+     * Close the phase and restore the phase that was open before it on this thread.
+     */
+    @Override
+    public void close()
+    {
+      if (end == 0)
+      {
+        end = System.nanoTime();
+      }
+      if (recorded)
+      {
+        current.set(previous);
+      }
+    }
+  }
+}